@@ -1,5 +1,6 @@
 package com.implemica.bormashenko.calculator.controller;
 
+import com.implemica.bormashenko.calculator.controller.util.NumberParser;
 import com.implemica.bormashenko.calculator.model.*;
 import com.implemica.bormashenko.calculator.model.enums.*;
 import com.implemica.bormashenko.calculator.model.exceptions.*;
@@ -25,7 +26,6 @@ import org.apache.commons.lang3.math.NumberUtils;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.net.URL;
-import java.text.ParseException;
 import java.util.ResourceBundle;
 import java.util.Stack;
 import java.util.stream.Stream;
@@ -126,42 +126,22 @@ public class Controller implements Initializable {
     /**
      * Symbol of {@code BinaryOperation.ADD} operation used in equation {@code Label}.
      */
-    private static final String ADD_SYMBOL = "+";
+    private static final String ADD_SYMBOL = OperationRegistry.STANDARD.get(ADD).getSymbol();
 
     /**
      * Symbol of {@code BinaryOperation.SUBTRACT} operation used in equation {@code Label}.
      */
-    private static final String SUBTRACT_SYMBOL = "-";
+    private static final String SUBTRACT_SYMBOL = OperationRegistry.STANDARD.get(SUBTRACT).getSymbol();
 
     /**
      * Symbol of {@code BinaryOperation.MULTIPLY} operation used in equation {@code Label}.
      */
-    private static final String MULTIPLY_SYMBOL = "×";
+    private static final String MULTIPLY_SYMBOL = OperationRegistry.STANDARD.get(MULTIPLY).getSymbol();
 
     /**
      * Symbol of {@code BinaryOperation.DIVIDE} operation used in equation {@code Label}.
      */
-    private static final String DIVIDE_SYMBOL = "÷";
-
-    /**
-     * Symbol of {@code UnaryOperation.NEGATE} operation used in equation {@code Label}.
-     */
-    private static final String NEGATE_SYMBOL = "negate";
-
-    /**
-     * Symbol of {@code UnaryOperation.SQR} operation used in equation {@code Label}.
-     */
-    private static final String SQR_SYMBOL = "sqr";
-
-    /**
-     * Symbol of {@code UnaryOperation.SQRT} operation used in equation {@code Label}.
-     */
-    private static final String SQRT_SYMBOL = "√";
-
-    /**
-     * Symbol of {@code UnaryOperation.INVERSE} operation used in equation {@code Label}.
-     */
-    private static final String INVERSE_SYMBOL = "1/";
+    private static final String DIVIDE_SYMBOL = OperationRegistry.STANDARD.get(DIVIDE).getSymbol();
 
     /**
      * Negative number symbol.
@@ -374,7 +354,7 @@ public class Controller implements Initializable {
     public void memoryStoreOperation() {
         try {
             try {
-                BigDecimal number = getCorrectNumber(true);
+                BigDecimal number = calculation.expand(getCorrectNumber(true));
 
                 memory.storeToMemory(number);
                 setButtonsDisability(false, memoryClear, memoryRecall, memoryShow);
@@ -522,7 +502,7 @@ public class Controller implements Initializable {
                 number = ZERO;
             }
 
-            result = appendDigitToNumber(parseToBigDecimal(number), new BigDecimal(digit), isLastDot(number));
+            result = appendDigitToNumber(NumberParser.parse(number), new BigDecimal(digit), isLastDot(number));
 
             if (!isFirstSet) {
                 calculation.setFirst(result);
@@ -595,7 +575,7 @@ public class Controller implements Initializable {
 
             if (isEditableScreen) {
                 String number = screen.getText();
-                result = parseToBigDecimal(number);
+                result = NumberParser.parse(number);
 
                 boolean saveDecimalSeparator = false;
 
@@ -898,10 +878,10 @@ public class Controller implements Initializable {
      *
      * @param checkResult true if result can be returned or false otherwise.
      * @return correct number for next calculations.
-     * @throws OverflowException if recalled from memory value failed validation.
-     * @throws ParseException    if can not parse number.
+     * @throws OverflowException     if recalled from memory value failed validation.
+     * @throws NumberFormatException if can not parse number.
      */
-    private BigDecimal getCorrectNumber(boolean checkResult) throws OverflowException, ParseException {
+    private BigDecimal getCorrectNumber(boolean checkResult) throws OverflowException {
         BigDecimal number;
 
         if (checkResult && (isEqualsPressed || isBinaryOperationPressed || isUnaryOrPercentPressed)) {
@@ -909,8 +889,7 @@ public class Controller implements Initializable {
         } else if (isRecalledFromMemory) {
             number = memory.recall();
         } else {
-            formatNumber(BigDecimal.ZERO, true);
-            number = parseToBigDecimal(screen.getText());
+            number = NumberParser.parse(screen.getText());
         }
 
         return number;
@@ -920,9 +899,9 @@ public class Controller implements Initializable {
      * Prepends minus to screen {@code Label} if it is missed and number is not 0 or deletes it if it is already
      * prepended.
      *
-     * @throws ParseException if can not parse number.
+     * @throws NumberFormatException if can not parse number.
      */
-    private void prependMinusIfMissed() throws ParseException {
+    private void prependMinusIfMissed() {
         String screenText = screen.getText();
 
         if (!screenText.equals(ZERO)) {
@@ -936,9 +915,9 @@ public class Controller implements Initializable {
         }
 
         if (!isFirstSet) {
-            calculation.setFirst(parseToBigDecimal(screenText));
+            calculation.setFirst(NumberParser.parse(screenText));
         } else {
-            calculation.setSecond(parseToBigDecimal(screenText));
+            calculation.setSecond(NumberParser.parse(screenText));
         }
 
         screen.setText(screenText);
@@ -949,9 +928,8 @@ public class Controller implements Initializable {
      *
      * @param operation operation that was just pressed.
      * @throws OverflowException if overflow validation failed.
-     * @throws ParseException    if can not parse number.
      */
-    private void setEquationText(Operation operation) throws OverflowException, ParseException {
+    private void setEquationText(Operation operation) throws OverflowException {
         String equationTextToSet;
 
         if (operation.type == OperationType.BINARY) {
@@ -975,9 +953,8 @@ public class Controller implements Initializable {
      * @param operation operation that was just pressed.
      * @return text to set in equation {@code Label}.
      * @throws OverflowException if overflow validation was failed.
-     * @throws ParseException    if can not parse number.
      */
-    private String equationForBinary(Operation operation) throws OverflowException, ParseException {
+    private String equationForBinary(Operation operation) throws OverflowException {
         String equationTextToSet;
 
         if (!isBinaryOperationPressed) {
@@ -997,9 +974,8 @@ public class Controller implements Initializable {
      * @param operation operation that was just pressed.
      * @return text to set in equation {@code Label}.
      * @throws OverflowException if overflow validation was failed.
-     * @throws ParseException    if can not parse number.
      */
-    private String equationForBinaryNotAfterBinary(Operation operation) throws ParseException, OverflowException {
+    private String equationForBinaryNotAfterBinary(Operation operation) throws OverflowException {
         String equationTextToSet;
 
         BigDecimal number = getCorrectNumber(false);
@@ -1068,9 +1044,8 @@ public class Controller implements Initializable {
      * @param operation operation that was just pressed.
      * @return text to set in equation {@code Label}.
      * @throws OverflowException if overflow validation was failed.
-     * @throws ParseException    if can not parse number.
      */
-    private String equationForUnary(Operation operation) throws OverflowException, ParseException {
+    private String equationForUnary(Operation operation) throws OverflowException {
         String equationTextToSet;
 
         BigDecimal number = getCorrectNumber(false);
@@ -1273,13 +1248,13 @@ public class Controller implements Initializable {
      *
      * @param number            number to show.
      * @param isDividePerformed true if divide operation was just performed or false otherwise.
-     * @throws OverflowException while validation for result is failed.
-     * @throws ParseException    if can not parse number.
+     * @throws OverflowException     while validation for result is failed.
+     * @throws NumberFormatException if can not parse number.
      */
-    private void showNumberOnScreen(String number, boolean isDividePerformed) throws OverflowException, ParseException {
-        if (OverflowValidation.overflowValidationFailed(parseToBigDecimal(number), isDividePerformed,
+    private void showNumberOnScreen(String number, boolean isDividePerformed) throws OverflowException {
+        if (OverflowValidation.overflowValidationFailed(NumberParser.parse(number), isDividePerformed,
                 calculation.getFirst())) {
-            throw new OverflowException();
+            throw OverflowException.INSTANCE;
         } else {
             screen.setText(number);
         }
@@ -1315,27 +1290,7 @@ public class Controller implements Initializable {
      * @return symbol of the operation.
      */
     private String operationSymbol(Operation operation) {
-        String symbol = "";
-
-        if (operation == ADD) {
-            symbol = ADD_SYMBOL;
-        } else if (operation == SUBTRACT) {
-            symbol = SUBTRACT_SYMBOL;
-        } else if (operation == MULTIPLY) {
-            symbol = MULTIPLY_SYMBOL;
-        } else if (operation == DIVIDE) {
-            symbol = DIVIDE_SYMBOL;
-        } else if (operation == NEGATE) {
-            symbol = NEGATE_SYMBOL;
-        } else if (operation == SQR) {
-            symbol = SQR_SYMBOL;
-        } else if (operation == SQRT) {
-            symbol = SQRT_SYMBOL;
-        } else if (operation == INVERSE) {
-            symbol = INVERSE_SYMBOL;
-        }
-
-        return symbol;
+        return calculation.getOperationRegistry().get(operation).getSymbol();
     }
 
     /**
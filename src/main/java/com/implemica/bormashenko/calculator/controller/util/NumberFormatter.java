@@ -1,14 +1,24 @@
 package com.implemica.bormashenko.calculator.controller.util;
 
-import org.apache.commons.lang3.StringUtils;
+import com.implemica.bormashenko.calculator.model.util.CompactDecimal;
+import com.implemica.bormashenko.calculator.model.util.Normalization;
+import com.implemica.bormashenko.calculator.model.util.SignificantDigits;
 
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
-import java.text.DecimalFormatSymbols;
-import java.text.ParseException;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static com.implemica.bormashenko.calculator.model.util.CompactDecimal.INFLATED;
 
 /**
  * Class for editing numbers' representation.
+ * <p>
+ * Formatter is immutable, so one instance can be used by many threads at the same time without locks. Numbers are
+ * formatted by hand into {@code char} buffer: number is rounded to {@code MAX_SYMBOLS} significant digits, which are
+ * kept in {@code long}, and then digits, separators and exponent are written one by one. Numbers with many digits
+ * are rounded by {@link SignificantDigits}, so time of formatting does not depend on amount of their digits. Numbers
+ * which fit in {@code long} are formatted without allocating anything but the resulting string, and nothing at all if
+ * caller gives its own buffer.
  *
  * @author Mykhailo Bormashenko
  */
@@ -25,20 +35,37 @@ public class NumberFormatter {
     private final static int MAX_SYMBOLS = 16;
 
     /**
-     * Minimal value that can be shown on screen {@code Label} without using engineer representation.
+     * Maximal length of formatted number without appended trailing zeros.
+     */
+    private static final int MAX_LENGTH = 4 * MAX_SYMBOLS;
+
+    /**
+     * Adjusted exponent of minimal value that can be shown on screen {@code Label} without using engineer
+     * representation, which is 0.001.
+     */
+    private static final int MIN_PLAIN_EXPONENT = -3;
+
+    /**
+     * Rounding to {@code MAX_SYMBOLS} significant digits of numbers which are shown with exponent because they are
+     * small.
      */
-    private static final BigDecimal MIN_PLAIN_VALUE = new BigDecimal("0.001");
+    private static final MathContext SMALL_ROUNDING = new MathContext(MAX_SYMBOLS, RoundingMode.HALF_EVEN);
 
     /**
-     * Decimal formatter for formatting output.
+     * Rounding to {@code MAX_SYMBOLS} significant digits of other numbers.
      */
-    private static final DecimalFormat formatter = new DecimalFormat();
+    private static final MathContext ROUNDING = new MathContext(MAX_SYMBOLS, RoundingMode.HALF_UP);
 
     /**
      * Symbol for separating every three digits in integer number.
      */
     private static final char GROUPING_SEPARATOR = ',';
 
+    /**
+     * Amount of digits in one group of integer number.
+     */
+    private static final int GROUP_SIZE = 3;
+
     /**
      * Symbol for separating exponent part of number if number is decimal.
      */
@@ -50,60 +77,92 @@ public class NumberFormatter {
     private static final String INTEGER_EXPONENT_SEPARATOR = "e+";
 
     /**
-     * Pattern string for 15 digits if they exist.
+     * Symbol for negative numbers and exponents.
      */
-    private static final String PATTERN_15_DIGITS = "###############";
+    private static final char MINUS = '-';
 
     /**
-     * Pattern string for splitting integer group.
+     * Origin symbol in screen {@code Label}.
      */
-    private static final String PATTERN_SPLIT_GROUP = "###" + GROUPING_SEPARATOR + "###" + DECIMAL_SEPARATOR;
+    private static final char ZERO = '0';
 
     /**
-     * Pattern for exponent symbol.
+     * Formatter which uses {@code GROUPING_SEPARATOR}.
      */
-    private static final String PATTERN_EXPONENT = "E";
+    public static final NumberFormatter GROUPING = new NumberFormatter(true);
 
     /**
-     * Pattern for digit if it exists.
+     * Formatter which does not use {@code GROUPING_SEPARATOR}.
      */
-    private static final String PATTERN_DIGIT = "#";
+    public static final NumberFormatter PLAIN = new NumberFormatter(false);
 
     /**
-     * Origin string in screen {@code Label}. Also used as symbol-or-zero part of pattern.
+     * True if {@code GROUPING_SEPARATOR} is used or false otherwise.
      */
-    private static final String ZERO = "0";
+    private final boolean useGrouping;
 
     /**
-     * Regex for checking that second char of unsigned number is {@code DECIMAL_EXPONENT_SEPARATOR}.
+     * Buffer of {@code MAX_LENGTH} symbols owned by current thread.
      */
-    private static final String SECOND_CHAR_EXPONENT_REGEX = "-?\\d" + DECIMAL_EXPONENT_SEPARATOR + "\\+?-?\\d+";
+    private final ThreadLocal<char[]> buffers = ThreadLocal.withInitial(() -> new char[MAX_LENGTH]);
 
     /**
-     * Object for setting symbols for decimal formatter.
+     * Constructor for formatter.
+     *
+     * @param useGrouping true if {@code GROUPING_SEPARATOR} should be used or false otherwise.
      */
-    private static DecimalFormatSymbols symbols = new DecimalFormatSymbols();
+    public NumberFormatter(boolean useGrouping) {
+        this.useGrouping = useGrouping;
+    }
 
-    static {
-        symbols.setGroupingSeparator(GROUPING_SEPARATOR);
-        symbols.setDecimalSeparator(DECIMAL_SEPARATOR);
-        formatter.setDecimalFormatSymbols(symbols);
-        formatter.setParseBigDecimal(true);
+    /**
+     * Formats a number with {@code GROUPING} or {@code PLAIN} formatter.
+     *
+     * @param number      number to format.
+     * @param useGrouping true if {@code GROUPING_SEPARATOR} should be used or false otherwise.
+     * @return formatted number as string.
+     * @see #format(BigDecimal)
+     */
+    public static String formatNumber(BigDecimal number, boolean useGrouping) {
+        return (useGrouping ? GROUPING : PLAIN).format(number);
     }
 
     /**
-     * Formats a number using {@link DecimalFormat}.
+     * Parses string number obtained by formatter to {@code BigDecimal}. Number may contain {@code GROUPING_SEPARATOR}
+     * regardless of formatter which was used.
+     *
+     * @param number number to edit.
+     * @return edited number if it was necessary to edit.
+     * @throws NumberFormatException if impossible to parse number.
+     * @see NumberParser#parse(CharSequence)
+     */
+    public static BigDecimal parseToBigDecimal(String number) {
+        return NumberParser.parse(number);
+    }
+
+    /**
+     * Returns length of buffer which is enough for formatted number.
+     *
+     * @param number number to format.
+     * @return minimal length of buffer for {@link #format(BigDecimal, char[])}.
+     */
+    public static int getMaxLength(BigDecimal number) {
+        return MAX_LENGTH + trailingZeros(number, CompactDecimal.unscaledOf(number));
+    }
+
+    /**
+     * Formats a number.
      * <p>
-     * Result of formatting depends on a number's scale and precision. If number is less than {@code MIN_PLAIN_VALUE}
-     * and it's scale more than {@code MAX_SYMBOLS}, number should be shown with exponent. The similar formatting is
-     * used if length of integer part is more than {@code MAX_SYMBOLS}. Otherwise, whole integer part should be shown
-     * and decimal part should be shown unless the whole number length is less than {@code MAX_SYMBOLS}. Note that
-     * number's scale should be set to the {@code MAX_SYMBOLS} value.
+     * Result of formatting depends on a number's scale and precision. If number is less than 0.001 and it's scale
+     * without trailing zeros is more than {@code MAX_SYMBOLS}, number should be shown with exponent. The similar
+     * formatting is used if length of integer part is more than {@code MAX_SYMBOLS}. Otherwise, whole integer part
+     * should be shown and decimal part should be shown unless the whole number length is less than
+     * {@code MAX_SYMBOLS}. Trailing zeros of number are kept.
      * <p>
      * Examples:
      * <ul>
      *   <li>
-     *       If number is less than {@code MIN_PLAIN_VALUE} and it's scale more than {@code MAX_SYMBOLS}: <br>
+     *       If number is less than 0.001 and it's scale more than {@code MAX_SYMBOLS}: <br>
      *       <ul>
      *           <li>
      *              {@code formatNumber(0.00000000000000001, true) == 1.e-17}; and <br>
@@ -197,187 +256,240 @@ public class NumberFormatter {
      *    </li>
      * </ul>
      *
-     * @param number      number to format.
-     * @param useGrouping true if {@code GROUPING_SEPARATOR} should be used or false otherwise.
+     * Here {@code true} and {@code false} stand for {@code GROUPING} and {@code PLAIN} formatters.
+     *
+     * @param number number to format.
      * @return formatted number as string.
      */
-    public static String formatNumber(BigDecimal number, boolean useGrouping) {
-        BigDecimal numberToWorkWith;
+    public String format(BigDecimal number) {
+        long unscaled = CompactDecimal.unscaledOf(number);
+        int trailingZeros = trailingZeros(number, unscaled);
+        char[] buffer = trailingZeros == 0 ? buffers.get() : new char[MAX_LENGTH + trailingZeros];
 
-        if (number.scale() == 0) {
-            numberToWorkWith = number;
-        } else {
-            numberToWorkWith = number.stripTrailingZeros();
-        }
-
-        int trailingZeros = number.scale() - numberToWorkWith.scale();
+        return new String(buffer, 0, write(number, unscaled, trailingZeros, buffer));
+    }
 
-        setExponentSeparatorSymbol(numberToWorkWith.abs().compareTo(BigDecimal.ONE) >= 0);
+    /**
+     * Formats a number into the beginning of buffer. Result is the same as result of {@link #format(BigDecimal)}.
+     *
+     * @param number number to format.
+     * @param buffer buffer for formatted number, which is not shorter than {@link #getMaxLength(BigDecimal)}.
+     * @return length of formatted number.
+     * @throws IllegalArgumentException if buffer is too short.
+     */
+    public int format(BigDecimal number, char[] buffer) {
+        long unscaled = CompactDecimal.unscaledOf(number);
+        int trailingZeros = trailingZeros(number, unscaled);
 
-        String pattern;
+        if (buffer.length < MAX_LENGTH + trailingZeros) {
+            throw new IllegalArgumentException("Expected: buffer of at least " + (MAX_LENGTH + trailingZeros) +
+                    " symbols. Got: " + buffer.length);
+        }
 
-        if (numberToWorkWith.abs().compareTo(MIN_PLAIN_VALUE) < 0 && numberToWorkWith.scale() > MAX_SYMBOLS) {
-            pattern = ZERO + DECIMAL_SEPARATOR + PATTERN_15_DIGITS + PATTERN_EXPONENT + ZERO;
-        } else {
-            int scale = numberToWorkWith.scale();
-            int precision = numberToWorkWith.precision();
-            int integerPartLength = precision - scale;
+        return write(number, unscaled, trailingZeros, buffer);
+    }
 
-            numberToWorkWith = numberToWorkWith.setScale(MAX_SYMBOLS - integerPartLength, BigDecimal.ROUND_HALF_UP);
-            scale = numberToWorkWith.scale();
-            precision = numberToWorkWith.precision();
-            integerPartLength = precision - scale;
+    /**
+     * Writes formatted number into the beginning of buffer, which is long enough.
+     * <p>
+     * Number is rounded to {@code MAX_SYMBOLS} significant digits: half-even if it is shown with exponent because it
+     * is small, half-up otherwise. Digits of rounded number are taken from {@code long} without trailing zeros, and
+     * trailing zeros of original number are appended after all.
+     *
+     * @param number        number to format.
+     * @param unscaled      unscaled value of number or {@code INFLATED} if it does not fit in {@code long}.
+     * @param trailingZeros amount of trailing zeros of number that should be kept.
+     * @param buffer        buffer for formatted number.
+     * @return length of formatted number.
+     */
+    private int write(BigDecimal number, long unscaled, int trailingZeros, char[] buffer) {
+        int length = 0;
 
-            if (integerPartLength > MAX_SYMBOLS) {
-                pattern = ZERO + DECIMAL_SEPARATOR;
+        if (number.signum() == 0) {
+            buffer[length++] = ZERO;
 
-                if (scale > 0 && scale < MAX_SYMBOLS) {
-                    StringBuilder patternBuilder = new StringBuilder(scale);
+            return appendTrailingZeros(buffer, length, false, trailingZeros);
+        }
 
-                    for (int i = 0; i < scale; i++) {
-                        patternBuilder.append(ZERO);
-                    }
+        if (number.signum() < 0) {
+            buffer[length++] = MINUS;
+        }
 
-                    pattern += patternBuilder;
-                } else {
-                    pattern += PATTERN_15_DIGITS;
-                }
+        long significand = unscaled;
+        int precision = number.precision();
+        int exponent = precision - number.scale() - 1;
+        boolean isSmall = exponent < MIN_PLAIN_EXPONENT && number.scale() - trailingZeros > MAX_SYMBOLS;
+        MathContext mathContext = isSmall ? SMALL_ROUNDING : ROUNDING;
+        RoundingMode roundingMode = mathContext.getRoundingMode();
 
-                pattern += PATTERN_EXPONENT + ZERO;
-            } else {
-                pattern = PATTERN_SPLIT_GROUP;
+        if (significand != INFLATED) {
+            significand = Math.abs(significand);
+        } else {
+            BigDecimal rounded = SignificantDigits.round(number, mathContext);
+            significand = rounded.unscaledValue().abs().longValue();
+            precision = rounded.precision();
+            exponent = precision - rounded.scale() - 1;
+        }
 
-                StringBuilder patternBuilder = new StringBuilder(MAX_SYMBOLS - integerPartLength);
+        if (precision > MAX_SYMBOLS) {
+            long divisor = CompactDecimal.tenPower(precision - MAX_SYMBOLS);
+            long remainder = significand % divisor;
+            significand /= divisor;
 
-                for (int i = 0; i < MAX_SYMBOLS - integerPartLength; i++) {
-                    patternBuilder.append(PATTERN_DIGIT);
-                }
+            if (remainder > divisor / 2 || remainder == divisor / 2 &&
+                    (roundingMode == RoundingMode.HALF_UP || significand % 2 != 0)) {
+                significand++;
+            }
 
-                pattern += patternBuilder;
+            if (significand == CompactDecimal.tenPower(MAX_SYMBOLS)) {
+                significand /= 10;
+                exponent++;
             }
         }
 
-        formatter.applyPattern(pattern);
-        formatter.setGroupingUsed(useGrouping);
-        return finalFormat(formatter.format(numberToWorkWith), trailingZeros);
-    }
+        significand = CompactDecimal.stripTrailingZeros(significand);
+        int digits = CompactDecimal.precision(significand);
+        boolean hasSeparator;
 
-    /**
-     * Parses string number obtained by formatter to {@code BigDecimal}.
-     * <p>
-     * Before parsing {@code INTEGER_EXPONENT_SEPARATOR} should be set as exponent separator for {@code DecimalFormatter}
-     * if number contains it, otherwise should be {@code DECIMAL_EXPONENT_SEPARATOR}.
-     * <p>
-     * Examples:
-     * <ul>
-     *     <li>
-     *       {@code parseToBigDecimal("123") == new BigDecimal("123456")}
-     *      </li>
-     *      <li>
-     *       {@code parseToBigDecimal("123456") == new BigDecimal("123456")}; and
-     *       {@code parseToBigDecimal("123,456") == new BigDecimal("123456")}
-     *      </li>
-     *      <li>
-     *       {@code parseToBigDecimal("123.123456") == new BigDecimal("123.123456")}
-     *      </li>
-     *      <li>
-     *       {@code parseToBigDecimal("123456.123456") == new BigDecimal("123456.123456")}; and
-     *       {@code parseToBigDecimal("123,456.123456") == new BigDecimal("123456.123456")}
-     *      </li>
-     *      <li>
-     *       {@code parseToBigDecimal("1.e+16") == new BigDecimal("1.e+16")}
-     *      </li>
-     *      <li>
-     *       {@code parseToBigDecimal("1.e-16") == new BigDecimal("1.e-16")}
-     *      </li>
-     *      <li>
-     *       {@code parseToBigDecimal("1.23456e+20") == new BigDecimal("1.23456e+20")}
-     *      </li>
-     *      <li>
-     *       {@code parseToBigDecimal("1.23456e-20") == new BigDecimal("1.23456e-20")}
-     *      </li>
-     * </ul>
-     *
-     * @param number number to edit.
-     * @return edited number if it was necessary to edit.
-     * @throws ParseException if impossible to parse number.
-     */
-    public static BigDecimal parseToBigDecimal(String number) throws ParseException {
-        setExponentSeparatorSymbol(number.contains(INTEGER_EXPONENT_SEPARATOR));
+        if (isSmall || exponent >= MAX_SYMBOLS) {
+            length = writeEngineer(buffer, length, significand, digits, exponent);
+            hasSeparator = true;
+        } else {
+            length = writePlain(buffer, length, significand, digits, exponent + 1);
+            hasSeparator = digits > exponent + 1;
+        }
 
-        return (BigDecimal) formatter.parse(number);
+        return appendTrailingZeros(buffer, length, hasSeparator, trailingZeros);
     }
 
     /**
-     * Sets symbol for exponent separator in decimal formatter.
+     * Writes number with exponent. {@code DECIMAL_SEPARATOR} is written even if there is only one digit.
      *
-     * @param isIntegerSeparator true if integer exponent separator should be used or false if decimal.
+     * @param buffer      buffer for formatted number.
+     * @param length      length of already written part.
+     * @param significand digits of number without trailing zeros.
+     * @param digits      amount of digits.
+     * @param exponent    adjusted exponent of number.
+     * @return length of written part.
      */
-    private static void setExponentSeparatorSymbol(boolean isIntegerSeparator) {
-        symbols.setExponentSeparator(isIntegerSeparator ? INTEGER_EXPONENT_SEPARATOR : DECIMAL_EXPONENT_SEPARATOR);
-        formatter.setDecimalFormatSymbols(symbols);
+    private static int writeEngineer(char[] buffer, int length, long significand, int digits, int exponent) {
+        buffer[length++] = digitAt(significand, digits, 0);
+        buffer[length++] = DECIMAL_SEPARATOR;
+
+        for (int i = 1; i < digits; i++) {
+            buffer[length++] = digitAt(significand, digits, i);
+        }
+
+        if (exponent < 0) {
+            DECIMAL_EXPONENT_SEPARATOR.getChars(0, DECIMAL_EXPONENT_SEPARATOR.length(), buffer, length);
+            length += DECIMAL_EXPONENT_SEPARATOR.length();
+            buffer[length++] = MINUS;
+        } else {
+            INTEGER_EXPONENT_SEPARATOR.getChars(0, INTEGER_EXPONENT_SEPARATOR.length(), buffer, length);
+            length += INTEGER_EXPONENT_SEPARATOR.length();
+        }
+
+        long absoluteExponent = Math.abs((long) exponent);
+        int exponentDigits = CompactDecimal.precision(absoluteExponent);
+
+        for (int i = 0; i < exponentDigits; i++) {
+            buffer[length++] = digitAt(absoluteExponent, exponentDigits, i);
+        }
+
+        return length;
     }
 
     /**
-     * Corrects formatted number.
-     * <p>
-     * If engineer number is not formatted correctly (no {@code DECIMAL_SEPARATOR} in engineer number), prepends
-     * {@code DECIMAL_SEPARATOR} before {@code EXPONENT_SEPARATOR}.
-     * <p>
-     * If the last symbol of number is {@code DECIMAL_SEPARATOR}, removes it.
-     * <p>
-     * If {@code GROUPING_SEPARATOR} should not be used, replaces them with empty string.
-     * <p>
-     * Appends trailing zeros if necessary.
+     * Writes number without exponent. Fraction part is written only if it is not zero.
      *
-     * @param number        number that was formatted.
-     * @param trailingZeros number of trailing zeros that should be appended.
-     * @return corrected number if it was necessary to correct.
+     * @param buffer            buffer for formatted number.
+     * @param length            length of already written part.
+     * @param significand       digits of number without trailing zeros.
+     * @param digits            amount of digits.
+     * @param integerPartLength amount of digits before {@code DECIMAL_SEPARATOR}, which is not positive if number is
+     *                          less than 1.
+     * @return length of written part.
      */
-    private static String finalFormat(String number, int trailingZeros) {
-        if (isSecondCharExponent(number)) {
-            number = number.replace(DECIMAL_EXPONENT_SEPARATOR,
-                    DECIMAL_SEPARATOR + DECIMAL_EXPONENT_SEPARATOR);
+    private int writePlain(char[] buffer, int length, long significand, int digits, int integerPartLength) {
+        if (integerPartLength <= 0) {
+            buffer[length++] = ZERO;
         }
 
-        if (isLastDecimalSeparator(number)) {
-            number = StringUtils.chop(number);
+        for (int i = 0; i < integerPartLength; i++) {
+            if (useGrouping && i != 0 && (integerPartLength - i) % GROUP_SIZE == 0) {
+                buffer[length++] = GROUPING_SEPARATOR;
+            }
+
+            buffer[length++] = i < digits ? digitAt(significand, digits, i) : ZERO;
         }
 
-        if (trailingZeros != 0) {
-            StringBuilder zeros = new StringBuilder(trailingZeros);
+        if (digits > integerPartLength) {
+            buffer[length++] = DECIMAL_SEPARATOR;
 
-            for (int i = 0; i < trailingZeros; i++) {
-                zeros.append(ZERO);
+            for (int i = integerPartLength; i < digits; i++) {
+                buffer[length++] = i < 0 ? ZERO : digitAt(significand, digits, i);
             }
+        }
 
-            if (!number.contains(String.valueOf(DECIMAL_SEPARATOR))) {
-                number += DECIMAL_SEPARATOR;
+        return length;
+    }
+
+    /**
+     * Appends trailing zeros of original number, with {@code DECIMAL_SEPARATOR} before them if it was not written.
+     *
+     * @param buffer        buffer for formatted number.
+     * @param length        length of already written part.
+     * @param hasSeparator  true if {@code DECIMAL_SEPARATOR} is already written or false otherwise.
+     * @param trailingZeros amount of trailing zeros that should be appended.
+     * @return length of formatted number.
+     */
+    private static int appendTrailingZeros(char[] buffer, int length, boolean hasSeparator, int trailingZeros) {
+        if (trailingZeros != 0) {
+            if (!hasSeparator) {
+                buffer[length++] = DECIMAL_SEPARATOR;
             }
 
-            number += zeros;
+            for (int i = 0; i < trailingZeros; i++) {
+                buffer[length++] = ZERO;
+            }
         }
 
-        return number;
+        return length;
     }
 
     /**
-     * Checks if second char of unsigned number is {@code EXPONENT_SEPARATOR}.
+     * Counts trailing zeros of number which are kept after formatting. Number with zero scale is shown as it is, and
+     * zero keeps as many zeros as its scale.
      *
-     * @param formattedNumber formatted number to check.
-     * @return true if second char of unsigned number is {@code EXPONENT_SEPARATOR} or false otherwise.
+     * @param number   number to format.
+     * @param unscaled unscaled value of number or {@code INFLATED} if it does not fit in {@code long}.
+     * @return amount of trailing zeros.
      */
-    private static boolean isSecondCharExponent(String formattedNumber) {
-        return formattedNumber.matches(SECOND_CHAR_EXPONENT_REGEX);
+    private static int trailingZeros(BigDecimal number, long unscaled) {
+        if (number.scale() == 0) {
+            return 0;
+        }
+
+        if (number.signum() == 0) {
+            return Math.max(number.scale(), 0);
+        }
+
+        if (unscaled != INFLATED) {
+            return CompactDecimal.trailingZeros(unscaled);
+        }
+
+        return number.scale() - Normalization.normalize(number).scale();
     }
 
     /**
-     * Checks if last symbol of string is {@code DECIMAL_SEPARATOR}.
+     * Returns digit of number.
      *
-     * @param formattedNumber formatted number to check.
-     * @return true if last symbol of string is {@code DECIMAL_SEPARATOR} or false otherwise.
+     * @param number non-negative number.
+     * @param digits amount of digits of number.
+     * @param index  index of digit, starting from the most significant one.
+     * @return digit symbol.
      */
-    private static boolean isLastDecimalSeparator(String formattedNumber) {
-        return formattedNumber.endsWith(String.valueOf(DECIMAL_SEPARATOR));
+    private static char digitAt(long number, int digits, int index) {
+        return (char) (ZERO + number / CompactDecimal.tenPower(digits - index - 1) % 10);
     }
 }
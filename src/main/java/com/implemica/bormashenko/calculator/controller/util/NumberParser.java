@@ -0,0 +1,228 @@
+package com.implemica.bormashenko.calculator.controller.util;
+
+import com.implemica.bormashenko.calculator.model.util.CompactDecimal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.implemica.bormashenko.calculator.controller.util.NumberFormatter.DECIMAL_SEPARATOR;
+
+/**
+ * Class for parsing numbers shown on screen {@code Label}.
+ * <p>
+ * Text is scanned in place, without creating intermediate strings. Digits are collected into {@code long} and, if
+ * there are more than 18 of them, into {@code BigInteger} by 18 digits at a time. Unscaled value and scale of number
+ * are built directly from digits, amount of fraction digits and exponent.
+ * <p>
+ * Text should have the form written by {@link NumberFormatter}: optional minus, integer part whose digits may be
+ * separated by grouping separators, optional decimal separator followed by fraction digits, and optional exponent
+ * {@code e}, {@code e+} or {@code e-} followed by digits. At least one digit should be before exponent. Any other text
+ * causes {@link NumberFormatException}, which message contains index of the wrong symbol.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class NumberParser {
+
+    /**
+     * Symbol for separating every three digits in integer number.
+     */
+    private static final char GROUPING_SEPARATOR = ',';
+
+    /**
+     * Symbol for separating exponent part of number.
+     */
+    private static final char EXPONENT_SEPARATOR = 'e';
+
+    /**
+     * Symbol for negative numbers and exponents.
+     */
+    private static final char MINUS = '-';
+
+    /**
+     * Symbol for positive exponents.
+     */
+    private static final char PLUS = '+';
+
+    /**
+     * Amount of digits collected into {@code long} before they are moved to {@code BigInteger}.
+     */
+    private static final int CHUNK_DIGITS = 18;
+
+    /**
+     * Ten raised to {@code CHUNK_DIGITS} power as {@code BigInteger}.
+     */
+    private static final BigInteger CHUNK_BASE = BigInteger.valueOf(CompactDecimal.tenPower(CHUNK_DIGITS));
+
+    /**
+     * Parses number.
+     * <p>
+     * Trailing zeros of fraction part are kept in scale. Examples:
+     * <ul>
+     *      <li>
+     *       {@code parse("123,456") == new BigDecimal("123456")}
+     *      </li>
+     *      <li>
+     *       {@code parse("-123,456.1230") == new BigDecimal("-123456.1230")}
+     *      </li>
+     *      <li>
+     *       {@code parse("123.") == new BigDecimal("123")}
+     *      </li>
+     *      <li>
+     *       {@code parse("1.e+16") == new BigDecimal("1e+16")}
+     *      </li>
+     *      <li>
+     *       {@code parse("1.23456e-20") == new BigDecimal("1.23456e-20")}
+     *      </li>
+     * </ul>
+     *
+     * @param text text to parse.
+     * @return parsed number.
+     * @throws NumberFormatException if text is not a number.
+     */
+    public static BigDecimal parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses number which is a part of text.
+     *
+     * @param text  text which contains number.
+     * @param start index of the first symbol of number.
+     * @param end   index after the last symbol of number.
+     * @return parsed number.
+     * @throws NumberFormatException if part of text is not a number.
+     */
+    public static BigDecimal parse(CharSequence text, int start, int end) {
+        int index = start;
+        boolean isNegative = index < end && text.charAt(index) == MINUS;
+
+        if (isNegative) {
+            index++;
+        }
+
+        long chunk = 0;
+        int chunkDigits = 0;
+        BigInteger unscaled = null;
+        int digits = 0;
+        long fractionDigits = 0;
+        boolean isFraction = false;
+
+        for (; index < end; index++) {
+            char symbol = text.charAt(index);
+
+            if (isDigit(symbol)) {
+                chunk = chunk * 10 + (symbol - '0');
+                chunkDigits++;
+                digits++;
+
+                if (isFraction) {
+                    fractionDigits++;
+                }
+
+                if (chunkDigits == CHUNK_DIGITS) {
+                    unscaled = append(unscaled, chunk, chunkDigits);
+                    chunk = 0;
+                    chunkDigits = 0;
+                }
+            } else if (symbol == DECIMAL_SEPARATOR && !isFraction) {
+                isFraction = true;
+            } else if (symbol != GROUPING_SEPARATOR || isFraction || digits == 0 || index + 1 == end ||
+                    !isDigit(text.charAt(index + 1))) {
+                break;
+            }
+        }
+
+        if (digits == 0) {
+            throw wrongSymbol(text, start, end, index);
+        }
+
+        long exponent = 0;
+
+        if (index < end) {
+            if (text.charAt(index) != EXPONENT_SEPARATOR) {
+                throw wrongSymbol(text, start, end, index);
+            }
+
+            index++;
+            boolean isNegativeExponent = index < end && text.charAt(index) == MINUS;
+
+            if (isNegativeExponent || index < end && text.charAt(index) == PLUS) {
+                index++;
+            }
+
+            int exponentStart = index;
+
+            for (; index < end && isDigit(text.charAt(index)); index++) {
+                exponent = exponent * 10 + (text.charAt(index) - '0');
+
+                if (exponent > Integer.MAX_VALUE) {
+                    throw wrongSymbol(text, start, end, index);
+                }
+            }
+
+            if (index == exponentStart || index < end) {
+                throw wrongSymbol(text, start, end, index);
+            }
+
+            if (isNegativeExponent) {
+                exponent = -exponent;
+            }
+        }
+
+        long scale = fractionDigits - exponent;
+
+        if (!CompactDecimal.isScaleInRange(scale)) {
+            throw new NumberFormatException("Expected: scale in range of int. Got: " + scale);
+        }
+
+        if (unscaled == null) {
+            return BigDecimal.valueOf(isNegative ? -chunk : chunk, (int) scale);
+        }
+
+        unscaled = append(unscaled, chunk, chunkDigits);
+
+        return new BigDecimal(isNegative ? unscaled.negate() : unscaled, (int) scale);
+    }
+
+    /**
+     * Appends digits to the end of number.
+     *
+     * @param number number or null if there is no number yet.
+     * @param digits digits to append.
+     * @param count  amount of digits to append, including leading zeros.
+     * @return number with appended digits.
+     */
+    private static BigInteger append(BigInteger number, long digits, int count) {
+        if (number == null) {
+            return BigInteger.valueOf(digits);
+        }
+
+        BigInteger base = count == CHUNK_DIGITS ? CHUNK_BASE : BigInteger.valueOf(CompactDecimal.tenPower(count));
+
+        return number.multiply(base).add(BigInteger.valueOf(digits));
+    }
+
+    /**
+     * Checks if symbol is a decimal digit.
+     *
+     * @param symbol symbol to check.
+     * @return true if symbol is a digit from 0 to 9 or false otherwise.
+     */
+    private static boolean isDigit(char symbol) {
+        return symbol >= '0' && symbol <= '9';
+    }
+
+    /**
+     * Creates exception for symbol which can not be parsed.
+     *
+     * @param text  text which contains number.
+     * @param start index of the first symbol of number.
+     * @param end   index after the last symbol of number.
+     * @param index index of wrong symbol, or {@code end} if number ends too early.
+     * @return exception to throw.
+     */
+    private static NumberFormatException wrongSymbol(CharSequence text, int start, int end, int index) {
+        return new NumberFormatException("Expected: number. Got: \"" + text.subSequence(start, end) +
+                "\" with wrong symbol at index " + (index - start));
+    }
+}
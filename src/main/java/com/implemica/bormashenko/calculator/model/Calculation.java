@@ -1,18 +1,26 @@
 package com.implemica.bormashenko.calculator.model;
 
+import com.implemica.bormashenko.calculator.model.enums.CalculationEngine;
+import com.implemica.bormashenko.calculator.model.enums.CalculationMode;
 import com.implemica.bormashenko.calculator.model.enums.Operation;
 import com.implemica.bormashenko.calculator.model.enums.OperationType;
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
 import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
 import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
 import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
 import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import com.implemica.bormashenko.calculator.model.util.CompactDecimal;
+import com.implemica.bormashenko.calculator.model.util.DecimalExpansion;
+import com.implemica.bormashenko.calculator.model.util.Normalization;
 import com.implemica.bormashenko.calculator.model.util.OverflowValidation;
+import com.implemica.bormashenko.calculator.model.util.RepeatedOperation;
 
 import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
 
+import static com.implemica.bormashenko.calculator.model.util.CompactDecimal.INFLATED;
+
 /**
  * This class contains model of how the calculator works.
  *
@@ -21,41 +29,88 @@ import java.math.RoundingMode;
 public class Calculation {
 
     /**
-     * Scale for {@code Operation.DIVIDE}.
+     * Default precision for {@code Operation.SQRT}.
      *
      * @see Operation
      */
-    private static final int DIVIDE_SCALE = 10000;
+    private static final int DEFAULT_SQRT_PRECISION = MathContext.DECIMAL64.getPrecision();
 
     /**
-     * MathContext for {@code Operation.SQRT}.
+     * Precision of decimal image of result calculated in {@code CalculationMode.RATIONAL}.
      *
-     * @see Operation
+     * @see CalculationMode
      */
-    private static final MathContext SQRT_CONTEXT = MathContext.DECIMAL64;
+    private static final int RATIONAL_IMAGE_PRECISION = MathContext.DECIMAL128.getPrecision();
 
     /**
-     * Max possible scale for number.
-     * <p>
-     * If scale is bigger, {@link OverflowException} should be thrown.
+     * Rounding of results to digits that are shown on screen, used for comparing results of
+     * {@code CalculationMode.APPROXIMATE} and {@code CalculationMode.DECIMAL}.
+     *
+     * @see CalculationMode
+     */
+    private static final MathContext DISPLAYED_DIGITS = new MathContext(16, RoundingMode.HALF_UP);
+
+    /**
+     * Bit of state's index which is set if second number is set.
+     */
+    private static final int SECOND_SET_BIT = 8;
+
+    /**
+     * Bit of state's index which is set if next unary operations should be made with first number.
+     */
+    private static final int UNARY_ON_FIRST_BIT = 4;
+
+    /**
+     * Bit of state's index which is set if previous operation was equals.
+     */
+    private static final int PREVIOUS_EQUALS_BIT = 2;
+
+    /**
+     * Bit of state's index which is set if binary operation is set.
+     */
+    private static final int BINARY_OPERATION_BIT = 1;
+
+    /**
+     * Amount of possible states of calculation.
+     */
+    private static final int STATES = 16;
+
+    /**
+     * Id of binary operation if there is no such.
      */
-    private static final int MAX_SCALE = 9999;
+    private static final int NO_OPERATION = -1;
 
     /**
-     * The number and any number less that that should cause {@link OverflowException} if trying to calculate percent of
-     * 100 for the number.
+     * Id of {@code Operation.EQUALS}.
      */
-    private static final BigDecimal PERCENT_OF_100_EDGE = new BigDecimal("1.e-9998");
+    private static final int EQUALS_ID = OperationRegistry.idOf(Operation.EQUALS);
 
     /**
-     * {@code BigDecimal} value of 0.5.
+     * Id of {@code Operation.DIVIDE}.
      */
-    private static final BigDecimal ONE_HALF = new BigDecimal("0.5");
+    private static final int DIVIDE_ID = OperationRegistry.idOf(Operation.DIVIDE);
 
     /**
-     * {@code BigDecimal} value of 100.
+     * Amount of {@link OperationType} values.
      */
-    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+    private static final int TYPES = OperationType.values().length;
+
+    /**
+     * Transitions of {@code CalculationEngine.TABLE} indexed by state and type of operation.
+     *
+     * @see #transitionIndex(int, OperationType)
+     */
+    private static final Transition[] TRANSITIONS = transitions();
+
+    /**
+     * Approximate amount of bytes taken by {@code BigDecimal} or {@code BigInteger} without its digits.
+     */
+    private static final long NUMBER_OVERHEAD = 40;
+
+    /**
+     * Amount of bits taken by one decimal digit, i.e. {@code log2(10)}.
+     */
+    private static final double BITS_PER_DIGIT = Math.log(10) / Math.log(2);
 
     /**
      * First number of equation.
@@ -67,6 +122,126 @@ public class Calculation {
      */
     private BigDecimal second = BigDecimal.ZERO;
 
+    /**
+     * Unscaled value of first number if it fits in {@code long} or {@code CompactDecimal.INFLATED} otherwise.
+     *
+     * @see CompactDecimal
+     */
+    private long firstUnscaled = 0;
+
+    /**
+     * Unscaled value of second number if it fits in {@code long} or {@code CompactDecimal.INFLATED} otherwise.
+     *
+     * @see CompactDecimal
+     */
+    private long secondUnscaled = 0;
+
+    /**
+     * Exact value of first number or null if it should be obtained from decimal first number.
+     */
+    private Fraction firstFraction = null;
+
+    /**
+     * Exact value of second number or null if it should be obtained from decimal second number.
+     */
+    private Fraction secondFraction = null;
+
+    /**
+     * Exact value of result of last operation or null if it was calculated in {@code CalculationMode.DECIMAL}.
+     */
+    private Fraction resultFraction = null;
+
+    /**
+     * Quotient which first number is image of or null if first number is already expanded.
+     */
+    private Quotient firstQuotient = null;
+
+    /**
+     * Quotient which second number is image of or null if second number is already expanded.
+     */
+    private Quotient secondQuotient = null;
+
+    /**
+     * Quotient which result of last operation is image of or null if it was not divided in
+     * {@code CalculationMode.DECIMAL}.
+     */
+    private Quotient resultQuotient = null;
+
+    /**
+     * Approximate amount of bytes taken by digits of first number, its exact value and its quotient.
+     */
+    private long firstWeight = 0;
+
+    /**
+     * Approximate amount of bytes taken by digits of second number, its exact value and its quotient.
+     */
+    private long secondWeight = 0;
+
+    /**
+     * {@link CalculationMode} of calculation.
+     */
+    private CalculationMode mode = CalculationMode.DECIMAL;
+
+    /**
+     * Amount of significant digits in result of {@code Operation.SQRT}.
+     */
+    private int sqrtPrecision = DEFAULT_SQRT_PRECISION;
+
+    /**
+     * Limit of digits in integer and decimal parts of numbers.
+     *
+     * @see OverflowValidation
+     */
+    private int digitLimit = OverflowValidation.DEFAULT_DIGIT_LIMIT;
+
+    /**
+     * {@link SquareRoot} engine of calculation.
+     */
+    private final SquareRoot squareRoot = new SquareRoot();
+
+    /**
+     * {@link Operands} passed to operations, reused for all of them.
+     */
+    private final Operands operands = new Operands();
+
+    /**
+     * {@link OperationRegistry} which implementations of operations are found in.
+     */
+    private OperationRegistry operationRegistry = OperationRegistry.STANDARD;
+
+    /**
+     * {@link ResultCache} for results of expensive operations or null if results should not be cached.
+     */
+    private ResultCache resultCache = null;
+
+    /**
+     * {@link NumberInterner} for results of operations or null if results should not be interned.
+     */
+    private NumberInterner interner = null;
+
+    /**
+     * {@link CancellationToken} checked by long-running operations or null if operations can not be cancelled.
+     */
+    private CancellationToken cancellationToken = null;
+
+    /**
+     * {@link CalculationEngine} which changes state after operations.
+     */
+    private CalculationEngine engine = CalculationEngine.TABLE;
+
+    /**
+     * True if results calculated in {@code CalculationMode.APPROXIMATE} should be compared with results calculated in
+     * {@code CalculationMode.DECIMAL} or false otherwise.
+     */
+    private boolean isDivergenceReported = false;
+
+    /**
+     * True if displayed digits of result of last operation calculated in {@code CalculationMode.APPROXIMATE} differ
+     * from displayed digits of result calculated in {@code CalculationMode.DECIMAL} or result was out of range of
+     * {@code double}, false otherwise.
+     */
+    private boolean isResultDivergent = false;
+
     /**
      * True if second number is set or false otherwise.
      */
@@ -83,125 +258,698 @@ public class Calculation {
     private boolean previousEquals = false;
 
     /**
-     * {@link Operation} of equation.
+     * Id of binary operation of equation or {@code NO_OPERATION} if there is no such.
      */
-    private Operation binaryOperation = null;
+    private int binaryOperation = NO_OPERATION;
 
+    /**
+     * Returns binary operation of equation if it is standard operation.
+     *
+     * @return {@link Operation} of equation or null if there is no such or it is not standard operation.
+     */
     public Operation getBinaryOperation() {
+        return OperationRegistry.operationOf(binaryOperation);
+    }
+
+    /**
+     * Returns id of binary operation of equation in {@link OperationRegistry}.
+     *
+     * @return id of binary operation or -1 if there is no such.
+     */
+    public int getBinaryOperationId() {
         return binaryOperation;
     }
 
+    public CalculationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets arithmetic mode for next operations. Numbers that are already set stay the same.
+     *
+     * @param mode {@link CalculationMode} to use.
+     */
+    public void setMode(CalculationMode mode) {
+        this.mode = mode;
+    }
+
+    public int getSqrtPrecision() {
+        return sqrtPrecision;
+    }
+
+    /**
+     * Sets amount of significant digits in result of {@code Operation.SQRT} for next operations.
+     *
+     * @param sqrtPrecision positive precision of square root.
+     * @throws IllegalArgumentException if precision is not positive.
+     */
+    public void setSqrtPrecision(int sqrtPrecision) {
+        if (sqrtPrecision <= 0) {
+            throw new IllegalArgumentException("Expected: positive precision. Got: " + sqrtPrecision);
+        }
+
+        this.sqrtPrecision = sqrtPrecision;
+    }
+
+    public int getDigitLimit() {
+        return digitLimit;
+    }
+
+    /**
+     * Sets limit of digits in integer and decimal parts of results for next operations. Results should be in range
+     * ({@code -10^digitLimit}, {@code 10^digitLimit}), and quotients are rounded to {@code digitLimit} decimal digits.
+     * <p>
+     * Limits higher than {@code OverflowValidation.DEFAULT_DIGIT_LIMIT} enable high-precision calculations: huge
+     * numbers are multiplied and squared in parallel, and precision of square root can be raised by
+     * {@link #setSqrtPrecision(int)}. Results are not cached and equals is not repeated at once with such limits.
+     *
+     * @param digitLimit limit in range [{@code OverflowValidation.DEFAULT_DIGIT_LIMIT},
+     *                   {@code OverflowValidation.MAX_DIGIT_LIMIT}].
+     * @throws IllegalArgumentException if limit is out of range.
+     */
+    public void setDigitLimit(int digitLimit) {
+        if (digitLimit < OverflowValidation.DEFAULT_DIGIT_LIMIT || digitLimit > OverflowValidation.MAX_DIGIT_LIMIT) {
+            throw new IllegalArgumentException("Expected: digit limit in range [" +
+                    OverflowValidation.DEFAULT_DIGIT_LIMIT + ", " + OverflowValidation.MAX_DIGIT_LIMIT + "]. Got: " +
+                    digitLimit);
+        }
+
+        this.digitLimit = digitLimit;
+    }
+
+    public OperationRegistry getOperationRegistry() {
+        return operationRegistry;
+    }
+
+    /**
+     * Sets registry which implementations of next operations are found in. The same registry may be used by several
+     * calculations.
+     *
+     * @param operationRegistry {@link OperationRegistry} to use.
+     * @throws IllegalArgumentException if registry is null.
+     */
+    public void setOperationRegistry(OperationRegistry operationRegistry) {
+        if (operationRegistry == null) {
+            throw new IllegalArgumentException("Expected: operation registry. Got: null");
+        }
+
+        this.operationRegistry = operationRegistry;
+    }
+
+    public ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Sets cache for results of {@code Operation.SQR}, {@code Operation.SQRT}, {@code Operation.INVERSE} and
+     * {@code Operation.PERCENT} calculated in {@code CalculationMode.DECIMAL}. The same cache may be used by several
+     * calculations.
+     *
+     * @param resultCache {@link ResultCache} to use or null if results should not be cached.
+     */
+    public void setResultCache(ResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    public NumberInterner getInterner() {
+        return interner;
+    }
+
+    /**
+     * Sets interner for results of next operations, so equal results share one object. The same interner may be used
+     * by several calculations.
+     *
+     * @param interner {@link NumberInterner} to use or null if results should not be interned.
+     */
+    public void setInterner(NumberInterner interner) {
+        this.interner = interner;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Sets token for cancelling next operations. Square root, division and multiplication of huge numbers check token
+     * while they are calculated. If operation is cancelled, {@link CancelledException} is thrown and state of
+     * calculation is rolled back to the state before operation.
+     *
+     * @param cancellationToken {@link CancellationToken} to check or null if operations can not be cancelled.
+     */
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    public CalculationEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Sets engine which changes state after next operations. All engines give the same results and states.
+     *
+     * @param engine {@link CalculationEngine} to use.
+     */
+    public void setEngine(CalculationEngine engine) {
+        this.engine = engine;
+    }
+
+    public boolean isDivergenceReported() {
+        return isDivergenceReported;
+    }
+
+    /**
+     * Sets whether results calculated in {@code CalculationMode.APPROXIMATE} should be compared with results
+     * calculated in {@code CalculationMode.DECIMAL}. Comparing requires calculating decimal result, so approximate
+     * operations become as slow as decimal ones.
+     *
+     * @param isDivergenceReported true if results should be compared or false otherwise.
+     */
+    public void setDivergenceReported(boolean isDivergenceReported) {
+        this.isDivergenceReported = isDivergenceReported;
+    }
+
+    /**
+     * Checks whether result of last operation calculated in {@code CalculationMode.APPROXIMATE} differs from result
+     * calculated in {@code CalculationMode.DECIMAL} in digits shown on screen. Results are compared only if
+     * divergence is reported, but result which is out of range of {@code double} and was calculated as decimal one is
+     * always divergent.
+     *
+     * @return true if displayed digits of results differ, decimal result can not be calculated or result could not be
+     * calculated using {@code double} numbers, false otherwise.
+     * @see #setDivergenceReported(boolean)
+     */
+    public boolean isResultDivergent() {
+        return isResultDivergent;
+    }
+
     public void setFirst(BigDecimal first) {
-        this.first = first;
+        assignFirst(first, CompactDecimal.unscaledOf(first), null, null);
     }
 
     public BigDecimal getFirst() {
         return first;
     }
 
+    /**
+     * Returns exact value of first number.
+     * <p>
+     * In {@code CalculationMode.RATIONAL} it is the exact result of previous operations, while {@link #getFirst()}
+     * returns its decimal image.
+     *
+     * @return exact value of first number.
+     */
+    public Fraction getFirstFraction() {
+        return firstFraction == null ? Fraction.valueOf(expansionOf(first, firstQuotient)) : firstFraction;
+    }
+
+    /**
+     * Expands number which was returned as result of operation or is set as first or second number to the digit
+     * limit, e.g. for saving it in memory or exporting it.
+     * <p>
+     * In {@code CalculationMode.DECIMAL} results of division are calculated only to the digits shown on screen and
+     * guard digits, see {@link Quotient}. If number is such result and it is still set as first or second number,
+     * the rest of its digits are calculated now, otherwise number is returned as is.
+     *
+     * @param number number to expand.
+     * @return number expanded to the digit limit.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal expand(BigDecimal number) {
+        if (number == first) {
+            return expansionOf(first, firstQuotient);
+        }
+
+        if (number == second) {
+            return expansionOf(second, secondQuotient);
+        }
+
+        return number;
+    }
+
+    /**
+     * Returns approximate amount of bytes taken by digits of numbers of calculation. Numbers which fit in {@code long}
+     * take nothing. Weight is updated whenever number is assigned, so it is returned without calculations. Quotient
+     * weighs as much as if it was already expanded, so weight does not change when it is expanded.
+     * <p>
+     * Exact value of result of last operation is not counted, as it is always assigned to first or second number.
+     *
+     * @return weight of calculation's numbers.
+     */
+    public long getWeight() {
+        return firstWeight + secondWeight;
+    }
+
     public void setSecond(BigDecimal second) {
-        this.second = second;
+        assignSecond(second, CompactDecimal.unscaledOf(second), null, null);
         isSecondSet = true;
     }
 
+    /**
+     * Returns snapshot of state of calculation. Snapshot is immutable and shares numbers with calculation, so it takes
+     * constant amount of memory.
+     *
+     * @return current {@link CalculationState}.
+     */
+    public CalculationState snapshot() {
+        return new CalculationState(first, firstUnscaled, firstFraction, firstQuotient, second, secondUnscaled,
+                secondFraction, secondQuotient, resultFraction, resultQuotient, binaryOperation, isSecondSet,
+                unaryOnFirst, previousEquals, isResultDivergent);
+    }
+
+    /**
+     * Replaces state of calculation with snapshot taken before. Settings of calculation stay the same.
+     *
+     * @param state {@link CalculationState} to restore.
+     */
+    public void restore(CalculationState state) {
+        assignFirst(state.getFirst(), state.getFirstUnscaled(), state.getFirstFraction(), state.getFirstQuotient());
+        assignSecond(state.getSecond(), state.getSecondUnscaled(), state.getSecondFraction(),
+                state.getSecondQuotient());
+        resultFraction = state.getResultFraction();
+        resultQuotient = state.getResultQuotient();
+        binaryOperation = state.getBinaryOperationId();
+        isSecondSet = state.isSecondSet();
+        unaryOnFirst = state.isUnaryOnFirst();
+        previousEquals = state.isPreviousEquals();
+        isResultDivergent = state.isResultDivergent();
+    }
+
+    /**
+     * Creates independent branch of calculation, which starts from the same state and settings.
+     * <p>
+     * Numbers are immutable, so branch shares them with calculation and copies only references, and each of them
+     * changes its own state later. {@link ResultCache}, {@link NumberInterner} and {@link CancellationToken} are
+     * shared too, as they are thread-safe. Calculation is not thread-safe itself, but different branches can be used
+     * concurrently on different threads.
+     *
+     * @return new {@code Calculation} with the same state and settings.
+     */
+    public Calculation fork() {
+        Calculation branch = new Calculation();
+
+        branch.copySettings(this);
+        branch.restore(snapshot());
+
+        return branch;
+    }
+
+    /**
+     * Brings calculation to the state of new one with settings of prototype, so it can be reused instead of creating
+     * new calculation. Buffers of calculation, such as {@link Operands}, are kept, but they are cleared together with
+     * the last root cached by {@link SquareRoot}, so numbers of previous calculations are neither kept alive nor
+     * reused.
+     *
+     * @param prototype {@code Calculation} which settings are copied.
+     */
+    void recycle(Calculation prototype) {
+        resetAll();
+        resultFraction = null;
+        resultQuotient = null;
+        isResultDivergent = false;
+        squareRoot.clear();
+        operands.clear();
+        copySettings(prototype);
+    }
+
     /**
      * Resets all fields to theirs primary state.
      */
     public void resetAll() {
-        first = BigDecimal.ZERO;
-        second = BigDecimal.ZERO;
-        binaryOperation = null;
+        assignFirst(BigDecimal.ZERO, 0, Fraction.ZERO, null);
+        assignSecond(BigDecimal.ZERO, 0, Fraction.ZERO, null);
+        binaryOperation = NO_OPERATION;
         isSecondSet = false;
         unaryOnFirst = false;
         previousEquals = false;
     }
 
-    /**
-     * Sets number as first or second and performs operation. Operations can be made with first number, second or
-     * between both of them. Does not support priority.
-     *
-     * @param operation operation to use.
-     * @return result of operation.
-     * @throws OverflowException         if overflow validation failed.
-     * @throws DivideZeroByZeroException if trying to divide zero by zero.
-     * @throws DivideByZeroException     if trying to divide by zero.
-     * @throws NegativeRootException     if trying to calculate negative root.
-     */
-    public BigDecimal doOperation(Operation operation) throws DivideByZeroException, OverflowException,
-            NegativeRootException, DivideZeroByZeroException {
-        return calculate(operation);
+    /**
+     * Sets number as first or second and performs operation. Operations can be made with first number, second or
+     * between both of them. Does not support priority.
+     * <p>
+     * In {@code CalculationMode.RATIONAL} returns decimal image of exact result, which can be used for displaying.
+     *
+     * @param operation operation to use.
+     * @return result of operation.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if operation was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal doOperation(Operation operation) throws DivideByZeroException, OverflowException,
+            NegativeRootException, DivideZeroByZeroException {
+        return calculate(OperationRegistry.idOf(operation));
+    }
+
+    /**
+     * Sets number as first or second and performs operation. Operations can be made with first number, second or
+     * between both of them. Does not support priority.
+     *
+     * @param operation operation to use.
+     * @param number    number to set as first or second.
+     * @return result of operation.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if operation was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal doOperation(Operation operation, BigDecimal number) throws DivideByZeroException, OverflowException,
+            NegativeRootException, DivideZeroByZeroException {
+        return calculate(OperationRegistry.idOf(operation), number);
+    }
+
+    /**
+     * Sets numbers as first and second and performs operation. Operations can be made with first number, second or
+     * between both of them. Does not support priority.
+     *
+     * @param operation operation to use.
+     * @return result of operation.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if operation was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal doOperation(Operation operation, BigDecimal first, BigDecimal second) throws DivideByZeroException,
+            OverflowException, NegativeRootException, DivideZeroByZeroException {
+        return calculate(OperationRegistry.idOf(operation), first, second);
+    }
+
+    /**
+     * Performs operation as {@link #doOperation(Operation)} does, but returns errors as status of result instead of
+     * throwing exceptions.
+     *
+     * @param operation operation to use.
+     * @return {@link CalculationResult} of operation.
+     */
+    public CalculationResult tryOperation(Operation operation) {
+        return tryCalculate(OperationRegistry.idOf(operation));
+    }
+
+    /**
+     * Performs operation as {@link #doOperation(Operation, BigDecimal)} does, but returns errors as status of result
+     * instead of throwing exceptions.
+     *
+     * @param operation operation to use.
+     * @param number    number to set as first or second.
+     * @return {@link CalculationResult} of operation.
+     */
+    public CalculationResult tryOperation(Operation operation, BigDecimal number) {
+        return tryCalculate(OperationRegistry.idOf(operation), number);
+    }
+
+    /**
+     * Performs operation as {@link #doOperation(Operation, BigDecimal, BigDecimal)} does, but returns errors as status
+     * of result instead of throwing exceptions.
+     *
+     * @param operation operation to use.
+     * @param first     number to set as first.
+     * @param second    number to set as second.
+     * @return {@link CalculationResult} of operation.
+     */
+    public CalculationResult tryOperation(Operation operation, BigDecimal first, BigDecimal second) {
+        return tryCalculate(OperationRegistry.idOf(operation), first, second);
+    }
+
+    /**
+     * Performs operation registered in {@link OperationRegistry} of calculation as {@link #doOperation(Operation)}
+     * does.
+     *
+     * @param operationId id of operation to use.
+     * @return result of operation.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if operation was cancelled by {@link CancellationToken}.
+     * @throws IllegalArgumentException  if there is no operation with the id.
+     */
+    public BigDecimal doOperation(int operationId) throws DivideByZeroException, OverflowException,
+            NegativeRootException, DivideZeroByZeroException {
+        return calculate(operationId);
+    }
+
+    /**
+     * Performs operation registered in {@link OperationRegistry} of calculation as
+     * {@link #doOperation(Operation, BigDecimal)} does.
+     *
+     * @param operationId id of operation to use.
+     * @param number      number to set as first or second.
+     * @return result of operation.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if operation was cancelled by {@link CancellationToken}.
+     * @throws IllegalArgumentException  if there is no operation with the id.
+     */
+    public BigDecimal doOperation(int operationId, BigDecimal number) throws DivideByZeroException,
+            OverflowException, NegativeRootException, DivideZeroByZeroException {
+        return calculate(operationId, number);
+    }
+
+    /**
+     * Performs operation registered in {@link OperationRegistry} of calculation as {@link #tryOperation(Operation)}
+     * does.
+     *
+     * @param operationId id of operation to use.
+     * @return {@link CalculationResult} of operation.
+     * @throws IllegalArgumentException if there is no operation with the id.
+     */
+    public CalculationResult tryOperation(int operationId) {
+        return tryCalculate(operationId);
+    }
+
+    /**
+     * Performs operation registered in {@link OperationRegistry} of calculation as
+     * {@link #tryOperation(Operation, BigDecimal)} does.
+     *
+     * @param operationId id of operation to use.
+     * @param number      number to set as first or second.
+     * @return {@link CalculationResult} of operation.
+     * @throws IllegalArgumentException if there is no operation with the id.
+     */
+    public CalculationResult tryOperation(int operationId, BigDecimal number) {
+        return tryCalculate(operationId, number);
+    }
+
+    /**
+     * Performs {@code Operation.EQUALS} several times. Result and state are the same as after performing it one by one,
+     * including the repetition where overflow validation fails. If repetitions are cancelled, state is rolled back to
+     * the state before the first of them.
+     * <p>
+     * In {@code CalculationMode.DECIMAL} repetitions after the first one are calculated at once: adding and
+     * subtracting by one multiplying, multiplying by exponentiation by squaring. Dividing is calculated as multiplying
+     * on inverse number only if inverse number is finite, divisor fits in {@code long} and results keep in
+     * {@code StandardOperation.DIVIDE_SCALE}, otherwise each repetition is rounded and has to be performed separately.
+     *
+     * @param times amount of repetitions.
+     * @return result of the last repetition.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if repetitions were cancelled by {@link CancellationToken}.
+     * @throws IllegalArgumentException  if amount of repetitions is not positive.
+     */
+    public BigDecimal repeatEquals(int times) throws DivideByZeroException, OverflowException, NegativeRootException,
+            DivideZeroByZeroException {
+        if (times <= 0) {
+            throw new IllegalArgumentException("Expected: positive amount of repetitions. Got: " + times);
+        }
+
+        if (cancellationToken == null) {
+            return repeat(times);
+        }
+
+        CancellationToken.check(cancellationToken);
+        CalculationState state = snapshot();
+
+        try {
+            return repeat(times);
+        } catch (CancelledException e) {
+            restore(state);
+            throw e;
+        }
+    }
+
+    /**
+     * Performs {@code Operation.EQUALS} several times.
+     *
+     * @param times positive amount of repetitions.
+     * @return result of the last repetition.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if repetitions were cancelled by {@link CancellationToken}.
+     */
+    private BigDecimal repeat(int times) throws DivideByZeroException, OverflowException, NegativeRootException,
+            DivideZeroByZeroException {
+        performOperation(EQUALS_ID);
+        int remaining = times - 1;
+
+        if (remaining != 0 && (mode != CalculationMode.DECIMAL || !isSecondSet ||
+                binaryOperation == NO_OPERATION || digitLimit != OverflowValidation.DEFAULT_DIGIT_LIMIT ||
+                !repeatBinary(remaining))) {
+
+            for (int i = 0; i < remaining; i++) {
+                CancellationToken.check(cancellationToken);
+                performOperation(EQUALS_ID);
+            }
+        }
+
+        return first;
+    }
+
+    /**
+     * Repeats binary operation between first and second numbers without performing each repetition and sets the last
+     * valid result as first number. Only {@link StandardOperation} implementations of adding, subtracting, multiplying
+     * and dividing are repeated at once.
+     *
+     * @param times amount of repetitions.
+     * @return false if repetitions can not be calculated at once, true otherwise.
+     * @throws OverflowException if overflow validation failed for one of repetitions.
+     */
+    private boolean repeatBinary(int times) throws OverflowException {
+        CalculatorOperation operation = operationRegistry.get(binaryOperation);
+
+        if (operation != StandardOperation.ADD && operation != StandardOperation.SUBTRACT &&
+                operation != StandardOperation.MULTIPLY && operation != StandardOperation.DIVIDE) {
+            return false;
+        }
+
+        BigDecimal first = expansionOf(this.first, firstQuotient);
+        BigDecimal second = expansionOf(this.second, secondQuotient);
+        BigDecimal result;
+        int failed;
+
+        if (operation == StandardOperation.ADD || operation == StandardOperation.SUBTRACT) {
+            BigDecimal addend = operation == StandardOperation.ADD ? second : second.negate();
+
+            failed = RepeatedOperation.firstFailedSumStep(first, addend, times);
+            result = RepeatedOperation.sum(first, addend, failed == 0 ? times : failed - 1);
+        } else {
+            BigDecimal factor = second;
+
+            if (operation == StandardOperation.DIVIDE) {
+                factor = second.signum() == 0 ? null : DecimalExpansion.finiteInverse(second);
+
+                //quotients by other divisors are not checked for finite expansion, so they are kept as images
+                if (factor == null || CompactDecimal.unscaledOf(Normalization.normalize(second)) == INFLATED) {
+                    return false;
+                }
+            }
+
+            failed = RepeatedOperation.firstFailedProductStep(first, factor, times);
+            int done = failed == 0 ? times : failed - 1;
+            result = RepeatedOperation.product(first, factor, done);
+
+            //scale of results is convex, so it is the greatest for the first or the last repetition
+            if (operation == StandardOperation.DIVIDE && (result.scale() > StandardOperation.DIVIDE_SCALE ||
+                    RepeatedOperation.product(first, factor, 1).scale() > StandardOperation.DIVIDE_SCALE)) {
+                return false;
+            }
+        }
+
+        assignFirst(result, CompactDecimal.unscaledOf(result), null, null);
+
+        if (failed != 0) {
+            throw OverflowException.INSTANCE;
+        }
+
+        return true;
     }
 
     /**
-     * Sets number as first or second and performs operation. Operations can be made with first number, second or
-     * between both of them. Does not support priority.
+     * Copies settings of another calculation.
      *
-     * @param operation operation to use.
-     * @param number    number to set as first or second.
-     * @return result of operation.
-     * @throws OverflowException         if overflow validation failed.
-     * @throws DivideZeroByZeroException if trying to divide zero by zero.
-     * @throws DivideByZeroException     if trying to divide by zero.
-     * @throws NegativeRootException     if trying to calculate negative root.
+     * @param source {@code Calculation} which settings are copied.
      */
-    public BigDecimal doOperation(Operation operation, BigDecimal number) throws DivideByZeroException, OverflowException,
-            NegativeRootException, DivideZeroByZeroException {
-        return calculate(operation, number);
+    private void copySettings(Calculation source) {
+        mode = source.mode;
+        sqrtPrecision = source.sqrtPrecision;
+        digitLimit = source.digitLimit;
+        operationRegistry = source.operationRegistry;
+        resultCache = source.resultCache;
+        interner = source.interner;
+        cancellationToken = source.cancellationToken;
+        engine = source.engine;
+        isDivergenceReported = source.isDivergenceReported;
     }
 
     /**
-     * Sets numbers as first and second and performs operation. Operations can be made with first number, second or
-     * between both of them. Does not support priority.
+     * Performs operation and rolls back state if operation was cancelled.
      *
-     * @param operation operation to use.
+     * @param operation id of operation to use.
+     * @param numbers   numbers to set as first and/or second.
      * @return result of operation.
      * @throws OverflowException         if overflow validation failed.
      * @throws DivideZeroByZeroException if trying to divide zero by zero.
      * @throws DivideByZeroException     if trying to divide by zero.
      * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws CancelledException        if operation was cancelled by {@link CancellationToken}.
+     * @throws IllegalArgumentException  if there is no operation with the id.
      */
-    public BigDecimal doOperation(Operation operation, BigDecimal first, BigDecimal second) throws DivideByZeroException,
-            OverflowException, NegativeRootException, DivideZeroByZeroException {
-        return calculate(operation, first, second);
+    private BigDecimal calculate(int operation, BigDecimal... numbers) throws OverflowException,
+            DivideZeroByZeroException, DivideByZeroException, NegativeRootException {
+        if (cancellationToken == null) {
+            return performOperation(operation, numbers);
+        }
+
+        CancellationToken.check(cancellationToken);
+        CalculationState state = snapshot();
+
+        try {
+            return performOperation(operation, numbers);
+        } catch (CancelledException e) {
+            restore(state);
+            throw e;
+        }
     }
 
     /**
      * Performs operation. Operations can be made with first number, second or between both of them. Does not support
      * priority.
      *
-     * @param operation operation to use.
+     * @param operation id of operation to use.
      * @param numbers   numbers to set as first and/or second.
      * @return result of operation.
      * @throws OverflowException         if overflow validation failed.
      * @throws DivideZeroByZeroException if trying to divide zero by zero.
      * @throws DivideByZeroException     if trying to divide by zero.
      * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws IllegalArgumentException  if there is no operation with the id.
      */
-    private BigDecimal calculate(Operation operation, BigDecimal... numbers) throws OverflowException,
+    private BigDecimal performOperation(int operation, BigDecimal... numbers) throws OverflowException,
             DivideZeroByZeroException, DivideByZeroException, NegativeRootException {
+        OperationType type = operationRegistry.get(operation).getType();
+
         if (numbers.length == 1) {
 
-            if (operation.type == OperationType.BINARY) {
-                second = numbers[0];
-                isSecondSet = true;
-                binaryOperation = null;
+            if (type == OperationType.BINARY) {
+                setSecond(numbers[0]);
+                binaryOperation = NO_OPERATION;
             } else {
-                first = numbers[0];
+                setFirst(numbers[0]);
             }
         }
 
         if (numbers.length == 2) {
-            first = numbers[0];
-            second = numbers[1];
-            isSecondSet = true;
+            setFirst(numbers[0]);
+            setSecond(numbers[1]);
         }
 
         BigDecimal result;
 
-        if (!isSecondSet) {
-            result = operationWithoutSecond(operation);
+        if (engine == CalculationEngine.TABLE) {
+            result = transit(operation, type);
+        } else if (!isSecondSet) {
+            result = operationWithoutSecond(operation, type);
         } else {
-            result = operationWithSecond(operation);
+            result = operationWithSecond(operation, type);
         }
 
         if (numbers.length == 2) {
@@ -212,50 +960,187 @@ public class Calculation {
     }
 
     /**
-     * Performs operation if second number is not set.
+     * Performs operation and converts thrown exception to status of result. Exceptions are shared and have no stack
+     * trace, so failed operation does not allocate anything.
      *
-     * @param operation operation to use.
+     * @param operation id of operation to use.
+     * @param numbers   numbers to set as first and/or second.
+     * @return {@link CalculationResult} of operation.
+     * @throws IllegalArgumentException if there is no operation with the id.
+     */
+    private CalculationResult tryCalculate(int operation, BigDecimal... numbers) {
+        try {
+            return CalculationResult.ok(calculate(operation, numbers));
+        } catch (OverflowException e) {
+            return CalculationResult.OVERFLOW;
+        } catch (DivideByZeroException e) {
+            return CalculationResult.DIVIDE_BY_ZERO;
+        } catch (DivideZeroByZeroException e) {
+            return CalculationResult.DIVIDE_ZERO_BY_ZERO;
+        } catch (NegativeRootException e) {
+            return CalculationResult.NEGATIVE_ROOT;
+        } catch (CancelledException e) {
+            return CalculationResult.CANCELLED;
+        }
+    }
+
+    /**
+     * Performs operation using transition from {@code TRANSITIONS}.
+     *
+     * @param operation id of operation to use.
+     * @param type      {@link OperationType} of operation.
+     * @return result of operation.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    private BigDecimal transit(int operation, OperationType type) throws OverflowException, DivideZeroByZeroException,
+            DivideByZeroException, NegativeRootException {
+        int state = (isSecondSet ? SECOND_SET_BIT : 0) | (unaryOnFirst ? UNARY_ON_FIRST_BIT : 0) |
+                (previousEquals ? PREVIOUS_EQUALS_BIT : 0) |
+                (binaryOperation != NO_OPERATION ? BINARY_OPERATION_BIT : 0);
+        Transition transition = TRANSITIONS[transitionIndex(state, type)];
+
+        BigDecimal result = perform(transition.action, operation);
+
+        state = state & ~transition.clearBits | transition.setBits;
+        isSecondSet = (state & SECOND_SET_BIT) != 0;
+        unaryOnFirst = (state & UNARY_ON_FIRST_BIT) != 0;
+        previousEquals = (state & PREVIOUS_EQUALS_BIT) != 0;
+
+        return result;
+    }
+
+    /**
+     * Performs action of transition. Flags of state are changed by transition after successful action.
+     *
+     * @param action    {@link Action} to perform.
+     * @param operation id of operation to use.
      * @return result of operation.
      * @throws OverflowException         if overflow validation failed.
      * @throws DivideZeroByZeroException if trying to divide zero by zero.
      * @throws DivideByZeroException     if trying to divide by zero.
      * @throws NegativeRootException     if trying to calculate negative root.
      */
-    private BigDecimal operationWithoutSecond(Operation operation) throws OverflowException, DivideZeroByZeroException,
+    private BigDecimal perform(Action action, int operation) throws OverflowException, DivideZeroByZeroException,
             DivideByZeroException, NegativeRootException {
+        BigDecimal result;
+
+        switch (action) {
+            case UNARY_FIRST_TO_FIRST:
+                result = calculateUnary(first, firstUnscaled, firstFraction, firstQuotient, operation);
+                resultToFirst(result);
+
+                return result;
+            case UNARY_FIRST_TO_SECOND:
+                result = calculateUnary(first, firstUnscaled, firstFraction, firstQuotient, operation);
+                resultToSecond(result);
+
+                return result;
+            case UNARY_SECOND_TO_SECOND:
+                result = calculateUnary(second, secondUnscaled, secondFraction, secondQuotient, operation);
+                resultToSecond(result);
+
+                return result;
+            case SET_OPERATION:
+                binaryOperation = operation;
+
+                return first;
+            case FIRST_TO_SECOND_SET_OPERATION:
+                assignSecond(first, firstUnscaled, firstFraction, firstQuotient);
+                binaryOperation = operation;
+
+                return first;
+            case CALCULATE_SET_OPERATION:
+                result = calculateBinary();
+                resultToFirst(result);
+                binaryOperation = operation;
+
+                return result;
+            case SET_OPERATION_CALCULATE:
+                binaryOperation = operation;
+                result = calculateBinary();
+                resultToFirst(result);
+
+                return result;
+            case PERCENT_FIRST_TO_SECOND:
+                result = calculatePercentage(first, firstUnscaled, firstFraction, firstQuotient, operation);
+                resultToSecond(result);
+
+                return result;
+            case PERCENT_SECOND_TO_SECOND:
+                result = calculatePercentage(second, secondUnscaled, secondFraction, secondQuotient, operation);
+                resultToSecond(result);
+
+                return result;
+            case PERCENT_WITHOUT_OPERATION:
+                return calculatePercentage(first, firstUnscaled, firstFraction, firstQuotient, operation);
+            case FIRST_TO_SECOND_CALCULATE:
+                assignSecond(first, firstUnscaled, firstFraction, firstQuotient);
+
+                //second number stays set if calculation fails, as it does for CalculationEngine.BRANCHING
+                isSecondSet = true;
+                result = calculateBinary();
+                resultToFirst(result);
+
+                return result;
+            case CALCULATE:
+                result = calculateBinary();
+                resultToFirst(result);
+
+                return result;
+            default:
+                return first;
+        }
+    }
+
+    /**
+     * Performs operation if second number is not set.
+     *
+     * @param operation id of operation to use.
+     * @param type      {@link OperationType} of operation.
+     * @return result of operation.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    private BigDecimal operationWithoutSecond(int operation, OperationType type) throws OverflowException,
+            DivideZeroByZeroException, DivideByZeroException, NegativeRootException {
         BigDecimal result = BigDecimal.ZERO;
 
-        if (operation.type == OperationType.UNARY) {
-            result = calculateUnary(first, operation);
+        if (type == OperationType.UNARY) {
+            result = calculateUnary(first, firstUnscaled, firstFraction, firstQuotient, operation);
 
-            if (binaryOperation != null) {
-                second = result;
+            if (binaryOperation != NO_OPERATION) {
+                resultToSecond(result);
                 isSecondSet = true;
             } else {
-                first = result;
+                resultToFirst(result);
             }
 
             previousEquals = false;
-        } else if (operation.type == OperationType.BINARY) {
+        } else if (type == OperationType.BINARY) {
             result = first;
             binaryOperation = operation;
             previousEquals = false;
-        } else if (operation.type == OperationType.PERCENT) {
-            result = calculatePercentage(first);
+        } else if (type == OperationType.PERCENT) {
+            result = calculatePercentage(first, firstUnscaled, firstFraction, firstQuotient, operation);
 
-            if (binaryOperation != null) {
-                second = result;
+            if (binaryOperation != NO_OPERATION) {
+                resultToSecond(result);
                 isSecondSet = true;
             }
 
             previousEquals = false;
-        } else if (operation.type == OperationType.EQUALS) {
+        } else if (type == OperationType.EQUALS) {
 
-            if (binaryOperation != null) {
-                second = first;
+            if (binaryOperation != NO_OPERATION) {
+                assignSecond(first, firstUnscaled, firstFraction, firstQuotient);
                 isSecondSet = true;
                 result = calculateBinary();
-                first = result;
+                resultToFirst(result);
             } else {
                 result = first;
             }
@@ -269,58 +1154,59 @@ public class Calculation {
     /**
      * Performs operation if second number is set.
      *
-     * @param operation operation to use.
+     * @param operation id of operation to use.
+     * @param type      {@link OperationType} of operation.
      * @return result of operation.
      * @throws OverflowException         if overflow validation failed.
      * @throws DivideZeroByZeroException if trying to divide zero by zero.
      * @throws DivideByZeroException     if trying to divide by zero.
      * @throws NegativeRootException     if trying to calculate negative root.
      */
-    private BigDecimal operationWithSecond(Operation operation) throws OverflowException, DivideByZeroException,
-            NegativeRootException, DivideZeroByZeroException {
+    private BigDecimal operationWithSecond(int operation, OperationType type) throws OverflowException,
+            DivideByZeroException, NegativeRootException, DivideZeroByZeroException {
         BigDecimal result = BigDecimal.ZERO;
 
-        if (operation.type == OperationType.UNARY) {
+        if (type == OperationType.UNARY) {
 
             if (unaryOnFirst) {
-                result = calculateUnary(first, operation);
-                first = result;
+                result = calculateUnary(first, firstUnscaled, firstFraction, firstQuotient, operation);
+                resultToFirst(result);
             } else {
-                result = calculateUnary(second, operation);
-                second = result;
+                result = calculateUnary(second, secondUnscaled, secondFraction, secondQuotient, operation);
+                resultToSecond(result);
             }
 
             previousEquals = false;
-        } else if (operation.type == OperationType.BINARY) {
+        } else if (type == OperationType.BINARY) {
 
-            if (binaryOperation == null) {
+            if (binaryOperation == NO_OPERATION) {
                 binaryOperation = operation;
             }
 
             if (previousEquals) {
                 result = first;
-                second = first;
+                assignSecond(first, firstUnscaled, firstFraction, firstQuotient);
             } else {
                 result = calculateBinary();
-                first = result;
+                resultToFirst(result);
             }
 
             binaryOperation = operation;
             previousEquals = false;
             unaryOnFirst = false;
-        } else if (operation.type == OperationType.PERCENT) {
+        } else if (type == OperationType.PERCENT) {
 
             if (unaryOnFirst) {
-                result = calculatePercentage(first);
+                result = calculatePercentage(first, firstUnscaled, firstFraction, firstQuotient, operation);
             } else {
-                result = calculatePercentage(second);
+                result = calculatePercentage(second, secondUnscaled, secondFraction, secondQuotient, operation);
             }
 
-            second = result;
+            resultToSecond(result);
             previousEquals = false;
-        } else if (operation.type == OperationType.EQUALS) {
+        } else if (type == OperationType.EQUALS) {
             result = calculateBinary();
-            first = result;
+            resultToFirst(result);
             unaryOnFirst = true;
             previousEquals = true;
         }
@@ -329,64 +1215,60 @@ public class Calculation {
     }
 
     /**
-     * Calculates result using first value, {@link Operation} and second value.
+     * Calculates result using first value, binary operation and second value.
      *
      * @return result of operation.
      * @throws OverflowException         while validation for result is failed.
      * @throws DivideByZeroException     if trying to divide by zero.
      * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws NegativeRootException     if registered operation calculated negative root.
      */
-    private BigDecimal calculateBinary() throws OverflowException, DivideByZeroException, DivideZeroByZeroException {
-        BigDecimal result = BigDecimal.ZERO;
-
-        if (binaryOperation == Operation.ADD) {
-            result = add();
-        } else if (binaryOperation == Operation.SUBTRACT) {
-            result = subtract();
-        } else if (binaryOperation == Operation.MULTIPLY) {
-            result = multiply();
-        } else if (binaryOperation == Operation.DIVIDE) {
-            result = divide();
-        }
-
-        result = result.stripTrailingZeros();
-
-        if (OverflowValidation.overflowValidationFailed(result, binaryOperation == Operation.DIVIDE,
-                first)) {
-            throw new OverflowException();
-        }
+    private BigDecimal calculateBinary() throws OverflowException, DivideByZeroException, DivideZeroByZeroException,
+            NegativeRootException {
+        setOperands();
 
-        return result;
+        return evaluate(operationRegistry.get(EQUALS_ID), binaryOperation == DIVIDE_ID);
     }
 
     /**
-     * Calculates result using first value and {@link Operation}.
+     * Calculates result using first value and unary operation. Only results of {@link StandardOperation}
+     * implementations are cached.
      *
      * @param number         number to work with.
-     * @param unaryOperation operation to perform.
+     * @param unscaled       unscaled value of number or {@code CompactDecimal.INFLATED} if it does not fit in
+     *                       {@code long}.
+     * @param fraction       exact value of number or null if it should be obtained from decimal number.
+     * @param quotient       quotient which number is image of or null if number is already expanded.
+     * @param unaryOperation id of operation to perform.
      * @return result of operation.
-     * @throws OverflowException     while validation for result is failed.
-     * @throws NegativeRootException if trying to divide inverse zero.
-     * @throws DivideByZeroException if trying to divide inverse zero.
+     * @throws OverflowException         while validation for result is failed.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     * @throws DivideByZeroException     if trying to divide inverse zero.
+     * @throws DivideZeroByZeroException if registered operation divided zero by zero.
      */
-    private BigDecimal calculateUnary(BigDecimal number, Operation unaryOperation) throws OverflowException,
-            NegativeRootException, DivideByZeroException {
-        BigDecimal result = BigDecimal.ZERO;
-
-        if (unaryOperation == Operation.NEGATE) {
-            result = negate(number);
-        } else if (unaryOperation == Operation.SQR) {
-            result = sqr(number);
-        } else if (unaryOperation == Operation.SQRT) {
-            result = sqrt(number);
-        } else if (unaryOperation == Operation.INVERSE) {
-            result = inverse(number);
+    private BigDecimal calculateUnary(BigDecimal number, long unscaled, Fraction fraction, Quotient quotient,
+                                      int unaryOperation) throws OverflowException, NegativeRootException,
+            DivideByZeroException, DivideZeroByZeroException {
+        setOperands();
+        operands.setNumber(number, unscaled, fraction, quotient);
+
+        CalculatorOperation operation = operationRegistry.get(unaryOperation);
+        boolean isCached = isCacheUsed() && quotient == null && operation instanceof StandardOperation &&
+                operation != StandardOperation.NEGATE;
+        int precision = operation == StandardOperation.SQRT ? sqrtPrecision : 0;
+
+        if (isCached) {
+            BigDecimal cachedResult = cachedResult(operation, number, null, precision);
+
+            if (cachedResult != null) {
+                return cachedResult;
+            }
         }
 
-        result = result.stripTrailingZeros();
+        BigDecimal result = evaluate(operation, false);
 
-        if (OverflowValidation.overflowValidationFailed(result, false, first)) {
-            throw new OverflowException();
+        if (isCached && resultQuotient == null) {
+            resultCache.put(operation, number, null, precision, result);
         }
 
         return result;
@@ -395,218 +1277,580 @@ public class Calculation {
     /**
      * Calculates second number as a percentage of first number if current {@code BinaryOperation} is
      * {@code BinaryOperation.ADD} or {@code BinaryOperation.SUBTRACT}, or as a percentage of 100 if current
-     * {@code BinaryOperation} is {@code BinaryOperation.MULTIPLY} or {@code BinaryOperation.DIVIDE}
+     * {@code BinaryOperation} is {@code BinaryOperation.MULTIPLY} or {@code BinaryOperation.DIVIDE}. Resets calculation
+     * if binary operation is not set. Only results of {@code StandardOperation.PERCENT} are cached.
      *
-     * @param number number to perform operation.
+     * @param number           number to perform operation.
+     * @param unscaled         unscaled value of number or {@code CompactDecimal.INFLATED} if it does not fit in
+     *                         {@code long}.
+     * @param fraction         exact value of number or null if it should be obtained from decimal number.
+     * @param quotient         quotient which number is image of or null if number is already expanded.
+     * @param percentOperation id of operation to perform.
      * @return result of operation.
-     * @throws OverflowException while validation for result is failed.
+     * @throws OverflowException         while validation for result is failed.
+     * @throws DivideByZeroException     if registered operation divided by zero.
+     * @throws DivideZeroByZeroException if registered operation divided zero by zero.
+     * @throws NegativeRootException     if registered operation calculated negative root.
      */
-    private BigDecimal calculatePercentage(BigDecimal number) throws OverflowException {
-        BigDecimal result = BigDecimal.ZERO;
-
-        if (binaryOperation == null) {
+    private BigDecimal calculatePercentage(BigDecimal number, long unscaled, Fraction fraction, Quotient quotient,
+                                           int percentOperation) throws OverflowException, DivideByZeroException,
+            DivideZeroByZeroException, NegativeRootException {
+        if (binaryOperation == NO_OPERATION) {
             resetAll();
-        } else if (binaryOperation == Operation.ADD || binaryOperation == Operation.SUBTRACT) {
-            result = percentageOfFirst(number);
-        } else if (binaryOperation == Operation.MULTIPLY || binaryOperation == Operation.DIVIDE) {
-            result = percentageOf100(number);
+            operands.setResult(0, true);
+            resultFraction = null;
+            resultQuotient = null;
+
+            return BigDecimal.ZERO;
+        }
+
+        setOperands();
+        operands.setNumber(number, unscaled, fraction, quotient);
+
+        CalculatorOperation operation = operationRegistry.get(percentOperation);
+        BigDecimal base = StandardOperation.isPercentageOfFirst(operands) ? first : null;
+        boolean isCached = isCacheUsed() && quotient == null && operation == StandardOperation.PERCENT &&
+                (base == null || firstQuotient == null);
+
+        if (isCached) {
+            BigDecimal cachedResult = cachedResult(operation, number, base, 0);
+
+            if (cachedResult != null) {
+                return cachedResult;
+            }
         }
 
-        result = result.stripTrailingZeros();
+        BigDecimal result = evaluate(operation, false);
 
-        if (OverflowValidation.overflowValidationFailed(result, false, first)) {
-            throw new OverflowException();
+        if (isCached && resultQuotient == null) {
+            resultCache.put(operation, number, base, 0, result);
         }
 
         return result;
     }
 
     /**
-     * Adds first number to second.
+     * Performs operation with {@code operands} in current mode and validates result.
      *
-     * @return result of adding two numbers.
+     * @param operation {@link CalculatorOperation} to perform.
+     * @param divide    true if operation is dividing, so zero result of non-zero dividend fails validation.
+     * @return result of operation without trailing zeros, interned if interner is set.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    private BigDecimal evaluate(CalculatorOperation operation, boolean divide) throws OverflowException,
+            DivideByZeroException, DivideZeroByZeroException, NegativeRootException {
+        if (operation.overflowValidationFailed(operands)) {
+            throw OverflowException.INSTANCE;
+        }
+
+        BigDecimal result;
+
+        if (mode == CalculationMode.RATIONAL) {
+            result = rationalResult(operation.evaluateExact(operands));
+        } else if (mode == CalculationMode.APPROXIMATE) {
+            result = approximateResult(operation, divide);
+        } else {
+            result = decimalResult(operation, divide);
+        }
+
+        return interner == null ? result : interner.intern(result);
+    }
+
+    /**
+     * Passes numbers, binary operation and settings of calculation to {@code operands}.
      */
-    private BigDecimal add() {
-        return first.add(second);
+    private void setOperands() {
+        operands.setNumbers(first, firstUnscaled, firstFraction, firstQuotient, second, secondUnscaled,
+                secondFraction, secondQuotient);
+        operands.setSettings(binaryOperation, binaryOperation == NO_OPERATION ? null :
+                operationRegistry.get(binaryOperation), sqrtPrecision, squareRoot, digitLimit, cancellationToken);
     }
 
     /**
-     * Subtracts second value from first.
+     * Performs operation with {@code operands} using decimal numbers and validates result.
+     * <p>
+     * If result is image of quotient, it is validated as quotient expanded to the digit limit: image has fewer digits,
+     * so it may fail validation while expanded quotient does not. In that case expanded quotient becomes the result.
      *
-     * @return result of subtracting one number from another.
+     * @param operation {@link CalculatorOperation} to perform.
+     * @param divide    true if operation is dividing, so zero result of non-zero dividend fails validation.
+     * @return result of operation or image of its quotient without trailing zeros.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
      */
-    private BigDecimal subtract() {
-        return first.subtract(second);
+    private BigDecimal decimalResult(CalculatorOperation operation, boolean divide) throws OverflowException,
+            DivideByZeroException, DivideZeroByZeroException, NegativeRootException {
+        BigDecimal result = operation.evaluate(operands);
+        resultFraction = null;
+        resultQuotient = operands.getResultQuotient();
+        result = stripResult(result);
+
+        if (OverflowValidation.overflowValidationFailed(result, divide, first, digitLimit)) {
+
+            if (resultQuotient == null) {
+                throw OverflowException.INSTANCE;
+            }
+
+            result = resultQuotient.expand(cancellationToken);
+            resultQuotient = null;
+            operands.setResult(CompactDecimal.unscaledOf(result), true);
+
+            if (OverflowValidation.overflowValidationFailed(result, divide, first, digitLimit)) {
+                throw OverflowException.INSTANCE;
+            }
+        }
+
+        return result;
     }
 
     /**
-     * Multiplies first number and second.
+     * Validates exact result of operation and creates its decimal image.
      *
-     * @return result of multiplying two numbers.
+     * @param fraction exact result of operation.
+     * @return decimal image of result.
+     * @throws OverflowException while validation for result is failed.
      */
-    private BigDecimal multiply() {
-        return first.multiply(second);
+    private BigDecimal rationalResult(Fraction fraction) throws OverflowException {
+        BigDecimal result = fraction.toBigDecimal(RATIONAL_IMAGE_PRECISION);
+
+        if (OverflowValidation.overflowValidationFailed(result, false, first, digitLimit)) {
+            throw OverflowException.INSTANCE;
+        }
+
+        operands.setResult(CompactDecimal.unscaledOf(result), true);
+        resultFraction = fraction;
+        resultQuotient = null;
+
+        return result;
     }
 
     /**
-     * Divides first number on second.
+     * Performs operation with {@code operands} using {@code double} numbers and validates result. Compares result with
+     * decimal result if divergence is reported.
+     * <p>
+     * If numbers or result are out of range of {@code double}, result is calculated using decimal numbers and validated
+     * by the same rules as in {@code CalculationMode.DECIMAL}, and it is reported as divergent.
      *
-     * @return result of dividing one number on another.
-     * @throws DivideByZeroException     if second number is 0.
-     * @throws DivideZeroByZeroException if first and second numbers are 0.
+     * @param operation {@link CalculatorOperation} to perform.
+     * @param divide    true if operation is dividing, so zero result of non-zero dividend fails validation.
+     * @return decimal image of result without trailing zeros.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
      */
-    private BigDecimal divide() throws DivideByZeroException, DivideZeroByZeroException {
-        if (first.compareTo(BigDecimal.ZERO) == 0 && second.compareTo(BigDecimal.ZERO) != 0) {
-            return BigDecimal.ZERO;
+    private BigDecimal approximateResult(CalculatorOperation operation, boolean divide) throws OverflowException,
+            DivideByZeroException, DivideZeroByZeroException, NegativeRootException {
+        isResultDivergent = false;
+        double approximate = operation.evaluateApproximate(operands);
+
+        if (Double.isNaN(approximate) || Double.isInfinite(approximate)) {
+            BigDecimal result = decimalResult(operation, divide);
+            isResultDivergent = true;
+
+            return result;
         }
 
-        if (second.compareTo(BigDecimal.ZERO) == 0) {
+        BigDecimal result = Normalization.normalize(BigDecimal.valueOf(approximate));
 
-            if (first.compareTo(BigDecimal.ZERO) == 0) {
-                throw new DivideZeroByZeroException();
-            }
+        if (OverflowValidation.overflowValidationFailed(result, divide, first, digitLimit)) {
+            throw OverflowException.INSTANCE;
+        }
 
-            throw new DivideByZeroException();
+        if (isDivergenceReported) {
+            isResultDivergent = isDivergent(operation, result);
         }
 
-        return first.divide(second, DIVIDE_SCALE, BigDecimal.ROUND_HALF_UP);
+        operands.setResult(CompactDecimal.unscaledOf(result), true);
+        resultFraction = null;
+        resultQuotient = null;
+
+        return result;
     }
 
     /**
-     * Calculates negated first number.
+     * Compares approximate result of operation with decimal result in digits shown on screen.
      *
-     * @param number number to perform operation.
-     * @return negated first number.
+     * @param operation   {@link CalculatorOperation} which was performed.
+     * @param approximate approximate result of operation.
+     * @return true if displayed digits of results differ or decimal result can not be calculated, false otherwise.
      */
-    private BigDecimal negate(BigDecimal number) {
-        return number.negate();
+    private boolean isDivergent(CalculatorOperation operation, BigDecimal approximate) {
+        try {
+            BigDecimal result = operation.evaluate(operands);
+
+            return result.round(DISPLAYED_DIGITS).compareTo(approximate.round(DISPLAYED_DIGITS)) != 0;
+        } catch (OverflowException | DivideByZeroException | DivideZeroByZeroException | NegativeRootException e) {
+            return true;
+        }
     }
 
     /**
-     * Calculates square of first number.
+     * Checks that results of operations should be cached.
      *
-     * @param number number to perform operation.
-     * @return square of first number.
+     * @return true if cache is set and results are calculated in {@code CalculationMode.DECIMAL} with default digit
+     * limit or false otherwise.
      */
-    private BigDecimal sqr(BigDecimal number) {
-        return number.multiply(number);
+    private boolean isCacheUsed() {
+        return resultCache != null && mode == CalculationMode.DECIMAL &&
+                digitLimit == OverflowValidation.DEFAULT_DIGIT_LIMIT;
     }
 
     /**
-     * Calculates square root of first number.
-     * <p>
-     * This method is almost copied from JDK.9 src.
-     * All additional information You can find at
-     * {@link = "https://docs.oracle.com/javase/9/docs/api/java/math/BigDecimal.html#sqrt-java.math.MathContext-"}
+     * Finds result of operation in {@code resultCache}.
      *
-     * @param number number to perform operation.
-     * @return square root of first number.
-     * @throws NegativeRootException while first value is negative.
+     * @param operation {@link CalculatorOperation} to perform.
+     * @param number    number to perform operation.
+     * @param base      number to calculate percentage of or null if operation does not use it.
+     * @param precision precision of operation or 0 if operation does not depend on it.
+     * @return cached result without trailing zeros or null if there is no such.
      */
-    private BigDecimal sqrt(BigDecimal number) throws NegativeRootException {
-        int signum = number.signum();
+    private BigDecimal cachedResult(CalculatorOperation operation, BigDecimal number, BigDecimal base, int precision) {
+        BigDecimal result = resultCache.get(operation, number, base, precision);
 
-        if (signum < 0) {
-            throw new NegativeRootException();
+        if (result != null) {
+            operands.setResult(CompactDecimal.unscaledOf(result), true);
+            resultFraction = null;
+            resultQuotient = null;
         }
 
-        if (signum == 0) {
-            return BigDecimal.ZERO;
-        }
+        return result;
+    }
 
-        int preferredScale = number.scale() / 2;
-        BigDecimal zeroWithFinalPreferredScale = BigDecimal.valueOf(0L, preferredScale);
-        BigDecimal stripped = number.stripTrailingZeros();
-        int strippedScale = stripped.scale();
+    /**
+     * Returns number expanded to the digit limit.
+     *
+     * @param number   number or image of quotient.
+     * @param quotient quotient which number is image of or null if number is already expanded.
+     * @return number expanded to the digit limit.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    private BigDecimal expansionOf(BigDecimal number, Quotient quotient) {
+        return quotient == null ? number : quotient.expand(cancellationToken);
+    }
 
-        if (stripped.unscaledValue().compareTo(BigInteger.ONE) == 0 &&
-                strippedScale % 2 == 0) {
-            BigDecimal result = BigDecimal.valueOf(1L, strippedScale / 2);
+    /**
+     * Assigns first number, its unscaled value and its exact value.
+     *
+     * @param number   number to set as first.
+     * @param unscaled unscaled value of number or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @param fraction exact value of number or null if it should be obtained from decimal number.
+     * @param quotient quotient which number is image of or null if number is already expanded.
+     */
+    private void assignFirst(BigDecimal number, long unscaled, Fraction fraction, Quotient quotient) {
+        first = number;
+        firstUnscaled = unscaled;
+        firstFraction = fraction;
+        firstQuotient = quotient;
+        firstWeight = weightOf(unscaled, number) + weightOf(fraction) + weightOf(quotient);
+    }
 
-            if (result.scale() != preferredScale) {
-                result = result.add(zeroWithFinalPreferredScale, SQRT_CONTEXT);
-            }
+    /**
+     * Assigns second number, its unscaled value and its exact value.
+     *
+     * @param number   number to set as second.
+     * @param unscaled unscaled value of number or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @param fraction exact value of number or null if it should be obtained from decimal number.
+     * @param quotient quotient which number is image of or null if number is already expanded.
+     */
+    private void assignSecond(BigDecimal number, long unscaled, Fraction fraction, Quotient quotient) {
+        second = number;
+        secondUnscaled = unscaled;
+        secondFraction = fraction;
+        secondQuotient = quotient;
+        secondWeight = weightOf(unscaled, number) + weightOf(fraction) + weightOf(quotient);
+    }
 
-            return result;
-        }
+    /**
+     * Sets result of last operation as first number.
+     *
+     * @param result result of last operation.
+     */
+    private void resultToFirst(BigDecimal result) {
+        assignFirst(result, operands.getResultUnscaled(), resultFraction, resultQuotient);
+    }
 
-        int scaleAdjust;
-        int scale = stripped.scale() - stripped.precision() + 1;
+    /**
+     * Sets result of last operation as second number.
+     *
+     * @param result result of last operation.
+     */
+    private void resultToSecond(BigDecimal result) {
+        assignSecond(result, operands.getResultUnscaled(), resultFraction, resultQuotient);
+    }
 
-        if (scale % 2 == 0) {
-            scaleAdjust = scale;
-        } else {
-            scaleAdjust = scale - 1;
+    /**
+     * Strips trailing zeros of result if it was not stripped by operation and saves its unscaled value.
+     *
+     * @param result result of operation.
+     * @return result without trailing zeros.
+     */
+    private BigDecimal stripResult(BigDecimal result) {
+        if (!operands.isResultStripped()) {
+            result = Normalization.normalize(result);
         }
 
-        BigDecimal working = stripped.scaleByPowerOfTen(scaleAdjust);
-
-        BigDecimal guess = new BigDecimal(Math.sqrt(working.doubleValue()));
-        int guessPrecision = 15;
-        int originalPrecision = SQRT_CONTEXT.getPrecision();
+        if (operands.getResultUnscaled() == INFLATED) {
+            operands.setResult(CompactDecimal.unscaledOf(result), true);
+        }
 
-        BigDecimal approx = guess;
-        int workingPrecision = working.precision();
+        return result;
+    }
 
-        do {
-            int tmpPrecision = Math.max(Math.max(guessPrecision, originalPrecision + 2), workingPrecision);
-            MathContext mcTmp = new MathContext(tmpPrecision, RoundingMode.HALF_EVEN);
-            approx = ONE_HALF.multiply(approx.add(working.divide(approx, mcTmp), mcTmp));
-            guessPrecision *= 2;
-        } while (guessPrecision < originalPrecision + 2);
+    /**
+     * Calculates approximate amount of bytes taken by digits of number.
+     *
+     * @param unscaled unscaled value of number or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @param number   number to calculate weight of.
+     * @return weight of number's digits.
+     */
+    private static long weightOf(long unscaled, BigDecimal number) {
+        if (unscaled != INFLATED) {
+            return 0;
+        }
 
-        BigDecimal result;
-        result = approx.scaleByPowerOfTen(-scaleAdjust / 2).round(SQRT_CONTEXT);
+        return NUMBER_OVERHEAD + number.unscaledValue().bitLength() / 8;
+    }
 
-        if (result.scale() != preferredScale) {
-            result = result.stripTrailingZeros().
-                    add(zeroWithFinalPreferredScale,
-                            new MathContext(originalPrecision, RoundingMode.UNNECESSARY));
+    /**
+     * Calculates approximate amount of bytes taken by exact number.
+     *
+     * @param fraction exact number to calculate weight of or null.
+     * @return weight of exact number.
+     */
+    private static long weightOf(Fraction fraction) {
+        if (fraction == null) {
+            return 0;
         }
 
-        return result;
+        return 2 * NUMBER_OVERHEAD + (fraction.getNumerator().bitLength() + fraction.getDenominator().bitLength()) / 8;
     }
 
     /**
-     * Calculates inverted first number.
+     * Calculates approximate amount of bytes taken by quotient, counting its expansion as if it was already
+     * calculated. Expansion has at most {@code digitLimit} decimal digits and as many integer digits as image has.
      *
-     * @param number number to perform operation.
-     * @return inverted first number.
-     * @throws DivideByZeroException while first number is 0.
+     * @param quotient quotient to calculate weight of or null.
+     * @return weight of quotient.
      */
-    private BigDecimal inverse(BigDecimal number) throws DivideByZeroException {
-        if (number.compareTo(BigDecimal.ZERO) == 0) {
-            throw new DivideByZeroException();
+    private static long weightOf(Quotient quotient) {
+        if (quotient == null) {
+            return 0;
         }
 
-        return BigDecimal.ONE.divide(number, DIVIDE_SCALE, BigDecimal.ROUND_HALF_UP);
+        BigDecimal dividend = quotient.getDividend();
+        BigDecimal divisor = quotient.getDivisor();
+        long expansionDigits = quotient.getDigitLimit() + Math.max(0, OverflowValidation.exponentOf(quotient.getImage())
+                + 1);
+
+        return 3 * NUMBER_OVERHEAD + (dividend.unscaledValue().bitLength() + divisor.unscaledValue().bitLength()) / 8 +
+                (long) (expansionDigits * BITS_PER_DIGIT) / 8;
+    }
+
+    /**
+     * Returns index of transition in {@code TRANSITIONS}.
+     *
+     * @param state bits of state's flags.
+     * @param type  {@link OperationType} of operation.
+     * @return index of transition.
+     */
+    private static int transitionIndex(int state, OperationType type) {
+        return state * TYPES + type.ordinal();
     }
 
     /**
-     * Calculates second number as a percentage of the first.
+     * Precomputes transitions for all states and types of operations. Transitions are the same as changes of state
+     * made by {@code CalculationEngine.BRANCHING}.
      *
-     * @param number number to perform operation.
-     * @throws OverflowException while validation for second value is failed.
+     * @return transitions indexed by state and type of operation.
+     * @see #operationWithoutSecond(int, OperationType)
+     * @see #operationWithSecond(int, OperationType)
      */
-    private BigDecimal percentageOfFirst(BigDecimal number) throws OverflowException {
-        if (number.scale() + first.scale() > MAX_SCALE) {
-            throw new OverflowException();
+    private static Transition[] transitions() {
+        Transition[] transitions = new Transition[STATES * TYPES];
+
+        for (int state = 0; state < STATES; state++) {
+
+            for (OperationType type : OperationType.values()) {
+                transitions[transitionIndex(state, type)] = transitionOf(state, type);
+            }
         }
 
-        return first.multiply(number).divide(ONE_HUNDRED, DIVIDE_SCALE, BigDecimal.ROUND_HALF_UP).stripTrailingZeros();
+        return transitions;
     }
 
     /**
-     * Calculates second number as a percentage of 100.
+     * Finds transition for state and type of operation.
      *
-     * @param number number to perform operation.
-     * @throws OverflowException while validation for second number is failed.
+     * @param state bits of state's flags.
+     * @param type  {@link OperationType} of operation.
+     * @return transition of state.
      */
-    private BigDecimal percentageOf100(BigDecimal number) throws OverflowException {
-        if (number.abs().compareTo(PERCENT_OF_100_EDGE) <= 0 && number.compareTo(BigDecimal.ZERO) != 0) {
-            throw new OverflowException();
+    private static Transition transitionOf(int state, OperationType type) {
+        boolean isSecondSet = (state & SECOND_SET_BIT) != 0;
+        boolean unaryOnFirst = (state & UNARY_ON_FIRST_BIT) != 0;
+        boolean previousEquals = (state & PREVIOUS_EQUALS_BIT) != 0;
+        boolean isOperationSet = (state & BINARY_OPERATION_BIT) != 0;
+
+        Transition transition = null;
+
+        if (type == OperationType.UNARY) {
+
+            if (!isSecondSet && isOperationSet) {
+                transition = new Transition(Action.UNARY_FIRST_TO_SECOND, SECOND_SET_BIT, PREVIOUS_EQUALS_BIT);
+            } else if (!isSecondSet || unaryOnFirst) {
+                transition = new Transition(Action.UNARY_FIRST_TO_FIRST, 0, PREVIOUS_EQUALS_BIT);
+            } else {
+                transition = new Transition(Action.UNARY_SECOND_TO_SECOND, 0, PREVIOUS_EQUALS_BIT);
+            }
+        } else if (type == OperationType.BINARY) {
+
+            if (!isSecondSet) {
+                transition = new Transition(Action.SET_OPERATION, 0, PREVIOUS_EQUALS_BIT);
+            } else if (previousEquals) {
+                transition = new Transition(Action.FIRST_TO_SECOND_SET_OPERATION, 0,
+                        UNARY_ON_FIRST_BIT | PREVIOUS_EQUALS_BIT);
+            } else if (isOperationSet) {
+                transition = new Transition(Action.CALCULATE_SET_OPERATION, 0,
+                        UNARY_ON_FIRST_BIT | PREVIOUS_EQUALS_BIT);
+            } else {
+                transition = new Transition(Action.SET_OPERATION_CALCULATE, 0,
+                        UNARY_ON_FIRST_BIT | PREVIOUS_EQUALS_BIT);
+            }
+        } else if (type == OperationType.PERCENT) {
+
+            if (!isSecondSet && isOperationSet) {
+                transition = new Transition(Action.PERCENT_FIRST_TO_SECOND, SECOND_SET_BIT, PREVIOUS_EQUALS_BIT);
+            } else if (!isSecondSet) {
+                transition = new Transition(Action.PERCENT_WITHOUT_OPERATION, 0, PREVIOUS_EQUALS_BIT);
+            } else if (unaryOnFirst) {
+                transition = new Transition(Action.PERCENT_FIRST_TO_SECOND, 0, PREVIOUS_EQUALS_BIT);
+            } else {
+                transition = new Transition(Action.PERCENT_SECOND_TO_SECOND, 0, PREVIOUS_EQUALS_BIT);
+            }
+        } else if (type == OperationType.EQUALS) {
+
+            if (isSecondSet) {
+                transition = new Transition(Action.CALCULATE, UNARY_ON_FIRST_BIT | PREVIOUS_EQUALS_BIT, 0);
+            } else if (isOperationSet) {
+                transition = new Transition(Action.FIRST_TO_SECOND_CALCULATE, SECOND_SET_BIT | PREVIOUS_EQUALS_BIT,
+                        0);
+            } else {
+                transition = new Transition(Action.RETURN_FIRST, PREVIOUS_EQUALS_BIT, 0);
+            }
         }
 
-        return number.divide(ONE_HUNDRED, DIVIDE_SCALE, BigDecimal.ROUND_HALF_UP).stripTrailingZeros();
+        return transition;
+    }
+
+    /**
+     * Action performed with numbers by transition. Constants have no bodies, so actions are dispatched by a single
+     * {@code switch} in {@link #perform(Action, int)}.
+     */
+    private enum Action {
+
+        /**
+         * Performs unary operation with first number and sets result as first number.
+         */
+        UNARY_FIRST_TO_FIRST,
+
+        /**
+         * Performs unary operation with first number and sets result as second number.
+         */
+        UNARY_FIRST_TO_SECOND,
+
+        /**
+         * Performs unary operation with second number and sets result as second number.
+         */
+        UNARY_SECOND_TO_SECOND,
+
+        /**
+         * Sets binary operation and returns first number.
+         */
+        SET_OPERATION,
+
+        /**
+         * Sets first number as second one, sets binary operation and returns first number.
+         */
+        FIRST_TO_SECOND_SET_OPERATION,
+
+        /**
+         * Performs previous binary operation, sets result as first number and sets new binary operation.
+         */
+        CALCULATE_SET_OPERATION,
+
+        /**
+         * Sets binary operation, performs it and sets result as first number.
+         */
+        SET_OPERATION_CALCULATE,
+
+        /**
+         * Calculates percentage of first number and sets result as second number.
+         */
+        PERCENT_FIRST_TO_SECOND,
+
+        /**
+         * Calculates percentage of second number and sets result as second number.
+         */
+        PERCENT_SECOND_TO_SECOND,
+
+        /**
+         * Calculates percentage without binary operation, which resets calculation.
+         */
+        PERCENT_WITHOUT_OPERATION,
+
+        /**
+         * Sets first number as second one, performs binary operation and sets result as first number.
+         */
+        FIRST_TO_SECOND_CALCULATE,
+
+        /**
+         * Performs binary operation and sets result as first number.
+         */
+        CALCULATE,
+
+        /**
+         * Returns first number.
+         */
+        RETURN_FIRST
+    }
+
+    /**
+     * Transition of state made by operation.
+     */
+    private static final class Transition {
+
+        /**
+         * {@link Action} performed with numbers.
+         */
+        private final Action action;
+
+        /**
+         * Bits of state's flags which become set after action.
+         */
+        private final int setBits;
+
+        /**
+         * Bits of state's flags which become cleared after action.
+         */
+        private final int clearBits;
+
+        /**
+         * Constructor for transition.
+         *
+         * @param action    {@link Action} performed with numbers.
+         * @param setBits   bits of state's flags which become set after action.
+         * @param clearBits bits of state's flags which become cleared after action.
+         */
+        private Transition(Action action, int setBits, int clearBits) {
+            this.action = action;
+            this.setBits = setBits;
+            this.clearBits = clearBits;
+        }
     }
 }
@@ -0,0 +1,314 @@
+package com.implemica.bormashenko.calculator.model;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Pool of reusable {@link Calculation} and {@link Memory} pairs for short-lived jobs.
+ * <p>
+ * Pair is borrowed as {@link Lease} and returned by {@link Lease#close()}, so lease can be used in try-with-resources.
+ * Returned pair is brought to the state of new one with settings of prototype and kept for the next lease, together
+ * with its buffers. Pool keeps at most {@code maxIdle} returned pairs, extra pairs are left for garbage collector.
+ * <p>
+ * Lease which becomes unreachable without being closed is counted as leaked. Its pair is not reused, because it may be
+ * still referenced by the job that lost the lease.
+ * <p>
+ * All methods are thread-safe. Lease itself should be used by one thread at a time.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class CalculationPool {
+
+    /**
+     * {@code Calculation} which settings are given to borrowed calculations.
+     */
+    private final Calculation prototype;
+
+    /**
+     * Maximal amount of returned pairs kept in pool.
+     */
+    private final int maxIdle;
+
+    /**
+     * Returned pairs ready to be borrowed.
+     */
+    private final ArrayDeque<Engine> idle = new ArrayDeque<>();
+
+    /**
+     * Trackers of leases that are not closed yet.
+     */
+    private final Set<Reference<Lease>> borrowed = new HashSet<>();
+
+    /**
+     * Queue of trackers which leases became unreachable.
+     */
+    private final ReferenceQueue<Lease> unreachable = new ReferenceQueue<>();
+
+    /**
+     * Amount of created pairs.
+     */
+    private long created = 0;
+
+    /**
+     * Amount of leases which reused returned pairs.
+     */
+    private long reused = 0;
+
+    /**
+     * Amount of leases which became unreachable without being closed.
+     */
+    private long leaks = 0;
+
+    /**
+     * Constructor for pool which calculations have default settings.
+     *
+     * @param maxIdle maximal amount of returned pairs kept in pool.
+     * @throws IllegalArgumentException if amount is negative.
+     */
+    public CalculationPool(int maxIdle) {
+        this(new Calculation(), maxIdle);
+    }
+
+    /**
+     * Constructor for pool which calculations have settings of prototype. State of prototype is not used, and its
+     * settings should not be changed after pool is created.
+     *
+     * @param prototype {@link Calculation} which settings are given to borrowed calculations.
+     * @param maxIdle   maximal amount of returned pairs kept in pool.
+     * @throws IllegalArgumentException if amount is negative.
+     */
+    public CalculationPool(Calculation prototype, int maxIdle) {
+        if (maxIdle < 0) {
+            throw new IllegalArgumentException("Expected: non-negative amount. Got: " + maxIdle);
+        }
+
+        this.prototype = prototype;
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Borrows calculation and memory. Returned pair is reused if there is such, otherwise new pair is created.
+     *
+     * @return {@link Lease} of calculation and memory, which should be closed after use.
+     */
+    public synchronized Lease borrow() {
+        pollLeaks();
+
+        Engine engine = idle.pollFirst();
+
+        if (engine == null) {
+            engine = new Engine(new Calculation(), new Memory());
+            recycle(engine);
+            created++;
+        } else {
+            reused++;
+        }
+
+        Lease lease = new Lease(this, engine);
+        lease.tracker = new WeakReference<>(lease, unreachable);
+        borrowed.add(lease.tracker);
+
+        return lease;
+    }
+
+    public synchronized long getCreated() {
+        return created;
+    }
+
+    public synchronized long getReused() {
+        return reused;
+    }
+
+    /**
+     * Returns amount of leases which became unreachable without being closed and were found by garbage collector.
+     *
+     * @return amount of leaked leases.
+     */
+    public synchronized long getLeaks() {
+        pollLeaks();
+
+        return leaks;
+    }
+
+    public synchronized int getIdle() {
+        return idle.size();
+    }
+
+    /**
+     * Returns amount of leases that are not closed and not found leaked.
+     *
+     * @return amount of borrowed pairs.
+     */
+    public synchronized int getBorrowed() {
+        pollLeaks();
+
+        return borrowed.size();
+    }
+
+    /**
+     * Clears and enqueues tracker of lease, as garbage collector does when lease becomes unreachable, so leaks can be
+     * tested without waiting for collector.
+     *
+     * @param lease {@link Lease} of this pool to treat as unreachable.
+     */
+    static void simulateUnreachable(Lease lease) {
+        lease.tracker.clear();
+        lease.tracker.enqueue();
+    }
+
+    /**
+     * Takes pair back from closed lease and keeps it for the next lease if there is place for it.
+     *
+     * @param lease closed lease.
+     */
+    private synchronized void giveBack(Lease lease) {
+        borrowed.remove(lease.tracker);
+        lease.tracker.clear();
+
+        if (idle.size() < maxIdle) {
+            recycle(lease.engine);
+            idle.addFirst(lease.engine);
+        }
+    }
+
+    /**
+     * Brings pair to the state of new one with settings of prototype. Memory gets digit limit of prototype, so it
+     * can save results of borrowed calculation.
+     *
+     * @param engine pair to reset.
+     */
+    private void recycle(Engine engine) {
+        engine.calculation.recycle(prototype);
+        engine.memory.clearMemory();
+        engine.memory.setDigitLimit(prototype.getDigitLimit());
+    }
+
+    /**
+     * Counts leases that became unreachable without being closed.
+     */
+    private void pollLeaks() {
+        Reference<? extends Lease> reference;
+
+        while ((reference = unreachable.poll()) != null) {
+
+            if (borrowed.remove(reference)) {
+                leaks++;
+            }
+        }
+    }
+
+    /**
+     * Borrowed calculation and memory.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        /**
+         * Pool which pair is borrowed.
+         */
+        private final CalculationPool pool;
+
+        /**
+         * Borrowed pair.
+         */
+        private final Engine engine;
+
+        /**
+         * Weak reference to lease, which is enqueued if lease becomes unreachable without being closed.
+         */
+        private WeakReference<Lease> tracker = null;
+
+        /**
+         * True if lease is closed or false otherwise.
+         */
+        private boolean isClosed = false;
+
+        /**
+         * Constructor for lease.
+         *
+         * @param pool   pool which pair is borrowed.
+         * @param engine borrowed pair.
+         */
+        private Lease(CalculationPool pool, Engine engine) {
+            this.pool = pool;
+            this.engine = engine;
+        }
+
+        /**
+         * Returns borrowed calculation.
+         *
+         * @return {@link Calculation} of lease.
+         * @throws IllegalStateException if lease is closed.
+         */
+        public Calculation getCalculation() {
+            checkOpen();
+
+            return engine.calculation;
+        }
+
+        /**
+         * Returns borrowed memory.
+         *
+         * @return {@link Memory} of lease.
+         * @throws IllegalStateException if lease is closed.
+         */
+        public Memory getMemory() {
+            checkOpen();
+
+            return engine.memory;
+        }
+
+        /**
+         * Returns calculation and memory to pool. Calculation and memory should not be used after that. Closing lease
+         * again does nothing.
+         */
+        @Override
+        public void close() {
+            if (!isClosed) {
+                isClosed = true;
+                pool.giveBack(this);
+            }
+        }
+
+        /**
+         * Checks that lease is not closed.
+         *
+         * @throws IllegalStateException if lease is closed.
+         */
+        private void checkOpen() {
+            if (isClosed) {
+                throw new IllegalStateException("Lease is closed");
+            }
+        }
+    }
+
+    /**
+     * Calculation and memory that are borrowed together.
+     */
+    private static final class Engine {
+
+        /**
+         * {@link Calculation} of pair.
+         */
+        private final Calculation calculation;
+
+        /**
+         * {@link Memory} of pair.
+         */
+        private final Memory memory;
+
+        /**
+         * Constructor for pair.
+         *
+         * @param calculation {@link Calculation} of pair.
+         * @param memory      {@link Memory} of pair.
+         */
+        private Engine(Calculation calculation, Memory memory) {
+            this.calculation = calculation;
+            this.memory = memory;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.enums.ResultStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of operation performed by {@link Calculation} without throwing exceptions.
+ * <p>
+ * Results with errors have no value and are shared, so returning them does not allocate anything.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public final class CalculationResult {
+
+    /**
+     * Result for failed overflow validation.
+     */
+    public static final CalculationResult OVERFLOW = new CalculationResult(ResultStatus.OVERFLOW, null);
+
+    /**
+     * Result for dividing by zero.
+     */
+    public static final CalculationResult DIVIDE_BY_ZERO = new CalculationResult(ResultStatus.DIVIDE_BY_ZERO, null);
+
+    /**
+     * Result for dividing zero by zero.
+     */
+    public static final CalculationResult DIVIDE_ZERO_BY_ZERO =
+            new CalculationResult(ResultStatus.DIVIDE_ZERO_BY_ZERO, null);
+
+    /**
+     * Result for calculating negative root.
+     */
+    public static final CalculationResult NEGATIVE_ROOT = new CalculationResult(ResultStatus.NEGATIVE_ROOT, null);
+
+    /**
+     * Result for cancelled operation.
+     */
+    public static final CalculationResult CANCELLED = new CalculationResult(ResultStatus.CANCELLED, null);
+
+    /**
+     * {@link ResultStatus} of operation.
+     */
+    private final ResultStatus status;
+
+    /**
+     * Result of operation or null if operation failed.
+     */
+    private final BigDecimal value;
+
+    /**
+     * Constructor for result.
+     *
+     * @param status {@link ResultStatus} of operation.
+     * @param value  result of operation or null if operation failed.
+     */
+    private CalculationResult(ResultStatus status, BigDecimal value) {
+        this.status = status;
+        this.value = value;
+    }
+
+    /**
+     * Creates result of successful operation.
+     *
+     * @param value result of operation.
+     * @return result with {@code ResultStatus.OK}.
+     */
+    public static CalculationResult ok(BigDecimal value) {
+        return new CalculationResult(ResultStatus.OK, value);
+    }
+
+    public ResultStatus getStatus() {
+        return status;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    /**
+     * Checks that operation was performed successfully.
+     *
+     * @return true if status is {@code ResultStatus.OK} or false otherwise.
+     */
+    public boolean isOk() {
+        return status == ResultStatus.OK;
+    }
+
+    @Override
+    public String toString() {
+        return isOk() ? value.toString() : status.toString();
+    }
+}
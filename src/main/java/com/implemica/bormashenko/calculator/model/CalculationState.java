@@ -0,0 +1,203 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.enums.Operation;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable snapshot of state of {@link Calculation}: numbers of equation, binary operation and flags.
+ * <p>
+ * Numbers are immutable, so snapshot references them instead of copying, and its size does not depend on amount of
+ * their digits. Settings of calculation, such as mode or digit limit, are not a part of state.
+ *
+ * @author Mykhailo Bormashenko
+ * @see Calculation#snapshot()
+ * @see Calculation#restore(CalculationState)
+ */
+public final class CalculationState {
+
+    /**
+     * First number of equation.
+     */
+    private final BigDecimal first;
+
+    /**
+     * Unscaled value of first number.
+     */
+    private final long firstUnscaled;
+
+    /**
+     * Exact value of first number or null if it should be obtained from decimal first number.
+     */
+    private final Fraction firstFraction;
+
+    /**
+     * Quotient which first number is image of or null if first number is already expanded.
+     */
+    private final Quotient firstQuotient;
+
+    /**
+     * Second number of equation.
+     */
+    private final BigDecimal second;
+
+    /**
+     * Unscaled value of second number.
+     */
+    private final long secondUnscaled;
+
+    /**
+     * Exact value of second number or null if it should be obtained from decimal second number.
+     */
+    private final Fraction secondFraction;
+
+    /**
+     * Quotient which second number is image of or null if second number is already expanded.
+     */
+    private final Quotient secondQuotient;
+
+    /**
+     * Exact value of result of last operation or null if there is no such.
+     */
+    private final Fraction resultFraction;
+
+    /**
+     * Quotient which result of last operation is image of or null if there is no such.
+     */
+    private final Quotient resultQuotient;
+
+    /**
+     * Id of binary operation of equation or -1 if there is no such.
+     */
+    private final int binaryOperationId;
+
+    /**
+     * True if second number is set or false otherwise.
+     */
+    private final boolean isSecondSet;
+
+    /**
+     * True if next unary operations should be made with first number or false otherwise.
+     */
+    private final boolean unaryOnFirst;
+
+    /**
+     * True if previous operation was equals or false otherwise.
+     */
+    private final boolean previousEquals;
+
+    /**
+     * True if result of last operation diverged from decimal one or false otherwise.
+     */
+    private final boolean isResultDivergent;
+
+    /**
+     * Constructor for snapshot.
+     *
+     * @param first             first number of equation.
+     * @param firstUnscaled     unscaled value of first number.
+     * @param firstFraction     exact value of first number or null if it should be obtained from decimal number.
+     * @param firstQuotient     quotient which first number is image of or null if first number is already expanded.
+     * @param second            second number of equation.
+     * @param secondUnscaled    unscaled value of second number.
+     * @param secondFraction    exact value of second number or null if it should be obtained from decimal number.
+     * @param secondQuotient    quotient which second number is image of or null if second number is already
+     *                          expanded.
+     * @param resultFraction    exact value of result of last operation or null if there is no such.
+     * @param resultQuotient    quotient which result of last operation is image of or null if there is no such.
+     * @param binaryOperationId id of binary operation of equation or -1 if there is no such.
+     * @param isSecondSet       true if second number is set or false otherwise.
+     * @param unaryOnFirst      true if next unary operations should be made with first number or false otherwise.
+     * @param previousEquals    true if previous operation was equals or false otherwise.
+     * @param isResultDivergent true if result of last operation diverged from decimal one or false otherwise.
+     */
+    CalculationState(BigDecimal first, long firstUnscaled, Fraction firstFraction, Quotient firstQuotient,
+                     BigDecimal second, long secondUnscaled, Fraction secondFraction, Quotient secondQuotient,
+                     Fraction resultFraction, Quotient resultQuotient, int binaryOperationId, boolean isSecondSet,
+                     boolean unaryOnFirst, boolean previousEquals, boolean isResultDivergent) {
+        this.first = first;
+        this.firstUnscaled = firstUnscaled;
+        this.firstFraction = firstFraction;
+        this.firstQuotient = firstQuotient;
+        this.second = second;
+        this.secondUnscaled = secondUnscaled;
+        this.secondFraction = secondFraction;
+        this.secondQuotient = secondQuotient;
+        this.resultFraction = resultFraction;
+        this.resultQuotient = resultQuotient;
+        this.binaryOperationId = binaryOperationId;
+        this.isSecondSet = isSecondSet;
+        this.unaryOnFirst = unaryOnFirst;
+        this.previousEquals = previousEquals;
+        this.isResultDivergent = isResultDivergent;
+    }
+
+    public BigDecimal getFirst() {
+        return first;
+    }
+
+    long getFirstUnscaled() {
+        return firstUnscaled;
+    }
+
+    Fraction getFirstFraction() {
+        return firstFraction;
+    }
+
+    Quotient getFirstQuotient() {
+        return firstQuotient;
+    }
+
+    public BigDecimal getSecond() {
+        return second;
+    }
+
+    long getSecondUnscaled() {
+        return secondUnscaled;
+    }
+
+    Fraction getSecondFraction() {
+        return secondFraction;
+    }
+
+    Quotient getSecondQuotient() {
+        return secondQuotient;
+    }
+
+    Fraction getResultFraction() {
+        return resultFraction;
+    }
+
+    Quotient getResultQuotient() {
+        return resultQuotient;
+    }
+
+    /**
+     * Returns binary operation of equation if it is standard operation.
+     *
+     * @return {@link Operation} of equation or null if there is no such or it is not standard operation.
+     */
+    public Operation getBinaryOperation() {
+        return OperationRegistry.operationOf(binaryOperationId);
+    }
+
+    public int getBinaryOperationId() {
+        return binaryOperationId;
+    }
+
+    public boolean isSecondSet() {
+        return isSecondSet;
+    }
+
+    boolean isUnaryOnFirst() {
+        return unaryOnFirst;
+    }
+
+    boolean isPreviousEquals() {
+        return previousEquals;
+    }
+
+    boolean isResultDivergent() {
+        return isResultDivergent;
+    }
+}
@@ -0,0 +1,102 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.enums.Operation;
+import com.implemica.bormashenko.calculator.model.enums.OperationType;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+
+import java.math.BigDecimal;
+
+/**
+ * Service provider interface for operations performed by {@link Calculation}.
+ * <p>
+ * Implementation is registered in {@link OperationRegistry} by its name and gets id of operation. Calculation finds
+ * implementation by the id and decides which numbers are passed as {@link Operands} by type of operation, so new
+ * implementation does not require changing calculation. Implementation of standard operation is replaced by
+ * registering implementation with name of {@link Operation} value.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public interface CalculatorOperation {
+
+    /**
+     * Returns name of operation, which implementation is registered by.
+     *
+     * @return name of operation.
+     */
+    String getName();
+
+    /**
+     * Returns type of operation, which defines numbers it is performed with and how state of calculation is changed.
+     *
+     * @return {@link OperationType} of operation.
+     */
+    OperationType getType();
+
+    /**
+     * Returns amount of numbers used by operation.
+     *
+     * @return 2 for binary operations, 1 for unary operations and percentage, 0 for operations without numbers.
+     */
+    int getArity();
+
+    /**
+     * Returns symbol of operation used for displaying equation.
+     *
+     * @return symbol of operation or empty string if operation is not displayed in equation.
+     */
+    String getSymbol();
+
+    /**
+     * Checks that result is certainly out of range, so it should not be calculated. Used in all modes of calculation.
+     *
+     * @param operands numbers of operation.
+     * @return true if result certainly fails overflow validation or false otherwise.
+     */
+    boolean overflowValidationFailed(Operands operands);
+
+    /**
+     * Calculates decimal result of operation. Result is validated by calculation.
+     *
+     * @param operands numbers of operation.
+     * @return result of operation.
+     * @throws OverflowException         if result can not be calculated because of overflow.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    BigDecimal evaluate(Operands operands) throws OverflowException, DivideByZeroException,
+            DivideZeroByZeroException, NegativeRootException;
+
+    /**
+     * Calculates exact result of operation. Result is validated by calculation.
+     *
+     * @param operands numbers of operation.
+     * @return exact result of operation.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    Fraction evaluateExact(Operands operands) throws DivideByZeroException, DivideZeroByZeroException,
+            NegativeRootException;
+
+    /**
+     * Calculates approximate result of operation using {@code double} numbers. If result is not finite, e.g. numbers
+     * are out of range of {@code double}, calculation uses decimal result of {@link #evaluate(Operands)} instead and
+     * reports it as divergent, so returning {@code Double.NaN} means that decimal result should be used. By default,
+     * decimal result is converted to {@code double}.
+     *
+     * @param operands numbers of operation.
+     * @return approximate result of operation or {@code Double.NaN} if decimal result should be used.
+     * @throws OverflowException         if result can not be calculated because of overflow.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    default double evaluateApproximate(Operands operands) throws OverflowException, DivideByZeroException,
+            DivideZeroByZeroException, NegativeRootException {
+        return evaluate(operands).doubleValue();
+    }
+}
@@ -0,0 +1,99 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token for cancelling long-running operations of {@link Calculation}.
+ * <p>
+ * Token is cancelled either by {@link #cancel()}, which may be called from any thread, or when its deadline passes.
+ * Long-running loops check token between steps: Newton's iteration of square root, long division and parallel
+ * multiplication of huge numbers. Once cancelled, token stays cancelled, so new token should be set for next
+ * operations.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public final class CancellationToken {
+
+    /**
+     * Value of {@code System.nanoTime()} when token is cancelled, or 0 if token has no deadline.
+     */
+    private final long deadline;
+
+    /**
+     * True if token has deadline or false otherwise.
+     */
+    private final boolean hasDeadline;
+
+    /**
+     * True if token is cancelled or false otherwise.
+     */
+    private volatile boolean isCancelled = false;
+
+    /**
+     * Constructor for token without deadline.
+     */
+    public CancellationToken() {
+        this.deadline = 0;
+        this.hasDeadline = false;
+    }
+
+    /**
+     * Constructor for token with deadline.
+     *
+     * @param deadline value of {@code System.nanoTime()} when token is cancelled.
+     */
+    private CancellationToken(long deadline) {
+        this.deadline = deadline;
+        this.hasDeadline = true;
+    }
+
+    /**
+     * Creates token which is cancelled after timeout.
+     *
+     * @param timeout non-negative time before token is cancelled.
+     * @param unit    unit of timeout.
+     * @return token with deadline.
+     * @throws IllegalArgumentException if timeout is negative.
+     */
+    public static CancellationToken withTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Expected: non-negative timeout. Got: " + timeout);
+        }
+
+        return new CancellationToken(System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Cancels operations that check token.
+     */
+    public void cancel() {
+        isCancelled = true;
+    }
+
+    /**
+     * Checks whether token is cancelled or its deadline has passed.
+     *
+     * @return true if operations should be cancelled or false otherwise.
+     */
+    public boolean isCancelled() {
+        if (!isCancelled && hasDeadline && System.nanoTime() - deadline >= 0) {
+            isCancelled = true;
+        }
+
+        return isCancelled;
+    }
+
+    /**
+     * Throws exception if token is cancelled.
+     *
+     * @param token token to check or null if operation can not be cancelled.
+     * @throws CancelledException if token is cancelled or its deadline has passed.
+     */
+    public static void check(CancellationToken token) {
+        if (token != null && token.isCancelled()) {
+            throw CancelledException.INSTANCE;
+        }
+    }
+}
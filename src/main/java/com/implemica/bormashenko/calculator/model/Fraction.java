@@ -0,0 +1,257 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.util.DecimalExpansion;
+import com.implemica.bormashenko.calculator.model.util.Normalization;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Immutable exact rational number.
+ * <p>
+ * Numerator and denominator are always reduced and denominator is always positive.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class Fraction {
+
+    /**
+     * {@code Fraction} value of 0.
+     */
+    public static final Fraction ZERO = new Fraction(BigInteger.ZERO, BigInteger.ONE);
+
+    /**
+     * {@code Fraction} value of 1.
+     */
+    public static final Fraction ONE = new Fraction(BigInteger.ONE, BigInteger.ONE);
+
+    /**
+     * {@code BigInteger} value of 100.
+     */
+    private static final BigInteger ONE_HUNDRED = BigInteger.valueOf(100);
+
+    /**
+     * Numerator of fraction.
+     */
+    private final BigInteger numerator;
+
+    /**
+     * Denominator of fraction. Always positive.
+     */
+    private final BigInteger denominator;
+
+    /**
+     * Constructor for already reduced fraction.
+     *
+     * @param numerator   numerator of fraction.
+     * @param denominator positive denominator of fraction.
+     */
+    private Fraction(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Creates reduced fraction.
+     *
+     * @param numerator   numerator of fraction.
+     * @param denominator denominator of fraction.
+     * @return reduced fraction.
+     * @throws ArithmeticException if denominator is 0.
+     */
+    public static Fraction valueOf(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new ArithmeticException("Expected: non-zero denominator. Got: " + denominator);
+        }
+
+        if (numerator.signum() == 0) {
+            return ZERO;
+        }
+
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+
+        BigInteger gcd = numerator.gcd(denominator);
+
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+
+        return new Fraction(numerator, denominator);
+    }
+
+    /**
+     * Creates fraction with exactly the same value as decimal number.
+     *
+     * @param number number to convert.
+     * @return fraction with the same value.
+     */
+    public static Fraction valueOf(BigDecimal number) {
+        if (number.signum() == 0) {
+            return ZERO;
+        }
+
+        BigDecimal stripped = Normalization.normalize(number);
+        int scale = stripped.scale();
+
+        if (scale <= 0) {
+            return new Fraction(stripped.toBigIntegerExact(), BigInteger.ONE);
+        }
+
+        return valueOf(stripped.unscaledValue(), BigInteger.TEN.pow(scale));
+    }
+
+    public BigInteger getNumerator() {
+        return numerator;
+    }
+
+    public BigInteger getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Returns sign of fraction.
+     *
+     * @return -1, 0 or 1 as value of fraction is negative, zero or positive.
+     */
+    public int signum() {
+        return numerator.signum();
+    }
+
+    /**
+     * Adds fraction to this one.
+     *
+     * @param other fraction to add.
+     * @return sum of fractions.
+     */
+    public Fraction add(Fraction other) {
+        if (denominator.equals(other.denominator)) {
+            return valueOf(numerator.add(other.numerator), denominator);
+        }
+
+        return valueOf(numerator.multiply(other.denominator).add(other.numerator.multiply(denominator)),
+                denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Subtracts fraction from this one.
+     *
+     * @param other fraction to subtract.
+     * @return difference of fractions.
+     */
+    public Fraction subtract(Fraction other) {
+        return add(other.negate());
+    }
+
+    /**
+     * Multiplies this fraction on another.
+     *
+     * @param other fraction to multiply on.
+     * @return product of fractions.
+     */
+    public Fraction multiply(Fraction other) {
+        return valueOf(numerator.multiply(other.numerator), denominator.multiply(other.denominator));
+    }
+
+    /**
+     * Divides this fraction on another.
+     *
+     * @param other fraction to divide on.
+     * @return quotient of fractions.
+     * @throws ArithmeticException if other fraction is 0.
+     */
+    public Fraction divide(Fraction other) {
+        return valueOf(numerator.multiply(other.denominator), denominator.multiply(other.numerator));
+    }
+
+    /**
+     * Divides this fraction on 100.
+     *
+     * @return this fraction divided on 100.
+     */
+    public Fraction percent() {
+        return valueOf(numerator, denominator.multiply(ONE_HUNDRED));
+    }
+
+    /**
+     * Negates fraction.
+     *
+     * @return negated fraction.
+     */
+    public Fraction negate() {
+        return new Fraction(numerator.negate(), denominator);
+    }
+
+    /**
+     * Inverts fraction.
+     *
+     * @return inverted fraction.
+     * @throws ArithmeticException if fraction is 0.
+     */
+    public Fraction inverse() {
+        return valueOf(denominator, numerator);
+    }
+
+    /**
+     * Calculates decimal image of fraction.
+     * <p>
+     * If fraction has finite decimal expansion, returns its exact value. Otherwise, truncates expansion to the
+     * precision and appends digit 1 to it. Rounding such image to any precision less than required one gives the same
+     * result as rounding exact value of fraction would give, so the image can be used for displaying and for comparing
+     * with decimal bounds.
+     *
+     * @param precision amount of significant digits to compute for infinite expansion.
+     * @return decimal image of fraction without trailing zeros.
+     */
+    public BigDecimal toBigDecimal(int precision) {
+        if (numerator.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        if (denominator.equals(BigInteger.ONE)) {
+            return Normalization.normalize(new BigDecimal(numerator));
+        }
+
+        BigDecimal result = DecimalExpansion.finiteQuotient(numerator, denominator);
+
+        if (result == null) {
+            BigDecimal truncated = new BigDecimal(numerator).divide(new BigDecimal(denominator),
+                    new MathContext(precision, RoundingMode.DOWN));
+            BigInteger sticky = truncated.unscaledValue().multiply(BigInteger.TEN).add(BigInteger.valueOf(signum()));
+
+            result = new BigDecimal(sticky, truncated.scale() + 1);
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (!(o instanceof Fraction)) {
+            return false;
+        }
+
+        Fraction fraction = (Fraction) o;
+
+        return numerator.equals(fraction.numerator) && denominator.equals(fraction.denominator);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * numerator.hashCode() + denominator.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return numerator + "/" + denominator;
+    }
+}
@@ -1,24 +1,63 @@
 package com.implemica.bormashenko.calculator.model;
 
 import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import com.implemica.bormashenko.calculator.model.util.Normalization;
 import com.implemica.bormashenko.calculator.model.util.OverflowValidation;
 
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.Stack;
 
 /**
  * Model of memory for calculator.
  * <p>
  * Allows user to save values in memory, and to recall them later.
+ * <p>
+ * Results of adding and subtracting are saved with trailing zeros and normalized only when they are recalled or
+ * copied, or when another object is saved above them, so a chain of additions is normalized once.
+ * <p>
+ * Store is held in immutable {@link MemoryState}, so snapshot of memory is taken and restored without copying.
  *
  * @author Mykhailo Bormashenko
  */
 public class Memory {
 
     /**
-     * Store for memory's objects.
+     * Store for memory's objects. The last saved object is normalized before it is returned if it was saved not
+     * normalized.
+     *
+     * @see Normalization#normalize(BigDecimal)
+     */
+    private MemoryState store = MemoryState.EMPTY;
+
+    /**
+     * Limit of digits in integer and decimal parts of recalled objects.
+     *
+     * @see OverflowValidation
      */
-    private Stack<BigDecimal> store = new Stack<>();
+    private int digitLimit = OverflowValidation.DEFAULT_DIGIT_LIMIT;
+
+    public int getDigitLimit() {
+        return digitLimit;
+    }
+
+    /**
+     * Sets limit of digits in integer and decimal parts of recalled objects, so results of high-precision calculations
+     * can be recalled.
+     *
+     * @param digitLimit limit in range [{@code OverflowValidation.DEFAULT_DIGIT_LIMIT},
+     *                   {@code OverflowValidation.MAX_DIGIT_LIMIT}].
+     * @throws IllegalArgumentException if limit is out of range.
+     */
+    public void setDigitLimit(int digitLimit) {
+        if (digitLimit < OverflowValidation.DEFAULT_DIGIT_LIMIT || digitLimit > OverflowValidation.MAX_DIGIT_LIMIT) {
+            throw new IllegalArgumentException("Expected: digit limit in range [" +
+                    OverflowValidation.DEFAULT_DIGIT_LIMIT + ", " + OverflowValidation.MAX_DIGIT_LIMIT + "]. Got: " +
+                    digitLimit);
+        }
+
+        this.digitLimit = digitLimit;
+    }
 
     /**
      * Returns copy of the store.
@@ -26,26 +65,69 @@ public class Memory {
      * @return copy of the store.
      */
     public Stack<BigDecimal> getStore() {
+        normalizeLast();
+
+        BigDecimal[] objects = new BigDecimal[store.getSize()];
+        MemoryState state = store;
+
+        for (int i = objects.length - 1; i >= 0; i--) {
+            objects[i] = state.getLast();
+            state = state.getPrevious();
+        }
+
         Stack<BigDecimal> clone = new Stack<>();
-        clone.addAll(store);
+        Collections.addAll(clone, objects);
 
         return clone;
     }
 
+    /**
+     * Creates independent branch of memory with the same store and digit limit. Store is immutable, so branch shares
+     * all saved objects with memory, and only objects saved later are not shared. Memory is not thread-safe itself,
+     * but different branches can be used concurrently on different threads.
+     *
+     * @return new {@code Memory} with the same store and digit limit.
+     */
+    public Memory fork() {
+        Memory branch = new Memory();
+        branch.store = store;
+        branch.digitLimit = digitLimit;
+
+        return branch;
+    }
+
+    /**
+     * Returns snapshot of the store. Snapshot is immutable and shares objects with the store.
+     *
+     * @return current {@link MemoryState}.
+     */
+    public MemoryState snapshot() {
+        return store;
+    }
+
+    /**
+     * Replaces the store with snapshot taken before.
+     *
+     * @param state {@link MemoryState} to restore.
+     */
+    public void restore(MemoryState state) {
+        store = state;
+    }
+
     /**
      * Saves object in memory.
      *
      * @param number object to save.
      */
     public void storeToMemory(BigDecimal number) {
-        store.push(number);
+        push(number, true);
     }
 
     /**
      * Clears memory store.
      */
     public void clearMemory() {
-        store.clear();
+        store = MemoryState.EMPTY;
     }
 
     /**
@@ -58,10 +140,12 @@ public class Memory {
         if (store.isEmpty()) {
             return null;
         } else {
-            BigDecimal recalledValue = store.peek();
+            normalizeLast();
+            BigDecimal recalledValue = store.getLast();
 
-            if (OverflowValidation.overflowValidationFailed(recalledValue, false, BigDecimal.ZERO)) {
-                throw new OverflowException();
+            if (OverflowValidation.overflowValidationFailed(recalledValue, store.getLastExponent(), false,
+                    BigDecimal.ZERO, digitLimit)) {
+                throw OverflowException.INSTANCE;
             }
 
             return recalledValue;
@@ -80,8 +164,8 @@ public class Memory {
         if (store.isEmpty()) {
             storeToMemory(number);
         } else {
-            BigDecimal memory = store.pop();
-            store.push(memory.add(number).stripTrailingZeros());
+            BigDecimal memory = pop();
+            push(memory.add(number), false);
         }
     }
 
@@ -97,8 +181,44 @@ public class Memory {
         if (store.isEmpty()) {
             storeToMemory(number.negate());
         } else {
-            BigDecimal memory = store.pop();
-            store.push(memory.subtract(number).stripTrailingZeros());
+            BigDecimal memory = pop();
+            push(memory.subtract(number), false);
+        }
+    }
+
+    /**
+     * Saves object in memory together with its adjusted exponent, so recalling it does not require calculating
+     * exponent again. Previous object is normalized if it is necessary, so only the last object can be saved not
+     * normalized.
+     *
+     * @param number       object to save.
+     * @param isNormalized true if object does not need normalization or false otherwise.
+     */
+    private void push(BigDecimal number, boolean isNormalized) {
+        normalizeLast();
+
+        store = store.push(number, OverflowValidation.exponentOf(number), isNormalized);
+    }
+
+    /**
+     * Removes the last saved in memory object without normalizing it.
+     *
+     * @return the last saved in memory object.
+     */
+    private BigDecimal pop() {
+        BigDecimal last = store.getLast();
+        store = store.getPrevious();
+
+        return last;
+    }
+
+    /**
+     * Normalizes the last saved in memory object if it was saved not normalized. Normalizing does not change adjusted
+     * exponent.
+     */
+    private void normalizeLast() {
+        if (!store.isLastNormalized()) {
+            store = store.getPrevious().push(Normalization.normalize(store.getLast()), store.getLastExponent(), true);
         }
     }
 }
@@ -0,0 +1,140 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.util.CompactDecimal;
+
+import java.math.BigDecimal;
+
+import static com.implemica.bormashenko.calculator.model.util.CompactDecimal.INFLATED;
+
+/**
+ * Immutable snapshot of store of {@link Memory}.
+ * <p>
+ * Store is a persistent stack: each state keeps the last saved object and references state before it was saved.
+ * Saving object creates one new state and shares all the objects below, so snapshot of memory is just a reference to
+ * its current state.
+ *
+ * @author Mykhailo Bormashenko
+ * @see Memory#snapshot()
+ * @see Memory#restore(MemoryState)
+ */
+public final class MemoryState {
+
+    /**
+     * State of empty store.
+     */
+    public static final MemoryState EMPTY = new MemoryState(null, 0, true, null, 0, 0);
+
+    /**
+     * Approximate amount of bytes taken by state without its object's digits.
+     */
+    private static final long STATE_OVERHEAD = 80;
+
+    /**
+     * The last saved object or null if store is empty.
+     */
+    private final BigDecimal last;
+
+    /**
+     * Adjusted exponent of the last saved object.
+     */
+    private final long lastExponent;
+
+    /**
+     * True if the last saved object does not need normalization or false otherwise.
+     */
+    private final boolean isLastNormalized;
+
+    /**
+     * State before the last object was saved or null if store is empty.
+     */
+    private final MemoryState previous;
+
+    /**
+     * Amount of saved objects.
+     */
+    private final int size;
+
+    /**
+     * Approximate amount of bytes taken by saved objects and states.
+     */
+    private final long weight;
+
+    /**
+     * Constructor for state.
+     *
+     * @param last             the last saved object or null if store is empty.
+     * @param lastExponent     adjusted exponent of the last saved object.
+     * @param isLastNormalized true if the last saved object does not need normalization or false otherwise.
+     * @param previous         state before the last object was saved or null if store is empty.
+     * @param size             amount of saved objects.
+     * @param weight           approximate amount of bytes taken by saved objects and states.
+     */
+    private MemoryState(BigDecimal last, long lastExponent, boolean isLastNormalized, MemoryState previous, int size,
+                        long weight) {
+        this.last = last;
+        this.lastExponent = lastExponent;
+        this.isLastNormalized = isLastNormalized;
+        this.previous = previous;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    public BigDecimal getLast() {
+        return last;
+    }
+
+    long getLastExponent() {
+        return lastExponent;
+    }
+
+    boolean isLastNormalized() {
+        return isLastNormalized;
+    }
+
+    public MemoryState getPrevious() {
+        return previous;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Checks that store is empty.
+     *
+     * @return true if there are no saved objects or false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates state with object saved above objects of this state.
+     *
+     * @param number       object to save.
+     * @param exponent     adjusted exponent of object.
+     * @param isNormalized true if object does not need normalization or false otherwise.
+     * @return new state.
+     */
+    MemoryState push(BigDecimal number, long exponent, boolean isNormalized) {
+        return new MemoryState(number, exponent, isNormalized, this, size + 1, weight + weightOf(number));
+    }
+
+    /**
+     * Calculates approximate amount of bytes taken by state with number.
+     *
+     * @param number saved object.
+     * @return weight of state.
+     */
+    private static long weightOf(BigDecimal number) {
+        if (CompactDecimal.unscaledOf(number) != INFLATED) {
+            return STATE_OVERHEAD;
+        }
+
+        return STATE_OVERHEAD + number.unscaledValue().bitLength() / 8;
+    }
+}
@@ -0,0 +1,277 @@
+package com.implemica.bormashenko.calculator.model;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Canonicalizing interner of {@code BigDecimal} values, so equal values share one object.
+ * <p>
+ * Values are equal if they are equal by {@code BigDecimal.equals}, i.e. values with different scales are not the same.
+ * Interned values are referenced weakly, so value is kept only while it is used somewhere else. Digits and tenths,
+ * which are typed most often, are kept always. Values with more than {@code MAX_PRECISION} digits are not interned,
+ * because they rarely recur and comparing them takes time.
+ * <p>
+ * Equality check of interned values is finished by identity check if values are equal. Amount of hits and retained
+ * size show whether interning pays off.
+ * <p>
+ * Default interner is used by {@code AppendAndDeleteDigit} for typed numbers, and {@link Calculation} may intern its
+ * results by its own interner. Numbers parsed and formatted by {@code NumberParser} and {@code NumberFormatter} are
+ * deliberately not interned: text on screen changes with each typed digit, so its numbers rarely recur and would only
+ * fill the shared interner.
+ * <p>
+ * All methods are thread-safe. Values are kept in {@code ConcurrentHashMap} and counted by {@code LongAdder}, so
+ * interner has no common lock, and threads interning different values do not block each other. Entries of values
+ * which were collected by garbage collector are removed when values are interned next time.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class NumberInterner {
+
+    /**
+     * Maximal precision of interned values.
+     */
+    private static final int MAX_PRECISION = 34;
+
+    /**
+     * Approximate amount of bytes taken by entry of interner without its value.
+     */
+    private static final long ENTRY_OVERHEAD = 64;
+
+    /**
+     * Approximate amount of bytes taken by {@code BigDecimal} without its digits.
+     */
+    private static final long NUMBER_OVERHEAD = 40;
+
+    /**
+     * Interner used by {@code AppendAndDeleteDigit}.
+     */
+    private static final NumberInterner DEFAULT = new NumberInterner();
+
+    /**
+     * Interned values, each of them referenced weakly by entry, which is both a key and a value.
+     */
+    private final ConcurrentHashMap<Entry, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Queue of entries which values were collected by garbage collector.
+     */
+    private final ReferenceQueue<BigDecimal> collected = new ReferenceQueue<>();
+
+    /**
+     * Values that are referenced strongly, so they are never removed from interner.
+     */
+    private final BigDecimal[] pinned = new BigDecimal[20];
+
+    /**
+     * Amount of values which equal value was already interned.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Amount of values which were interned for the first time.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Amount of values which were not interned because of their precision.
+     */
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Constructor for interner. Digits and tenths are interned at once.
+     */
+    public NumberInterner() {
+        for (int i = 0; i < 10; i++) {
+            pinned[i] = BigDecimal.valueOf(i);
+            pinned[10 + i] = BigDecimal.valueOf(i, 1);
+        }
+
+        for (BigDecimal value : pinned) {
+            Entry entry = new Entry(value, collected);
+            entries.put(entry, entry);
+        }
+    }
+
+    /**
+     * Returns interner shared by {@code AppendAndDeleteDigit}.
+     *
+     * @return default interner.
+     */
+    public static NumberInterner getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns canonical object equal to value.
+     *
+     * @param value value to intern.
+     * @return previously interned object equal to value, or value itself if there is no such or it is too long.
+     */
+    public BigDecimal intern(BigDecimal value) {
+        if (value.precision() > MAX_PRECISION) {
+            skipped.increment();
+            return value;
+        }
+
+        purge();
+
+        Entry found = entries.get(new Lookup(value));
+        BigDecimal interned = found == null ? null : found.get();
+
+        if (interned != null) {
+            hits.increment();
+            return interned;
+        }
+
+        Entry entry = new Entry(value, collected);
+
+        while (true) {
+            found = entries.putIfAbsent(entry, entry);
+
+            if (found == null) {
+                misses.increment();
+                return value;
+            }
+
+            interned = found.get();
+
+            if (interned != null) {
+                hits.increment();
+                return interned;
+            }
+
+            //value of found entry was collected after it was compared with value
+            entries.remove(found);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    /**
+     * Returns amount of values that are interned and still used.
+     *
+     * @return amount of interned values.
+     */
+    public int getSize() {
+        purge();
+
+        return entries.size();
+    }
+
+    /**
+     * Calculates approximate amount of bytes taken by interned values and entries of interner.
+     *
+     * @return retained size of interner.
+     */
+    public long getRetainedSize() {
+        long size = 0;
+
+        for (Entry entry : entries.keySet()) {
+            BigDecimal value = entry.get();
+
+            if (value != null) {
+                size += ENTRY_OVERHEAD + NUMBER_OVERHEAD + value.unscaledValue().bitLength() / 8;
+            }
+        }
+
+        return size;
+    }
+
+    /**
+     * Removes entries which values were collected by garbage collector.
+     */
+    private void purge() {
+        Reference<? extends BigDecimal> reference;
+
+        while ((reference = collected.poll()) != null) {
+            entries.remove(reference);
+        }
+    }
+
+    /**
+     * Weak reference to interned value. Entries are equal if their values are not collected and equal, while entry
+     * which value was collected is equal only to itself, so it can be removed, but it is never found by value.
+     */
+    private static final class Entry extends WeakReference<BigDecimal> {
+
+        /**
+         * Hash code of value, which is kept after value is collected.
+         */
+        private final int hash;
+
+        /**
+         * Constructor for entry.
+         *
+         * @param value value to reference.
+         * @param queue queue to put entry in when value is collected.
+         */
+        private Entry(BigDecimal value, ReferenceQueue<BigDecimal> queue) {
+            super(value, queue);
+            hash = value.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (!(object instanceof Entry)) {
+                return false;
+            }
+
+            BigDecimal value = get();
+
+            return value != null && value.equals(((Entry) object).get());
+        }
+    }
+
+    /**
+     * Key for finding entry by value without creating reference.
+     */
+    private static final class Lookup {
+
+        /**
+         * Value to find.
+         */
+        private final BigDecimal value;
+
+        /**
+         * Constructor for key.
+         *
+         * @param value value to find.
+         */
+        private Lookup(BigDecimal value) {
+            this.value = value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            return object instanceof Entry && value.equals(((Entry) object).get());
+        }
+    }
+}
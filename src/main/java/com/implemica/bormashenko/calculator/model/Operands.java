@@ -0,0 +1,517 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
+import com.implemica.bormashenko.calculator.model.util.CompactDecimal;
+import com.implemica.bormashenko.calculator.model.util.DecimalExpansion;
+import com.implemica.bormashenko.calculator.model.util.OverflowValidation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import static com.implemica.bormashenko.calculator.model.util.CompactDecimal.INFLATED;
+
+/**
+ * Operands and settings passed by {@link Calculation} to {@link CalculatorOperation}.
+ * <p>
+ * Binary operations use first and second numbers, unary operations and percentage use number. Each number has its
+ * unscaled value, which is {@code CompactDecimal.INFLATED} if it does not fit in {@code long}, and its exact value,
+ * which is obtained from decimal number if it is not known. Number which is result of division may have its
+ * {@link Quotient}, which is expanded to the digit limit only when operation requests the number or its exact value.
+ * <p>
+ * Approximate values of numbers are converted from decimal numbers when they are requested. Number that is out of
+ * range of {@code double} is converted to {@code Double.NaN}, so approximate result of operation with it is not
+ * finite. Image of quotient is precise enough for {@code double}, so approximate values do not expand quotients.
+ * <p>
+ * Operation reports whether its result has no trailing zeros and its unscaled value using {@link #strippedResult}
+ * and {@link #compactResult}, so calculation does not need to compute them again. Division reports its quotient
+ * using {@link #quotientResult}, so its result is calculated only to the digits which are needed now. Object is
+ * reused by calculation for all the operations, so passing operands does not allocate anything.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public final class Operands {
+
+    /**
+     * First number of equation.
+     */
+    private BigDecimal first = BigDecimal.ZERO;
+
+    /**
+     * Unscaled value of first number.
+     */
+    private long firstUnscaled = 0;
+
+    /**
+     * Exact value of first number or null if it should be obtained from decimal first number.
+     */
+    private Fraction firstFraction = null;
+
+    /**
+     * Quotient which first number is image of or null if first number is already expanded.
+     */
+    private Quotient firstQuotient = null;
+
+    /**
+     * Second number of equation.
+     */
+    private BigDecimal second = BigDecimal.ZERO;
+
+    /**
+     * Unscaled value of second number.
+     */
+    private long secondUnscaled = 0;
+
+    /**
+     * Exact value of second number or null if it should be obtained from decimal second number.
+     */
+    private Fraction secondFraction = null;
+
+    /**
+     * Quotient which second number is image of or null if second number is already expanded.
+     */
+    private Quotient secondQuotient = null;
+
+    /**
+     * Number for unary operation or percentage.
+     */
+    private BigDecimal number = BigDecimal.ZERO;
+
+    /**
+     * Unscaled value of number.
+     */
+    private long numberUnscaled = 0;
+
+    /**
+     * Exact value of number or null if it should be obtained from decimal number.
+     */
+    private Fraction numberFraction = null;
+
+    /**
+     * Quotient which number is image of or null if number is already expanded.
+     */
+    private Quotient numberQuotient = null;
+
+    /**
+     * Registered implementation of binary operation of equation or null if there is no such.
+     */
+    private CalculatorOperation binaryOperation = null;
+
+    /**
+     * Id of binary operation of equation or -1 if there is no such.
+     */
+    private int binaryOperationId = -1;
+
+    /**
+     * Amount of significant digits in result of square root.
+     */
+    private int sqrtPrecision = 0;
+
+    /**
+     * {@link SquareRoot} engine of calculation.
+     */
+    private SquareRoot squareRoot = null;
+
+    /**
+     * Limit of digits in integer and decimal parts of numbers.
+     */
+    private int digitLimit = OverflowValidation.DEFAULT_DIGIT_LIMIT;
+
+    /**
+     * {@link CancellationToken} of calculation or null if operations can not be cancelled.
+     */
+    private CancellationToken cancellationToken = null;
+
+    /**
+     * Unscaled value of result or {@code CompactDecimal.INFLATED} if it is not known.
+     */
+    private long resultUnscaled = INFLATED;
+
+    /**
+     * True if result has no trailing zeros or false otherwise.
+     */
+    private boolean isResultStripped = false;
+
+    /**
+     * Quotient which result is image of or null if result is already expanded.
+     */
+    private Quotient resultQuotient = null;
+
+    /**
+     * Returns first number expanded to the digit limit. Quotient is expanded when it is requested for the first time.
+     *
+     * @return first number.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal getFirst() {
+        return expansionOf(first, firstQuotient);
+    }
+
+    /**
+     * Returns unscaled value of first number expanded to the digit limit.
+     *
+     * @return unscaled value of first number or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    public long getFirstUnscaled() {
+        return firstQuotient == null ? firstUnscaled : CompactDecimal.unscaledOf(getFirst());
+    }
+
+    /**
+     * Returns exact value of first number.
+     *
+     * @return exact value of first number.
+     */
+    public Fraction getFirstFraction() {
+        return firstFraction == null ? Fraction.valueOf(getFirst()) : firstFraction;
+    }
+
+    /**
+     * Returns sign of first number, which is the same for image of quotient, so quotient is not expanded.
+     *
+     * @return -1, 0 or 1 as first number is negative, zero or positive.
+     */
+    public int getFirstSignum() {
+        return first.signum();
+    }
+
+    /**
+     * Returns approximate value of first number.
+     *
+     * @return {@code double} value of first number or {@code Double.NaN} if it is out of range of {@code double}.
+     */
+    public double getFirstApproximate() {
+        return approximateOf(first);
+    }
+
+    /**
+     * Returns second number expanded to the digit limit. Quotient is expanded when it is requested for the first time.
+     *
+     * @return second number.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal getSecond() {
+        return expansionOf(second, secondQuotient);
+    }
+
+    /**
+     * Returns unscaled value of second number expanded to the digit limit.
+     *
+     * @return unscaled value of second number or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    public long getSecondUnscaled() {
+        return secondQuotient == null ? secondUnscaled : CompactDecimal.unscaledOf(getSecond());
+    }
+
+    /**
+     * Returns exact value of second number.
+     *
+     * @return exact value of second number.
+     */
+    public Fraction getSecondFraction() {
+        return secondFraction == null ? Fraction.valueOf(getSecond()) : secondFraction;
+    }
+
+    /**
+     * Returns sign of second number, which is the same for image of quotient, so quotient is not expanded.
+     *
+     * @return -1, 0 or 1 as second number is negative, zero or positive.
+     */
+    public int getSecondSignum() {
+        return second.signum();
+    }
+
+    /**
+     * Returns approximate value of second number.
+     *
+     * @return {@code double} value of second number or {@code Double.NaN} if it is out of range of {@code double}.
+     */
+    public double getSecondApproximate() {
+        return approximateOf(second);
+    }
+
+    /**
+     * Returns number expanded to the digit limit. Quotient is expanded when it is requested for the first time.
+     *
+     * @return number.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal getNumber() {
+        return expansionOf(number, numberQuotient);
+    }
+
+    /**
+     * Returns unscaled value of number expanded to the digit limit.
+     *
+     * @return unscaled value of number or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    public long getNumberUnscaled() {
+        return numberQuotient == null ? numberUnscaled : CompactDecimal.unscaledOf(getNumber());
+    }
+
+    /**
+     * Returns quotient which number is image of, so operation may use it without expanding number.
+     *
+     * @return {@link Quotient} of number or null if number is already expanded.
+     */
+    public Quotient getNumberQuotient() {
+        return numberQuotient;
+    }
+
+    /**
+     * Returns exact value of number.
+     *
+     * @return exact value of number.
+     */
+    public Fraction getNumberFraction() {
+        return numberFraction == null ? Fraction.valueOf(getNumber()) : numberFraction;
+    }
+
+    /**
+     * Returns sign of number, which is the same for image of quotient, so quotient is not expanded.
+     *
+     * @return -1, 0 or 1 as number is negative, zero or positive.
+     */
+    public int getNumberSignum() {
+        return number.signum();
+    }
+
+    /**
+     * Returns approximate value of number.
+     *
+     * @return {@code double} value of number or {@code Double.NaN} if it is out of range of {@code double}.
+     */
+    public double getNumberApproximate() {
+        return approximateOf(number);
+    }
+
+    public CalculatorOperation getBinaryOperation() {
+        return binaryOperation;
+    }
+
+    public int getBinaryOperationId() {
+        return binaryOperationId;
+    }
+
+    public int getSqrtPrecision() {
+        return sqrtPrecision;
+    }
+
+    public SquareRoot getSquareRoot() {
+        return squareRoot;
+    }
+
+    public int getDigitLimit() {
+        return digitLimit;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    long getResultUnscaled() {
+        return resultUnscaled;
+    }
+
+    boolean isResultStripped() {
+        return isResultStripped;
+    }
+
+    Quotient getResultQuotient() {
+        return resultQuotient;
+    }
+
+    /**
+     * Marks result of operation as already having no trailing zeros.
+     *
+     * @param result result of operation without trailing zeros.
+     * @return the same result.
+     */
+    public BigDecimal strippedResult(BigDecimal result) {
+        isResultStripped = true;
+
+        return result;
+    }
+
+    /**
+     * Creates result of operation from compact number without trailing zeros.
+     *
+     * @param unscaled unscaled value of result or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @param scale    scale of result.
+     * @return result of operation or null if it can not be represented as compact number.
+     */
+    public BigDecimal compactResult(long unscaled, long scale) {
+        if (unscaled == INFLATED || !CompactDecimal.isScaleInRange(scale)) {
+            resultUnscaled = INFLATED;
+            return null;
+        }
+
+        isResultStripped = true;
+
+        if (unscaled == 0) {
+            resultUnscaled = 0;
+            return BigDecimal.ZERO;
+        }
+
+        resultUnscaled = CompactDecimal.stripTrailingZeros(unscaled);
+
+        return BigDecimal.valueOf(resultUnscaled, (int) (scale - CompactDecimal.trailingZeros(unscaled)));
+    }
+
+    /**
+     * Creates result of operation as quotient of numbers.
+     * <p>
+     * If quotient has finite expansion which is found by {@code DecimalExpansion.finiteQuotient}, or if quotient
+     * expanded to the digit limit has no more than {@code Quotient.IMAGE_PRECISION} significant digits, it is returned
+     * as is. Otherwise, only image of quotient is calculated and returned, while its {@link Quotient} is saved for
+     * calculation, so the rest of digits are calculated on demand. Image is truncated as {@code Fraction.toBigDecimal}
+     * does, so rounding it to digits shown on screen gives the same digits as rounding the exact quotient.
+     *
+     * @param dividend non-zero number to divide.
+     * @param divisor  non-zero number to divide on.
+     * @return quotient or its image without trailing zeros.
+     * @throws CancelledException if division was cancelled by {@link CancellationToken}.
+     */
+    public BigDecimal quotientResult(BigDecimal dividend, BigDecimal divisor) {
+        isResultStripped = true;
+        BigDecimal result = DecimalExpansion.finiteQuotient(dividend, divisor, digitLimit, cancellationToken);
+
+        if (result != null) {
+            return result;
+        }
+
+        long scale = DecimalExpansion.precisionScale(dividend, divisor, Quotient.IMAGE_PRECISION);
+
+        if (scale >= digitLimit) {
+            return DecimalExpansion.expand(dividend, divisor, digitLimit, cancellationToken);
+        }
+
+        //quotient has no finite expansion shorter than digit limit, so the rest of digits after truncated ones is not
+        //zero, and appended digit 1 keeps it for rounding the image again
+        BigDecimal truncated = dividend.divide(divisor, (int) scale, RoundingMode.DOWN);
+        BigInteger sticky = truncated.unscaledValue().multiply(BigInteger.TEN)
+                .add(BigInteger.valueOf(truncated.signum()));
+
+        result = new BigDecimal(sticky, (int) scale + 1);
+        resultQuotient = new Quotient(dividend, divisor, digitLimit, result);
+
+        return result;
+    }
+
+    /**
+     * Sets first and second numbers and clears information about result.
+     *
+     * @param first          first number.
+     * @param firstUnscaled  unscaled value of first number.
+     * @param firstFraction  exact value of first number or null if it should be obtained from decimal number.
+     * @param firstQuotient  quotient which first number is image of or null if first number is already expanded.
+     * @param second         second number.
+     * @param secondUnscaled unscaled value of second number.
+     * @param secondFraction exact value of second number or null if it should be obtained from decimal number.
+     * @param secondQuotient quotient which second number is image of or null if second number is already expanded.
+     */
+    void setNumbers(BigDecimal first, long firstUnscaled, Fraction firstFraction, Quotient firstQuotient,
+                    BigDecimal second, long secondUnscaled, Fraction secondFraction, Quotient secondQuotient) {
+        this.first = first;
+        this.firstUnscaled = firstUnscaled;
+        this.firstFraction = firstFraction;
+        this.firstQuotient = firstQuotient;
+        this.second = second;
+        this.secondUnscaled = secondUnscaled;
+        this.secondFraction = secondFraction;
+        this.secondQuotient = secondQuotient;
+
+        resultUnscaled = INFLATED;
+        isResultStripped = false;
+        resultQuotient = null;
+    }
+
+    /**
+     * Sets number for unary operation or percentage.
+     *
+     * @param number         number to perform operation.
+     * @param numberUnscaled unscaled value of number.
+     * @param numberFraction exact value of number or null if it should be obtained from decimal number.
+     * @param numberQuotient quotient which number is image of or null if number is already expanded.
+     */
+    void setNumber(BigDecimal number, long numberUnscaled, Fraction numberFraction, Quotient numberQuotient) {
+        this.number = number;
+        this.numberUnscaled = numberUnscaled;
+        this.numberFraction = numberFraction;
+        this.numberQuotient = numberQuotient;
+    }
+
+    /**
+     * Sets binary operation and settings of calculation.
+     *
+     * @param binaryOperationId id of binary operation of equation or -1 if there is no such.
+     * @param binaryOperation   registered implementation of binary operation or null if there is no such.
+     * @param sqrtPrecision     amount of significant digits in result of square root.
+     * @param squareRoot        {@link SquareRoot} engine of calculation.
+     * @param digitLimit        limit of digits in integer and decimal parts of numbers.
+     * @param cancellationToken {@link CancellationToken} of calculation or null if operations can not be cancelled.
+     */
+    void setSettings(int binaryOperationId, CalculatorOperation binaryOperation, int sqrtPrecision,
+                     SquareRoot squareRoot, int digitLimit, CancellationToken cancellationToken) {
+        this.binaryOperationId = binaryOperationId;
+        this.binaryOperation = binaryOperation;
+        this.sqrtPrecision = sqrtPrecision;
+        this.squareRoot = squareRoot;
+        this.digitLimit = digitLimit;
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Saves information about result that was obtained without operation.
+     *
+     * @param unscaled unscaled value of result or {@code CompactDecimal.INFLATED} if it does not fit in {@code long}.
+     * @param stripped true if result has no trailing zeros or false otherwise.
+     */
+    void setResult(long unscaled, boolean stripped) {
+        resultUnscaled = unscaled;
+        isResultStripped = stripped;
+        resultQuotient = null;
+    }
+
+    /**
+     * Clears numbers, operation and information about result, so object does not keep references to numbers of
+     * previous operations. Engine of square root is kept, as it belongs to calculation.
+     */
+    void clear() {
+        setNumbers(BigDecimal.ZERO, 0, null, null, BigDecimal.ZERO, 0, null, null);
+        setNumber(BigDecimal.ZERO, 0, null, null);
+        binaryOperationId = -1;
+        binaryOperation = null;
+        cancellationToken = null;
+    }
+
+    /**
+     * Returns number expanded to the digit limit.
+     *
+     * @param number   number or image of quotient.
+     * @param quotient quotient which number is image of or null if number is already expanded.
+     * @return number expanded to the digit limit.
+     * @throws CancelledException if expanding was cancelled by {@link CancellationToken}.
+     */
+    private BigDecimal expansionOf(BigDecimal number, Quotient quotient) {
+        return quotient == null ? number : quotient.expand(cancellationToken);
+    }
+
+    /**
+     * Converts number to {@code double}.
+     *
+     * @param number number to convert.
+     * @return {@code double} value of number or {@code Double.NaN} if it is out of range of {@code double}.
+     */
+    private static double approximateOf(BigDecimal number) {
+        double approximate = number.doubleValue();
+
+        if (Double.isInfinite(approximate) || approximate == 0 && number.signum() != 0) {
+            return Double.NaN;
+        }
+
+        return approximate;
+    }
+}
@@ -0,0 +1,172 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.enums.Operation;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registry of {@link CalculatorOperation} implementations used by {@link Calculation}.
+ * <p>
+ * Each implementation is registered by its name and gets id, which is index of implementation in array, so finding
+ * implementation is a single array access. {@link StandardOperation} implementations are registered first in order of
+ * {@link Operation} values, so id of standard operation is its ordinal. Registering implementation with name that is
+ * already registered replaces the previous one and keeps its id, so new operations do not require changing
+ * {@link Operation}.
+ * <p>
+ * Each calculation uses its own registry, {@code STANDARD} by default, which can not be changed. Registering copies
+ * the arrays, so finding implementation is thread-safe and does not need locking.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class OperationRegistry {
+
+    /**
+     * Registry of {@link StandardOperation} implementations, which can not be changed.
+     */
+    public static final OperationRegistry STANDARD = new OperationRegistry(true);
+
+    /**
+     * {@link Operation} values indexed by their ids.
+     */
+    private static final Operation[] STANDARD_OPERATIONS = Operation.values();
+
+    /**
+     * True if registry can not be changed or false otherwise.
+     */
+    private final boolean isFixed;
+
+    /**
+     * Registered implementations indexed by id.
+     */
+    private volatile CalculatorOperation[] operations = new CalculatorOperation[0];
+
+    /**
+     * Ids of registered implementations by their names.
+     */
+    private volatile Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Constructor for registry with {@link StandardOperation} implementations, which can be replaced and supplemented.
+     */
+    public OperationRegistry() {
+        this(false);
+    }
+
+    /**
+     * Constructor for registry with {@link StandardOperation} implementations.
+     *
+     * @param isFixed true if registry can not be changed or false otherwise.
+     */
+    private OperationRegistry(boolean isFixed) {
+        for (StandardOperation operation : StandardOperation.values()) {
+            add(operation);
+        }
+
+        this.isFixed = isFixed;
+    }
+
+    /**
+     * Registers implementation by its name, replacing the previous one with the same name.
+     *
+     * @param operation implementation to register.
+     * @return id of implementation.
+     * @throws IllegalStateException if registry can not be changed.
+     */
+    public synchronized int register(CalculatorOperation operation) {
+        if (isFixed) {
+            throw new IllegalStateException("Standard registry can not be changed");
+        }
+
+        return add(operation);
+    }
+
+    /**
+     * Finds implementation by id.
+     *
+     * @param id id of implementation.
+     * @return registered implementation.
+     * @throws IllegalArgumentException if there is no implementation with the id.
+     */
+    public CalculatorOperation get(int id) {
+        CalculatorOperation[] registered = operations;
+
+        if (id < 0 || id >= registered.length) {
+            throw new IllegalArgumentException("Expected: id of registered operation. Got: " + id);
+        }
+
+        return registered[id];
+    }
+
+    /**
+     * Finds implementation of standard operation.
+     *
+     * @param operation {@link Operation} to find implementation for.
+     * @return registered implementation.
+     */
+    public CalculatorOperation get(Operation operation) {
+        return operations[operation.ordinal()];
+    }
+
+    /**
+     * Finds id of implementation by its name.
+     *
+     * @param name name of implementation.
+     * @return id of implementation or -1 if there is no implementation with the name.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns id of standard operation, which is the same in all registries.
+     *
+     * @param operation {@link Operation} to find id for.
+     * @return id of operation.
+     */
+    public static int idOf(Operation operation) {
+        return operation.ordinal();
+    }
+
+    /**
+     * Returns standard operation by its id.
+     *
+     * @param id id of operation.
+     * @return {@link Operation} with the id or null if id is not id of standard operation.
+     */
+    public static Operation operationOf(int id) {
+        return id >= 0 && id < STANDARD_OPERATIONS.length ? STANDARD_OPERATIONS[id] : null;
+    }
+
+    /**
+     * Adds implementation to copies of arrays and publishes them.
+     *
+     * @param operation implementation to add.
+     * @return id of implementation.
+     */
+    private int add(CalculatorOperation operation) {
+        Integer id = ids.get(operation.getName());
+
+        if (id != null) {
+            CalculatorOperation[] registered = operations.clone();
+            registered[id] = operation;
+            operations = registered;
+
+            return id;
+        }
+
+        //array is published before id, so id found by name is always valid
+        CalculatorOperation[] registered = Arrays.copyOf(operations, operations.length + 1);
+        registered[operations.length] = operation;
+        operations = registered;
+
+        Map<String, Integer> registeredIds = new HashMap<>(ids);
+        registeredIds.put(operation.getName(), registered.length - 1);
+        ids = registeredIds;
+
+        return registered.length - 1;
+    }
+}
@@ -0,0 +1,162 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
+import com.implemica.bormashenko.calculator.model.util.DecimalExpansion;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable quotient of decimal numbers which is expanded to the digit limit only on demand.
+ * <p>
+ * Quotient of division that has no short finite expansion is kept as dividend and divisor together with its image,
+ * i.e. quotient truncated to at least {@code IMAGE_PRECISION} significant digits, which are the digits shown on screen
+ * and guard digits, followed by digit 1 that stands for the non-zero rest of digits. Such image is rounded to digits
+ * shown on screen the same way as the exact quotient, so it is enough for displaying the quotient, while the expansion
+ * to {@code digitLimit} decimal digits is calculated only if memory, export or the next operation needs it. Expansion
+ * is the same as quotient which was calculated by {@code DecimalExpansion.quotient} at once, and it is calculated only
+ * once.
+ * <p>
+ * Quotient may be shared by several calculations and used on different threads.
+ *
+ * @author Mykhailo Bormashenko
+ * @see DecimalExpansion
+ */
+public final class Quotient {
+
+    /**
+     * Amount of significant digits of number shown on screen.
+     */
+    public static final int DISPLAYED_DIGITS = 16;
+
+    /**
+     * Amount of significant digits of image that are not shown on screen, so rounding of shown digits is right.
+     */
+    public static final int GUARD_DIGITS = 18;
+
+    /**
+     * Amount of significant digits of image.
+     */
+    public static final int IMAGE_PRECISION = DISPLAYED_DIGITS + GUARD_DIGITS;
+
+    /**
+     * Number that is divided.
+     */
+    private final BigDecimal dividend;
+
+    /**
+     * Non-zero number that dividend is divided on.
+     */
+    private final BigDecimal divisor;
+
+    /**
+     * Limit of digits in decimal part of expansion.
+     */
+    private final int digitLimit;
+
+    /**
+     * Quotient truncated to at least {@code IMAGE_PRECISION} significant digits and followed by digit 1.
+     */
+    private final BigDecimal image;
+
+    /**
+     * Quotient rounded to {@code digitLimit} decimal digits without trailing zeros or null if it was not calculated
+     * yet. Expansions calculated on different threads are equal, so any of them may be saved.
+     */
+    private volatile BigDecimal expansion = null;
+
+    /**
+     * Constructor for quotient.
+     *
+     * @param dividend   number that is divided.
+     * @param divisor    non-zero number that dividend is divided on.
+     * @param digitLimit limit of digits in decimal part of expansion.
+     * @param image      quotient truncated to at least {@code IMAGE_PRECISION} significant digits and followed by
+     *                   digit 1.
+     */
+    Quotient(BigDecimal dividend, BigDecimal divisor, int digitLimit, BigDecimal image) {
+        this.dividend = dividend;
+        this.divisor = divisor;
+        this.digitLimit = digitLimit;
+        this.image = image;
+    }
+
+    public BigDecimal getDividend() {
+        return dividend;
+    }
+
+    public BigDecimal getDivisor() {
+        return divisor;
+    }
+
+    public int getDigitLimit() {
+        return digitLimit;
+    }
+
+    public BigDecimal getImage() {
+        return image;
+    }
+
+    /**
+     * Checks whether quotient was already expanded to the digit limit.
+     *
+     * @return true if expansion is calculated or false otherwise.
+     */
+    public boolean isExpanded() {
+        return expansion != null;
+    }
+
+    /**
+     * Expands quotient to the digit limit.
+     *
+     * @return quotient rounded to {@code digitLimit} decimal digits without trailing zeros.
+     */
+    public BigDecimal expand() {
+        return expand(null);
+    }
+
+    /**
+     * Expands quotient to the digit limit checking cancellation token. If expanding is cancelled, nothing is saved, so
+     * it can be repeated later.
+     *
+     * @param token token to check or null if expanding can not be cancelled.
+     * @return quotient rounded to {@code digitLimit} decimal digits without trailing zeros.
+     * @throws CancelledException if token is cancelled.
+     */
+    public BigDecimal expand(CancellationToken token) {
+        BigDecimal result = expansion;
+
+        if (result == null) {
+            result = DecimalExpansion.quotient(dividend, divisor, digitLimit, token);
+            expansion = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Expands quotient to the required amount of significant digits, but not further than to the digit limit. Digits
+     * of image are extended without expanding quotient to the digit limit.
+     *
+     * @param precision required amount of significant digits.
+     * @return quotient with at least {@code precision} significant digits unless it is expanded to the digit limit,
+     * without trailing zeros.
+     * @throws IllegalArgumentException if precision is not positive.
+     */
+    public BigDecimal toBigDecimal(int precision) {
+        if (precision <= 0) {
+            throw new IllegalArgumentException("Expected: positive precision. Got: " + precision);
+        }
+
+        if (precision <= IMAGE_PRECISION) {
+            return image;
+        }
+
+        long scale = DecimalExpansion.precisionScale(dividend, divisor, precision);
+
+        if (expansion != null || scale >= digitLimit) {
+            return expand();
+        }
+
+        return DecimalExpansion.expand(dividend, divisor, (int) scale, null);
+    }
+}
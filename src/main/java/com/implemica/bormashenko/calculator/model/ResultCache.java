@@ -0,0 +1,257 @@
+package com.implemica.bormashenko.calculator.model;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded cache of operation results, which can be shared by several {@link Calculation} objects.
+ * <p>
+ * Results are kept by {@link CalculatorOperation} implementation and its operands, so results of implementation are
+ * never returned for another implementation of the same operation. Cache is bounded by summary weight of its entries,
+ * where weight of entry is approximate amount of bytes taken by its numbers, so a few huge numbers can not take all
+ * the cache. If the bound is reached, the least recently used entries are evicted.
+ * <p>
+ * All methods are thread-safe.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class ResultCache {
+
+    /**
+     * Approximate amount of bytes taken by entry without its numbers' digits.
+     */
+    private static final long ENTRY_OVERHEAD = 128;
+
+    /**
+     * Approximate amount of bytes taken by {@code BigDecimal} without its digits.
+     */
+    private static final long NUMBER_OVERHEAD = 40;
+
+    /**
+     * Entries of cache in access order.
+     */
+    private final LinkedHashMap<Key, BigDecimal> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Maximal summary weight of entries.
+     */
+    private final long maxWeight;
+
+    /**
+     * Current summary weight of entries.
+     */
+    private long weight = 0;
+
+    /**
+     * Amount of found results.
+     */
+    private long hits = 0;
+
+    /**
+     * Amount of results that were not found.
+     */
+    private long misses = 0;
+
+    /**
+     * Amount of evicted entries.
+     */
+    private long evictions = 0;
+
+    /**
+     * Constructor for cache.
+     *
+     * @param maxWeight maximal summary weight of entries, i.e. approximate amount of bytes taken by cached numbers.
+     * @throws IllegalArgumentException if weight is not positive.
+     */
+    public ResultCache(long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Expected: positive weight. Got: " + maxWeight);
+        }
+
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Finds result of operation.
+     *
+     * @param operation {@link CalculatorOperation} implementation that was performed.
+     * @param first     first operand.
+     * @param second    second operand or null if there is no such.
+     * @param precision precision of operation or 0 if operation does not depend on it.
+     * @return cached result or null if there is no such.
+     */
+    public synchronized BigDecimal get(CalculatorOperation operation, BigDecimal first, BigDecimal second,
+                                       int precision) {
+        BigDecimal result = entries.get(new Key(operation, first, second, precision));
+
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+
+        return result;
+    }
+
+    /**
+     * Saves result of operation. Least recently used entries are evicted if bound is reached. Result which is heavier
+     * than bound itself is not saved.
+     *
+     * @param operation {@link CalculatorOperation} implementation that was performed.
+     * @param first     first operand.
+     * @param second    second operand or null if there is no such.
+     * @param precision precision of operation or 0 if operation does not depend on it.
+     * @param result    result of operation.
+     */
+    public synchronized void put(CalculatorOperation operation, BigDecimal first, BigDecimal second, int precision,
+                                 BigDecimal result) {
+        Key key = new Key(operation, first, second, precision);
+        long entryWeight = key.weight + weightOf(result);
+
+        if (entryWeight > maxWeight) {
+            return;
+        }
+
+        BigDecimal previous = entries.put(key, result);
+
+        if (previous != null) {
+            weight -= key.weight + weightOf(previous);
+        }
+
+        weight += entryWeight;
+
+        Iterator<Map.Entry<Key, BigDecimal>> iterator = entries.entrySet().iterator();
+
+        while (weight > maxWeight) {
+            Map.Entry<Key, BigDecimal> eldest = iterator.next();
+
+            weight -= eldest.getKey().weight + weightOf(eldest.getValue());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes all entries from cache. Counters stay the same.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Calculates approximate amount of bytes taken by number.
+     *
+     * @param number number to calculate weight of or null.
+     * @return weight of number.
+     */
+    private static long weightOf(BigDecimal number) {
+        if (number == null) {
+            return 0;
+        }
+
+        return NUMBER_OVERHEAD + number.unscaledValue().bitLength() / 8;
+    }
+
+    /**
+     * Key of cache's entry.
+     */
+    private static final class Key {
+
+        /**
+         * {@link CalculatorOperation} implementation that was performed.
+         */
+        private final CalculatorOperation operation;
+
+        /**
+         * First operand.
+         */
+        private final BigDecimal first;
+
+        /**
+         * Second operand or null if there is no such.
+         */
+        private final BigDecimal second;
+
+        /**
+         * Precision of operation or 0 if operation does not depend on it.
+         */
+        private final int precision;
+
+        /**
+         * Hash code of key, calculated once because hash code of huge number takes time.
+         */
+        private final int hash;
+
+        /**
+         * Approximate amount of bytes taken by key.
+         */
+        private final long weight;
+
+        /**
+         * Constructor for key.
+         *
+         * @param operation {@link CalculatorOperation} implementation that was performed.
+         * @param first     first operand.
+         * @param second    second operand or null if there is no such.
+         * @param precision precision of operation or 0 if operation does not depend on it.
+         */
+        private Key(CalculatorOperation operation, BigDecimal first, BigDecimal second, int precision) {
+            this.operation = operation;
+            this.first = first;
+            this.second = second;
+            this.precision = precision;
+
+            hash = Objects.hash(operation, first, second, precision);
+            weight = ENTRY_OVERHEAD + weightOf(first) + weightOf(second);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) o;
+
+            return hash == key.hash && operation == key.operation && precision == key.precision &&
+                    first.equals(key.first) && Objects.equals(second, key.second);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Registry of calculation sessions, each of them has its own {@link Calculation} and {@link Memory}.
+ * <p>
+ * Sessions are kept in stripes chosen by hash of session's id, and each stripe has its own lock, so sessions of
+ * different stripes never contend. Stripe is locked only to find or create session, while operations are performed
+ * under the lock of session itself, so long operation does not block other sessions of the same stripe, and
+ * operations of one session are performed one by one.
+ * <p>
+ * Sessions which were not used for longer than time to live are evicted when their stripe is used or when
+ * {@link #evictIdle()} is called. Registry is also bounded by summary weight of sessions, where weight of session is
+ * approximate amount of bytes taken by its numbers and memory. If the bound is reached, the least recently used
+ * sessions of stripes are evicted one by one, stripe after stripe. Evicted session starts from scratch when it is used
+ * next time.
+ * <p>
+ * Session is pinned from the moment it is found for a task until the task is finished, and pinned sessions are never
+ * evicted, so state of session is not lost while it is used. Only {@link #remove(String)} removes pinned session, and
+ * task which waited for the lock of removed session is performed with a new session.
+ * <p>
+ * All methods are thread-safe.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class SessionRegistry {
+
+    /**
+     * Amount of stripes, should be a power of two.
+     */
+    private static final int STRIPES = 64;
+
+    /**
+     * Approximate amount of bytes taken by session with empty calculation and memory.
+     */
+    private static final long SESSION_OVERHEAD = 512;
+
+    /**
+     * Stripes of sessions.
+     */
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    /**
+     * Time to live of unused session in nanoseconds.
+     */
+    private final long timeToLive;
+
+    /**
+     * Maximal summary weight of sessions.
+     */
+    private final long maxWeight;
+
+    /**
+     * {@code Calculation} which is forked for new sessions or null if sessions start with default settings.
+     */
+    private final Calculation prototype;
+
+    /**
+     * Source of current time in nanoseconds, which is {@code System.nanoTime()} unless registry is tested.
+     */
+    private final LongSupplier nanoTime;
+
+    /**
+     * Amount of sessions.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Summary weight of sessions.
+     */
+    private final AtomicLong weight = new AtomicLong();
+
+    /**
+     * Amount of sessions evicted because of time to live or weight bound.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Index of the next stripe to evict session from if weight bound is reached.
+     */
+    private final AtomicInteger evictionCursor = new AtomicInteger();
+
+    /**
+     * Constructor for registry which sessions start with default settings.
+     *
+     * @param timeToLive positive time to live of unused session.
+     * @param unit       unit of time to live.
+     * @param maxWeight  maximal summary weight of sessions, i.e. approximate amount of bytes taken by them.
+     * @throws IllegalArgumentException if time to live or weight is not positive.
+     */
+    public SessionRegistry(long timeToLive, TimeUnit unit, long maxWeight) {
+        this(null, timeToLive, unit, maxWeight);
+    }
+
+    /**
+     * Constructor for registry which sessions start as branches of prototype. Prototype should not be changed after
+     * registry is created.
+     *
+     * @param prototype  {@link Calculation} which is forked for new sessions or null if sessions start with default
+     *                   settings.
+     * @param timeToLive positive time to live of unused session.
+     * @param unit       unit of time to live.
+     * @param maxWeight  maximal summary weight of sessions, i.e. approximate amount of bytes taken by them.
+     * @throws IllegalArgumentException if time to live or weight is not positive.
+     */
+    public SessionRegistry(Calculation prototype, long timeToLive, TimeUnit unit, long maxWeight) {
+        this(prototype, timeToLive, unit, maxWeight, System::nanoTime);
+    }
+
+    /**
+     * Constructor for registry with its own source of time, so expiration can be tested without waiting.
+     *
+     * @param prototype  {@link Calculation} which is forked for new sessions or null if sessions start with default
+     *                   settings.
+     * @param timeToLive positive time to live of unused session.
+     * @param unit       unit of time to live.
+     * @param maxWeight  maximal summary weight of sessions, i.e. approximate amount of bytes taken by them.
+     * @param nanoTime   source of current time in nanoseconds.
+     * @throws IllegalArgumentException if time to live or weight is not positive.
+     */
+    SessionRegistry(Calculation prototype, long timeToLive, TimeUnit unit, long maxWeight, LongSupplier nanoTime) {
+        if (timeToLive <= 0) {
+            throw new IllegalArgumentException("Expected: positive time to live. Got: " + timeToLive);
+        }
+
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("Expected: positive weight. Got: " + maxWeight);
+        }
+
+        this.prototype = prototype;
+        this.timeToLive = unit.toNanos(timeToLive);
+        this.maxWeight = maxWeight;
+        this.nanoTime = nanoTime;
+
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Performs task with calculation and memory of session. Session is created if there is no such. Tasks of the same
+     * session are performed one by one, tasks of different sessions can be performed concurrently.
+     *
+     * @param id   id of session.
+     * @param task {@link Task} to perform.
+     * @param <T>  type of task's result.
+     * @return result of task.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    public <T> T execute(String id, Task<T> task) throws OverflowException, DivideZeroByZeroException,
+            DivideByZeroException, NegativeRootException {
+        Stripe stripe = stripeOf(id);
+
+        try {
+            while (true) {
+                Session session = acquire(stripe, id);
+
+                synchronized (session) {
+                    try {
+                        //session could be removed while its lock was awaited
+                        if (session.isRegistered) {
+                            return task.perform(session.calculation, session.memory);
+                        }
+                    } finally {
+                        release(stripe, session, weightOf(session));
+                    }
+                }
+            }
+        } finally {
+            evictOverweight();
+        }
+    }
+
+    /**
+     * Removes session.
+     *
+     * @param id id of session.
+     * @return true if session was removed or false if there is no such.
+     */
+    public boolean remove(String id) {
+        Stripe stripe = stripeOf(id);
+
+        synchronized (stripe) {
+            Session session = stripe.sessions.remove(id);
+
+            if (session == null) {
+                return false;
+            }
+
+            unregister(session);
+
+            return true;
+        }
+    }
+
+    /**
+     * Checks that there is session with id.
+     *
+     * @param id id of session.
+     * @return true if session exists and its time to live has not passed or false otherwise.
+     */
+    public boolean contains(String id) {
+        Stripe stripe = stripeOf(id);
+
+        synchronized (stripe) {
+            evictExpired(stripe, nanoTime.getAsLong());
+
+            return stripe.sessions.containsKey(id);
+        }
+    }
+
+    /**
+     * Evicts sessions of all stripes which were not used for longer than time to live.
+     *
+     * @return amount of evicted sessions.
+     */
+    public int evictIdle() {
+        long now = nanoTime.getAsLong();
+        int evicted = 0;
+
+        for (Stripe stripe : stripes) {
+
+            synchronized (stripe) {
+                evicted += evictExpired(stripe, now);
+            }
+        }
+
+        return evicted;
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public long getWeight() {
+        return weight.get();
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Finds session in stripe or creates it, marks it as used and pins it, so it is not evicted until it is released.
+     *
+     * @param stripe stripe of session.
+     * @param id     id of session.
+     * @return pinned session with the id.
+     */
+    private Session acquire(Stripe stripe, String id) {
+        long now = nanoTime.getAsLong();
+
+        synchronized (stripe) {
+            evictExpired(stripe, now);
+            Session session = stripe.sessions.get(id);
+
+            if (session == null) {
+                Calculation calculation = prototype == null ? new Calculation() : prototype.fork();
+                session = new Session(calculation, new Memory());
+
+                stripe.sessions.put(id, session);
+                size.incrementAndGet();
+                weight.addAndGet(session.weight);
+            }
+
+            session.lastAccess = now;
+            session.pins++;
+
+            return session;
+        }
+    }
+
+    /**
+     * Unpins session, marks it as used and updates its weight if it is still registered.
+     *
+     * @param stripe        stripe of session.
+     * @param session       pinned session.
+     * @param sessionWeight new weight of session.
+     */
+    private void release(Stripe stripe, Session session, long sessionWeight) {
+        long now = nanoTime.getAsLong();
+
+        synchronized (stripe) {
+            session.pins--;
+            session.lastAccess = now;
+
+            if (session.isRegistered) {
+                weight.addAndGet(sessionWeight - session.weight);
+                session.weight = sessionWeight;
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used not pinned sessions of stripes one by one while weight bound is exceeded. Stops if
+     * there is nothing to evict in all stripes one after another, i.e. all sessions are pinned.
+     */
+    private void evictOverweight() {
+        int emptyStripes = 0;
+
+        while (weight.get() > maxWeight && emptyStripes < STRIPES) {
+            Stripe stripe = stripes[evictionCursor.getAndIncrement() & (STRIPES - 1)];
+
+            synchronized (stripe) {
+                if (evictEldest(stripe)) {
+                    emptyStripes = 0;
+                } else {
+                    emptyStripes++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Evicts the least recently used not pinned session of stripe.
+     *
+     * @param stripe stripe to evict session from, which lock is held.
+     * @return true if session was evicted or false if there is no session which is not pinned.
+     */
+    private boolean evictEldest(Stripe stripe) {
+        Iterator<Session> iterator = stripe.sessions.values().iterator();
+
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+
+            if (session.pins == 0) {
+                unregister(session);
+                iterator.remove();
+                evictions.incrementAndGet();
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Evicts sessions of stripe which were not used for longer than time to live. Sessions are kept in access order, so
+     * only expired sessions, pinned sessions before them and one more are checked.
+     *
+     * @param stripe stripe to evict sessions from, which lock is held.
+     * @param now    current time in nanoseconds.
+     * @return amount of evicted sessions.
+     */
+    private int evictExpired(Stripe stripe, long now) {
+        Iterator<Session> iterator = stripe.sessions.values().iterator();
+        int evicted = 0;
+
+        while (iterator.hasNext()) {
+            Session session = iterator.next();
+
+            if (session.pins > 0) {
+                continue;
+            }
+
+            if (now - session.lastAccess < timeToLive) {
+                break;
+            }
+
+            unregister(session);
+            iterator.remove();
+            evicted++;
+        }
+
+        evictions.addAndGet(evicted);
+
+        return evicted;
+    }
+
+    /**
+     * Subtracts session from size and weight of registry. Lock of session's stripe should be held.
+     *
+     * @param session removed session.
+     */
+    private void unregister(Session session) {
+        session.isRegistered = false;
+        size.decrementAndGet();
+        weight.addAndGet(-session.weight);
+    }
+
+    /**
+     * Returns stripe of session.
+     *
+     * @param id id of session.
+     * @return stripe which keeps session.
+     */
+    private Stripe stripeOf(String id) {
+        int hash = id.hashCode();
+
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    /**
+     * Calculates approximate amount of bytes taken by session. Lock of session should be held. Weights of calculation
+     * and memory are updated by them when numbers are saved, so nothing is calculated here.
+     *
+     * @param session session to calculate weight of.
+     * @return weight of session.
+     */
+    private static long weightOf(Session session) {
+        return SESSION_OVERHEAD + session.calculation.getWeight() + session.memory.snapshot().getWeight();
+    }
+
+    /**
+     * Task performed with calculation and memory of session.
+     *
+     * @param <T> type of task's result.
+     */
+    public interface Task<T> {
+
+        /**
+         * Performs task.
+         *
+         * @param calculation {@link Calculation} of session.
+         * @param memory      {@link Memory} of session.
+         * @return result of task.
+         * @throws OverflowException         if overflow validation failed.
+         * @throws DivideZeroByZeroException if trying to divide zero by zero.
+         * @throws DivideByZeroException     if trying to divide by zero.
+         * @throws NegativeRootException     if trying to calculate negative root.
+         */
+        T perform(Calculation calculation, Memory memory) throws OverflowException, DivideZeroByZeroException,
+                DivideByZeroException, NegativeRootException;
+    }
+
+    /**
+     * Sessions of one stripe in access order. Object itself is the lock of stripe.
+     */
+    private static final class Stripe {
+
+        /**
+         * Sessions by their ids, from the least recently used to the most recently used.
+         */
+        private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Calculation and memory of one session. Object itself is the lock of session, while other fields are guarded by
+     * the lock of session's stripe.
+     */
+    private static final class Session {
+
+        /**
+         * {@link Calculation} of session.
+         */
+        private final Calculation calculation;
+
+        /**
+         * {@link Memory} of session.
+         */
+        private final Memory memory;
+
+        /**
+         * Time in nanoseconds when session was used last time.
+         */
+        private long lastAccess = 0;
+
+        /**
+         * Weight of session added to weight of registry.
+         */
+        private long weight = SESSION_OVERHEAD;
+
+        /**
+         * Amount of tasks which found session and have not finished yet. Session is not evicted while it is pinned.
+         */
+        private int pins = 0;
+
+        /**
+         * True if session is kept in registry or false if it was removed or evicted. It is changed under the lock of
+         * session's stripe and read under the lock of session too.
+         */
+        private volatile boolean isRegistered = true;
+
+        /**
+         * Constructor for session.
+         *
+         * @param calculation {@link Calculation} of session.
+         * @param memory      {@link Memory} of session.
+         */
+        private Session(Calculation calculation, Memory memory) {
+            this.calculation = calculation;
+            this.memory = memory;
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
+import com.implemica.bormashenko.calculator.model.util.Normalization;
+import com.implemica.bormashenko.calculator.model.util.ParallelMultiplication;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Engine for calculating square roots of decimal numbers.
+ * <p>
+ * Square root is correctly rounded to the required precision using {@code RoundingMode.HALF_EVEN}. It is calculated as
+ * integer square root of number's leading digits, so only {@code 2 * precision + 3} digits of number are used, while
+ * the rest of them only decides whether root is exact. Integer square root is calculated by Newton's iteration with
+ * precision doubling: approximation for upper half of digits is used as a guess for all of them. Scaling, divisions of
+ * Newton's steps and check of exactness use {@link ParallelMultiplication}, so roots with a million digits are
+ * calculated by all threads of {@code ForkJoinPool.commonPool()}.
+ * <p>
+ * Engine remembers the last calculated root, so calculating root of the same number with higher precision starts from
+ * already known approximation. If calculation is cancelled, the last root stays the same.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class SquareRoot {
+
+    /**
+     * Maximal bit length of integer which square root is calculated using {@code long}.
+     */
+    private static final int LONG_BIT_LENGTH = 62;
+
+    /**
+     * Cached powers of ten used for scaling numbers.
+     */
+    private static final BigInteger[] TEN_POWERS = new BigInteger[64];
+
+    static {
+        TEN_POWERS[0] = BigInteger.ONE;
+
+        for (int i = 1; i < TEN_POWERS.length; i++) {
+            TEN_POWERS[i] = TEN_POWERS[i - 1].multiply(BigInteger.TEN);
+        }
+    }
+
+    /**
+     * Base of powers of ten without factor 2.
+     */
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+    /**
+     * Bound for unscaled value which can be multiplied on 10 in perfect square fast path. Square of root for such
+     * value fits in {@code long} with any error of {@code double} approximation.
+     */
+    private static final long MAX_LONG_TO_SHIFT = 100000000000000000L;
+
+    /**
+     * Number which root was calculated last time, without trailing zeros.
+     */
+    private BigDecimal lastNumber = null;
+
+    /**
+     * Precision of root that was calculated last time.
+     */
+    private int lastPrecision = 0;
+
+    /**
+     * Power of ten, which leading digits of the last number were scaled by to obtain an integer. Square root of the last
+     * number is equal to {@code lastIntegerRoot * 10^(-lastPower / 2)} with precision of integer root.
+     */
+    private long lastPower = 0;
+
+    /**
+     * Integer square root of the last number's leading digits.
+     */
+    private BigInteger lastIntegerRoot = null;
+
+    /**
+     * Result that was calculated last time.
+     */
+    private BigDecimal lastResult = null;
+
+    /**
+     * {@code MathContext} for rounding root to the last precision.
+     */
+    private MathContext lastContext = null;
+
+    /**
+     * Calculates square root of number.
+     *
+     * @param number    non-negative number to calculate square root of.
+     * @param precision amount of significant digits in result.
+     * @return square root of number rounded to the precision without trailing zeros.
+     * @throws ArithmeticException if number is negative or precision is not positive.
+     */
+    public BigDecimal sqrt(BigDecimal number, int precision) {
+        return sqrt(number, precision, null);
+    }
+
+    /**
+     * Calculates square root of number checking cancellation token between steps of Newton's iteration.
+     *
+     * @param number    non-negative number to calculate square root of.
+     * @param precision amount of significant digits in result.
+     * @param token     token to check or null if calculation can not be cancelled.
+     * @return square root of number rounded to the precision without trailing zeros.
+     * @throws ArithmeticException if number is negative or precision is not positive.
+     * @throws CancelledException  if token is cancelled.
+     */
+    public BigDecimal sqrt(BigDecimal number, int precision, CancellationToken token) {
+        if (precision <= 0) {
+            throw new ArithmeticException("Expected: positive precision. Got: " + precision);
+        }
+
+        int signum = number.signum();
+
+        if (signum < 0) {
+            throw new ArithmeticException("Expected: non-negative number. Got: " + number);
+        }
+
+        if (signum == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal stripped = Normalization.normalize(number);
+        BigDecimal result = perfectSquareRoot(stripped, precision);
+
+        if (result == null) {
+            result = calculateRoot(stripped, precision, token);
+        }
+
+        return result;
+    }
+
+    /**
+     * Forgets the last calculated root, so engine does not keep references to numbers of previous calculations.
+     */
+    void clear() {
+        lastNumber = null;
+        lastPrecision = 0;
+        lastPower = 0;
+        lastIntegerRoot = null;
+        lastResult = null;
+    }
+
+    /**
+     * Calculates square root of number if its unscaled value fits in {@code long} and it is a perfect square.
+     *
+     * @param stripped  positive number without trailing zeros.
+     * @param precision amount of significant digits in result.
+     * @return exact square root of number or null if it can not be calculated such way.
+     */
+    private static BigDecimal perfectSquareRoot(BigDecimal stripped, int precision) {
+        if (stripped.precision() > 18) {
+            return null;
+        }
+
+        long unscaled = stripped.unscaledValue().longValue();
+        long scale = stripped.scale();
+
+        if (scale % 2 != 0) {
+
+            if (unscaled >= MAX_LONG_TO_SHIFT) {
+                return null;
+            }
+
+            unscaled *= 10;
+            scale++;
+        }
+
+        long root = longSqrt(unscaled);
+
+        if (root * root != unscaled) {
+            return null;
+        }
+
+        BigDecimal result = BigDecimal.valueOf(root, (int) (scale / 2));
+
+        if (result.precision() > precision) {
+            return null;
+        }
+
+        return Normalization.normalize(result);
+    }
+
+    /**
+     * Calculates square root of number using integer square root of its leading digits.
+     *
+     * @param stripped  positive number without trailing zeros.
+     * @param precision amount of significant digits in result.
+     * @param token     token to check or null if calculation can not be cancelled.
+     * @return square root of number rounded to the precision without trailing zeros.
+     * @throws CancelledException if token is cancelled.
+     */
+    private BigDecimal calculateRoot(BigDecimal stripped, int precision, CancellationToken token) {
+        boolean sameNumber = stripped.equals(lastNumber);
+
+        if (sameNumber && precision == lastPrecision) {
+            return lastResult;
+        }
+
+        BigInteger unscaled = stripped.unscaledValue();
+        int digits = stripped.precision();
+
+        //integer with 2 * precision + 2 or 2 * precision + 3 digits, so its root has at least precision + 1 digits
+        long power = 2L * precision + 2 - digits;
+
+        if ((stripped.scale() + power) % 2 != 0) {
+            power++;
+        }
+
+        long totalPower = stripped.scale() + power;
+
+        BigInteger integer;
+        boolean inexact = false;
+
+        if (power >= 0) {
+            integer = ParallelMultiplication.multiply(unscaled, tenPower(power, token), token);
+        } else {
+            BigInteger[] quotientAndRemainder =
+                    ParallelMultiplication.divideAndRemainder(unscaled, tenPower(-power, token), token);
+            integer = quotientAndRemainder[0];
+            inexact = quotientAndRemainder[1].signum() != 0;
+        }
+
+        BigInteger guess = null;
+
+        if (sameNumber && precision > lastPrecision) {
+            BigInteger factor = tenPower((totalPower - lastPower) / 2, token);
+            guess = ParallelMultiplication.multiply(lastIntegerRoot, factor, token);
+        }
+
+        BigInteger root = guess == null ? integerSqrt(integer, token) : integerSqrt(integer, guess, token);
+        inexact |= ParallelMultiplication.square(root, token).compareTo(integer) != 0;
+
+        //appended digit is lower than rounding position and shows that the exact root is greater than truncated one
+        BigInteger sticky = inexact ? root.multiply(BigInteger.TEN).add(BigInteger.ONE) : root;
+        long scale = totalPower / 2 + (inexact ? 1 : 0);
+
+        if (lastContext == null || lastContext.getPrecision() != precision) {
+            lastContext = new MathContext(precision, RoundingMode.HALF_EVEN);
+        }
+
+        BigDecimal result = Normalization.normalize(new BigDecimal(sticky, (int) scale).round(lastContext));
+
+        lastNumber = stripped;
+        lastPrecision = precision;
+        lastPower = totalPower;
+        lastIntegerRoot = root;
+        lastResult = result;
+
+        return result;
+    }
+
+    /**
+     * Calculates integer square root with precision doubling.
+     * <p>
+     * Root of the upper half of digits is calculated recursively and used as a guess for Newton's iteration.
+     *
+     * @param integer non-negative integer.
+     * @param token   token to check or null if calculation can not be cancelled.
+     * @return the greatest integer which square is not greater than passed one.
+     * @throws CancelledException if token is cancelled.
+     */
+    private static BigInteger integerSqrt(BigInteger integer, CancellationToken token) {
+        int bitLength = integer.bitLength();
+
+        if (bitLength <= LONG_BIT_LENGTH) {
+            return BigInteger.valueOf(longSqrt(integer.longValue()));
+        }
+
+        int halfShift = bitLength / 4;
+        BigInteger upperRoot = integerSqrt(integer.shiftRight(2 * halfShift), token);
+
+        return integerSqrt(integer, upperRoot.add(BigInteger.ONE).shiftLeft(halfShift), token);
+    }
+
+    /**
+     * Calculates integer square root by Newton's iteration starting from guess.
+     *
+     * @param integer non-negative integer.
+     * @param guess   positive approximation of root.
+     * @param token   token to check or null if calculation can not be cancelled.
+     * @return the greatest integer which square is not greater than passed one.
+     * @throws CancelledException if token is cancelled.
+     */
+    private static BigInteger integerSqrt(BigInteger integer, BigInteger guess, CancellationToken token) {
+        if (integer.signum() == 0) {
+            return BigInteger.ZERO;
+        }
+
+        //after the first step approximation is never less than root
+        BigInteger root = guess.add(ParallelMultiplication.divide(integer, guess, token)).shiftRight(1);
+
+        while (true) {
+            CancellationToken.check(token);
+            BigInteger next = root.add(ParallelMultiplication.divide(integer, root, token)).shiftRight(1);
+
+            if (next.compareTo(root) >= 0) {
+                return root;
+            }
+
+            root = next;
+        }
+    }
+
+    /**
+     * Calculates integer square root of {@code long} value.
+     *
+     * @param value non-negative value less than {@code 2^62}.
+     * @return the greatest integer which square is not greater than passed value.
+     */
+    private static long longSqrt(long value) {
+        long root = (long) Math.sqrt(value);
+
+        while (root * root > value) {
+            root--;
+        }
+
+        while ((root + 1) * (root + 1) <= value) {
+            root++;
+        }
+
+        return root;
+    }
+
+    /**
+     * Returns power of ten checking cancellation token. Long power is calculated as {@code 5^power * 2^power}, so
+     * squared numbers are shorter.
+     *
+     * @param power non-negative power.
+     * @param token token to check or null if calculation can not be cancelled.
+     * @return {@code 10^power}.
+     * @throws CancelledException if token is cancelled.
+     */
+    private static BigInteger tenPower(long power, CancellationToken token) {
+        if (power < TEN_POWERS.length) {
+            return TEN_POWERS[(int) power];
+        }
+
+        return ParallelMultiplication.pow(FIVE, (int) power, token).shiftLeft((int) power);
+    }
+}
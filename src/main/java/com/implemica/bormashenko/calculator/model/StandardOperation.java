@@ -0,0 +1,573 @@
+package com.implemica.bormashenko.calculator.model;
+
+import com.implemica.bormashenko.calculator.model.enums.Operation;
+import com.implemica.bormashenko.calculator.model.enums.OperationType;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import com.implemica.bormashenko.calculator.model.util.CompactDecimal;
+import com.implemica.bormashenko.calculator.model.util.OverflowValidation;
+import com.implemica.bormashenko.calculator.model.util.ParallelMultiplication;
+
+import java.math.BigDecimal;
+
+/**
+ * Implementations of {@link Operation} values, registered in {@link OperationRegistry} by default.
+ * <p>
+ * Constants have no bodies of their own, so all of them are instances of one class, and calculation which uses only
+ * standard operations calls their methods from monomorphic call sites. Each method selects implementation of the
+ * operation by switch.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public enum StandardOperation implements CalculatorOperation {
+
+    /**
+     * Sums two numbers.
+     */
+    ADD(Operation.ADD, "+"),
+
+    /**
+     * Subtracts one number from another.
+     */
+    SUBTRACT(Operation.SUBTRACT, "-"),
+
+    /**
+     * Multiplies two numbers.
+     */
+    MULTIPLY(Operation.MULTIPLY, "×"),
+
+    /**
+     * Divides one number to another.
+     */
+    DIVIDE(Operation.DIVIDE, "÷"),
+
+    /**
+     * Negates number. Quotient is negated without expanding it.
+     */
+    NEGATE(Operation.NEGATE, "negate"),
+
+    /**
+     * Calculates square of number.
+     */
+    SQR(Operation.SQR, "sqr"),
+
+    /**
+     * Calculates square root of number rounded to precision of calculation. Exact result is the same as decimal one.
+     */
+    SQRT(Operation.SQRT, "√"),
+
+    /**
+     * Inverses number.
+     */
+    INVERSE(Operation.INVERSE, "1/"),
+
+    /**
+     * Calculates number as a percentage of first number if binary operation is {@code Operation.ADD} or
+     * {@code Operation.SUBTRACT}, or as a percentage of 100 otherwise. Binary operation should be set.
+     */
+    PERCENT(Operation.PERCENT, ""),
+
+    /**
+     * Calculates result of binary operation using its registered implementation.
+     */
+    EQUALS(Operation.EQUALS, "");
+
+    /**
+     * Scale for {@code Operation.DIVIDE}, {@code Operation.INVERSE} and {@code Operation.PERCENT} with default digit
+     * limit. In general, scale is equal to digit limit of calculation. Quotients are expanded to the scale only on
+     * demand, see {@link Quotient}.
+     * <p>
+     * Sum of scales of numbers for percentage of first number should be less than the scale, otherwise
+     * {@link OverflowException} should be thrown.
+     */
+    static final int DIVIDE_SCALE = OverflowValidation.DEFAULT_DIGIT_LIMIT;
+
+    /**
+     * The number and any number less that that should cause {@link OverflowException} if trying to calculate percent of
+     * 100 for the number with default digit limit.
+     */
+    private static final BigDecimal PERCENT_OF_100_EDGE = new BigDecimal("1.e-9998");
+
+    /**
+     * {@code BigDecimal} value of 100.
+     */
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    /**
+     * {@link Operation} which is performed by implementation.
+     */
+    private final Operation operation;
+
+    /**
+     * Symbol of operation used for displaying equation.
+     */
+    private final String symbol;
+
+    /**
+     * Constructor for implementation.
+     *
+     * @param operation {@link Operation} which is performed by implementation.
+     * @param symbol    symbol of operation used for displaying equation.
+     */
+    StandardOperation(Operation operation, String symbol) {
+        this.operation = operation;
+        this.symbol = symbol;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns name of {@link Operation} which is performed by implementation.
+     *
+     * @return name of operation.
+     */
+    @Override
+    public String getName() {
+        return operation.name();
+    }
+
+    @Override
+    public OperationType getType() {
+        return operation.type;
+    }
+
+    @Override
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Returns amount of numbers by type of operation. Binary operations use 2 numbers, unary operations and percentage
+     * use 1 number and equals uses none.
+     *
+     * @return amount of numbers used by operation.
+     */
+    @Override
+    public int getArity() {
+        switch (operation.type) {
+            case BINARY:
+                return 2;
+            case EQUALS:
+                return 0;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Checks that result is certainly out of range. Results of other operations than multiplying, squaring, percentage
+     * and equals are only validated after calculating.
+     *
+     * @param operands numbers of operation.
+     * @return true if result certainly fails overflow validation or false otherwise.
+     */
+    @Override
+    public boolean overflowValidationFailed(Operands operands) {
+        switch (this) {
+            case MULTIPLY:
+                return OverflowValidation.productOverflowValidationFailed(operands.getFirst(), operands.getSecond(),
+                        operands.getDigitLimit());
+            case SQR:
+                return OverflowValidation.productOverflowValidationFailed(operands.getNumber(), operands.getNumber(),
+                        operands.getDigitLimit());
+            case PERCENT:
+                return percentageOverflowValidationFailed(operands);
+            case EQUALS:
+                CalculatorOperation binaryOperation = operands.getBinaryOperation();
+
+                return binaryOperation != null && binaryOperation.overflowValidationFailed(operands);
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public BigDecimal evaluate(Operands operands) throws OverflowException, DivideByZeroException,
+            DivideZeroByZeroException, NegativeRootException {
+        switch (this) {
+            case ADD:
+                return sum(operands, false);
+            case SUBTRACT:
+                return sum(operands, true);
+            case MULTIPLY:
+                return product(operands, operands.getFirst(), operands.getFirstUnscaled(), operands.getSecond(),
+                        operands.getSecondUnscaled());
+            case DIVIDE:
+                return quotient(operands);
+            case NEGATE:
+                return negation(operands);
+            case SQR:
+                return product(operands, operands.getNumber(), operands.getNumberUnscaled(), operands.getNumber(),
+                        operands.getNumberUnscaled());
+            case SQRT:
+                return squareRoot(operands);
+            case INVERSE:
+                return inverse(operands);
+            case PERCENT:
+                return percentage(operands);
+            default:
+                CalculatorOperation binaryOperation = operands.getBinaryOperation();
+
+                return binaryOperation == null ? BigDecimal.ZERO : binaryOperation.evaluate(operands);
+        }
+    }
+
+    @Override
+    public Fraction evaluateExact(Operands operands) throws DivideByZeroException, DivideZeroByZeroException,
+            NegativeRootException {
+        switch (this) {
+            case ADD:
+                return operands.getFirstFraction().add(operands.getSecondFraction());
+            case SUBTRACT:
+                return operands.getFirstFraction().subtract(operands.getSecondFraction());
+            case MULTIPLY:
+                return operands.getFirstFraction().multiply(operands.getSecondFraction());
+            case DIVIDE:
+                Fraction dividend = operands.getFirstFraction();
+                Fraction divisor = operands.getSecondFraction();
+                checkDivisor(dividend.signum(), divisor.signum());
+
+                return dividend.divide(divisor);
+            case NEGATE:
+                return operands.getNumberFraction().negate();
+            case SQR:
+                Fraction fraction = operands.getNumberFraction();
+
+                return fraction.multiply(fraction);
+            case SQRT:
+                return Fraction.valueOf(squareRoot(operands));
+            case INVERSE:
+                Fraction number = operands.getNumberFraction();
+
+                if (number.signum() == 0) {
+                    throw DivideByZeroException.INSTANCE;
+                }
+
+                return number.inverse();
+            case PERCENT:
+                Fraction result = operands.getNumberFraction();
+
+                if (isPercentageOfFirst(operands)) {
+                    result = operands.getFirstFraction().multiply(result);
+                }
+
+                return result.percent();
+            default:
+                CalculatorOperation binaryOperation = operands.getBinaryOperation();
+
+                return binaryOperation == null ? Fraction.ZERO : binaryOperation.evaluateExact(operands);
+        }
+    }
+
+    @Override
+    public double evaluateApproximate(Operands operands) throws OverflowException, DivideByZeroException,
+            DivideZeroByZeroException, NegativeRootException {
+        switch (this) {
+            case ADD:
+                return operands.getFirstApproximate() + operands.getSecondApproximate();
+            case SUBTRACT:
+                return operands.getFirstApproximate() - operands.getSecondApproximate();
+            case MULTIPLY:
+                double first = operands.getFirstApproximate();
+                double second = operands.getSecondApproximate();
+
+                return withoutUnderflow(first * second, first == 0 || second == 0);
+            case DIVIDE:
+                return approximateQuotient(operands);
+            case NEGATE:
+                return -operands.getNumberApproximate();
+            case SQR:
+                double number = operands.getNumberApproximate();
+
+                return withoutUnderflow(number * number, number == 0);
+            case SQRT:
+                if (operands.getNumberSignum() < 0) {
+                    throw NegativeRootException.INSTANCE;
+                }
+
+                return Math.sqrt(operands.getNumberApproximate());
+            case INVERSE:
+                if (operands.getNumberSignum() == 0) {
+                    throw DivideByZeroException.INSTANCE;
+                }
+
+                return withoutUnderflow(1 / operands.getNumberApproximate(), false);
+            case PERCENT:
+                return approximatePercentage(operands);
+            default:
+                CalculatorOperation binaryOperation = operands.getBinaryOperation();
+
+                return binaryOperation == null ? 0 : binaryOperation.evaluateApproximate(operands);
+        }
+    }
+
+    /**
+     * Sums or subtracts first and second numbers.
+     *
+     * @param operands numbers of operation.
+     * @param subtract true if second number is subtracted or false if it is added.
+     * @return sum or difference of numbers.
+     */
+    private static BigDecimal sum(Operands operands, boolean subtract) {
+        BigDecimal first = operands.getFirst();
+        BigDecimal second = operands.getSecond();
+        long secondUnscaled = operands.getSecondUnscaled();
+        BigDecimal result = operands.compactResult(CompactDecimal.add(operands.getFirstUnscaled(), first.scale(),
+                subtract ? CompactDecimal.negate(secondUnscaled) : secondUnscaled, second.scale()),
+                Math.max(first.scale(), second.scale()));
+
+        if (result == null) {
+            result = subtract ? first.subtract(second) : first.add(second);
+        }
+
+        return result;
+    }
+
+    /**
+     * Multiplies two numbers, in parallel if they are huge.
+     *
+     * @param operands       numbers of operation.
+     * @param first          first factor.
+     * @param firstUnscaled  unscaled value of first factor or {@code CompactDecimal.INFLATED} if it does not fit in
+     *                       {@code long}.
+     * @param second         second factor.
+     * @param secondUnscaled unscaled value of second factor or {@code CompactDecimal.INFLATED} if it does not fit in
+     *                       {@code long}.
+     * @return product of numbers.
+     */
+    private static BigDecimal product(Operands operands, BigDecimal first, long firstUnscaled, BigDecimal second,
+                                      long secondUnscaled) {
+        BigDecimal result = operands.compactResult(CompactDecimal.multiply(firstUnscaled, secondUnscaled),
+                (long) first.scale() + second.scale());
+
+        if (result == null) {
+            result = ParallelMultiplication.multiply(first, second, operands.getCancellationToken());
+        }
+
+        return result;
+    }
+
+    /**
+     * Divides first number to second one.
+     *
+     * @param operands numbers of operation.
+     * @return quotient or its image.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     */
+    private static BigDecimal quotient(Operands operands) throws DivideByZeroException, DivideZeroByZeroException {
+        BigDecimal first = operands.getFirst();
+        BigDecimal second = operands.getSecond();
+
+        if (first.signum() == 0 && second.signum() != 0) {
+            return operands.strippedResult(BigDecimal.ZERO);
+        }
+
+        checkDivisor(first.signum(), second.signum());
+
+        return operands.quotientResult(first, second);
+    }
+
+    /**
+     * Negates number. Quotient is negated without expanding it.
+     *
+     * @param operands numbers of operation.
+     * @return negated number.
+     */
+    private static BigDecimal negation(Operands operands) {
+        Quotient quotient = operands.getNumberQuotient();
+
+        if (quotient != null) {
+            return operands.quotientResult(quotient.getDividend().negate(), quotient.getDivisor());
+        }
+
+        BigDecimal number = operands.getNumber();
+        BigDecimal result = operands.compactResult(CompactDecimal.negate(operands.getNumberUnscaled()),
+                number.scale());
+
+        if (result == null) {
+            result = number.negate();
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculates square root of number rounded to precision of calculation.
+     *
+     * @param operands numbers of operation.
+     * @return square root of number.
+     * @throws NegativeRootException if trying to calculate negative root.
+     */
+    private static BigDecimal squareRoot(Operands operands) throws NegativeRootException {
+        BigDecimal number = operands.getNumber();
+
+        if (number.signum() < 0) {
+            throw NegativeRootException.INSTANCE;
+        }
+
+        return operands.getSquareRoot().sqrt(number, operands.getSqrtPrecision(), operands.getCancellationToken());
+    }
+
+    /**
+     * Inverses number.
+     *
+     * @param operands numbers of operation.
+     * @return inverse number or its image.
+     * @throws DivideByZeroException if trying to inverse zero.
+     */
+    private static BigDecimal inverse(Operands operands) throws DivideByZeroException {
+        BigDecimal number = operands.getNumber();
+
+        if (number.signum() == 0) {
+            throw DivideByZeroException.INSTANCE;
+        }
+
+        return operands.quotientResult(BigDecimal.ONE, number);
+    }
+
+    /**
+     * Calculates number as a percentage of first number or of 100.
+     *
+     * @param operands numbers of operation.
+     * @return percentage or its image.
+     */
+    private static BigDecimal percentage(Operands operands) {
+        BigDecimal number = operands.getNumber();
+        BigDecimal dividend = number;
+
+        if (isPercentageOfFirst(operands)) {
+            dividend = ParallelMultiplication.multiply(operands.getFirst(), number, operands.getCancellationToken());
+        }
+
+        if (dividend.signum() == 0) {
+            return operands.strippedResult(BigDecimal.ZERO);
+        }
+
+        return operands.quotientResult(dividend, ONE_HUNDRED);
+    }
+
+    /**
+     * Checks that percentage is certainly out of range. Percentage of first number also fails if sum of scales of
+     * numbers is not less than digit limit, so it fails the same way in all modes of calculation.
+     *
+     * @param operands numbers of operation.
+     * @return true if result certainly fails overflow validation or false otherwise.
+     */
+    private static boolean percentageOverflowValidationFailed(Operands operands) {
+        BigDecimal number = operands.getNumber();
+        int digitLimit = operands.getDigitLimit();
+
+        if (isPercentageOfFirst(operands)) {
+            BigDecimal first = operands.getFirst();
+
+            return (long) number.scale() + first.scale() >= digitLimit ||
+                    OverflowValidation.percentageOverflowValidationFailed(first, number, digitLimit);
+        }
+
+        return number.signum() != 0 && number.abs().compareTo(percentOf100Edge(digitLimit)) <= 0;
+    }
+
+    /**
+     * Divides first number to second one using {@code double} numbers.
+     *
+     * @param operands numbers of operation.
+     * @return approximate quotient or {@code Double.NaN} if it is out of range of {@code double}.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     */
+    private static double approximateQuotient(Operands operands) throws DivideByZeroException,
+            DivideZeroByZeroException {
+        int firstSignum = operands.getFirstSignum();
+        int secondSignum = operands.getSecondSignum();
+
+        if (firstSignum == 0 && secondSignum != 0) {
+            return 0;
+        }
+
+        checkDivisor(firstSignum, secondSignum);
+
+        return withoutUnderflow(operands.getFirstApproximate() / operands.getSecondApproximate(), false);
+    }
+
+    /**
+     * Calculates number as a percentage of first number or of 100 using {@code double} numbers.
+     *
+     * @param operands numbers of operation.
+     * @return approximate percentage or {@code Double.NaN} if it is out of range of {@code double}.
+     */
+    private static double approximatePercentage(Operands operands) {
+        double result = operands.getNumberApproximate();
+        boolean isZero = result == 0;
+
+        if (isPercentageOfFirst(operands)) {
+            double first = operands.getFirstApproximate();
+            result *= first;
+            isZero |= first == 0;
+        }
+
+        return withoutUnderflow(result / 100, isZero);
+    }
+
+    /**
+     * Checks that percentage is calculated of first number.
+     *
+     * @param operands numbers of operation.
+     * @return true if binary operation is {@code Operation.ADD} or {@code Operation.SUBTRACT} or false otherwise.
+     */
+    static boolean isPercentageOfFirst(Operands operands) {
+        Operation binaryOperation = OperationRegistry.operationOf(operands.getBinaryOperationId());
+
+        return binaryOperation == Operation.ADD || binaryOperation == Operation.SUBTRACT;
+    }
+
+    /**
+     * Returns the greatest number that should cause {@link OverflowException} if trying to calculate percent of 100
+     * for the number.
+     *
+     * @param digitLimit limit of digits in integer and decimal parts of numbers.
+     * @return {@code 10^(2 - digitLimit)}.
+     */
+    private static BigDecimal percentOf100Edge(int digitLimit) {
+        if (digitLimit == OverflowValidation.DEFAULT_DIGIT_LIMIT) {
+            return PERCENT_OF_100_EDGE;
+        }
+
+        return OverflowValidation.minDecimalValue(digitLimit).movePointRight(2);
+    }
+
+    /**
+     * Checks that approximate result is not zero because of underflow.
+     *
+     * @param result approximate result of operation.
+     * @param isZero true if exact result is zero or false otherwise.
+     * @return result or {@code Double.NaN} if result is zero while exact result is not zero.
+     */
+    private static double withoutUnderflow(double result, boolean isZero) {
+        return result == 0 && !isZero ? Double.NaN : result;
+    }
+
+    /**
+     * Checks that divisor is not zero.
+     *
+     * @param dividendSignum signum of dividend.
+     * @param divisorSignum  signum of divisor.
+     * @throws DivideByZeroException     if divisor is zero.
+     * @throws DivideZeroByZeroException if dividend and divisor are zero.
+     */
+    private static void checkDivisor(int dividendSignum, int divisorSignum) throws DivideByZeroException,
+            DivideZeroByZeroException {
+        if (divisorSignum == 0) {
+
+            if (dividendSignum == 0) {
+                throw DivideZeroByZeroException.INSTANCE;
+            }
+
+            throw DivideByZeroException.INSTANCE;
+        }
+    }
+}
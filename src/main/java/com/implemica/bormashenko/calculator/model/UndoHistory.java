@@ -0,0 +1,170 @@
+package com.implemica.bormashenko.calculator.model;
+
+/**
+ * History of states of {@link Calculation} and {@link Memory} for undoing and redoing operations.
+ * <p>
+ * History is a bounded ring of {@link CalculationState} and {@link MemoryState} snapshots. Snapshots share numbers
+ * with each other, so each recorded step takes a few dozen bytes regardless of amount of digits in numbers. Undoing
+ * and redoing only move pointer in the ring and restore snapshots, so they take constant time. When the ring is full,
+ * the oldest snapshot is overwritten.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class UndoHistory {
+
+    /**
+     * Default amount of snapshots kept in history.
+     */
+    public static final int DEFAULT_CAPACITY = 100;
+
+    /**
+     * {@link Calculation} which state is recorded.
+     */
+    private final Calculation calculation;
+
+    /**
+     * {@link Memory} which state is recorded.
+     */
+    private final Memory memory;
+
+    /**
+     * Recorded states of calculation.
+     */
+    private final CalculationState[] calculationStates;
+
+    /**
+     * Recorded states of memory, with the same indices as states of calculation.
+     */
+    private final MemoryState[] memoryStates;
+
+    /**
+     * Index of snapshot of current state in the ring.
+     */
+    private int current = 0;
+
+    /**
+     * Amount of snapshots before current one that can be restored by undoing.
+     */
+    private int undoable = 0;
+
+    /**
+     * Amount of snapshots after current one that can be restored by redoing.
+     */
+    private int redoable = 0;
+
+    /**
+     * Constructor for history with {@code DEFAULT_CAPACITY}. Current states are recorded as the first snapshot.
+     *
+     * @param calculation {@link Calculation} which state is recorded.
+     * @param memory      {@link Memory} which state is recorded.
+     */
+    public UndoHistory(Calculation calculation, Memory memory) {
+        this(calculation, memory, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for history. Current states are recorded as the first snapshot.
+     *
+     * @param calculation {@link Calculation} which state is recorded.
+     * @param memory      {@link Memory} which state is recorded.
+     * @param capacity    amount of snapshots kept in history, including current one.
+     * @throws IllegalArgumentException if capacity is less than 2.
+     */
+    public UndoHistory(Calculation calculation, Memory memory, int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Expected: capacity not less than 2. Got: " + capacity);
+        }
+
+        this.calculation = calculation;
+        this.memory = memory;
+        calculationStates = new CalculationState[capacity];
+        memoryStates = new MemoryState[capacity];
+
+        calculationStates[current] = calculation.snapshot();
+        memoryStates[current] = memory.snapshot();
+    }
+
+    /**
+     * Records current states of calculation and memory after operation. Snapshots that could be redone are discarded.
+     */
+    public void record() {
+        current = next(current);
+        calculationStates[current] = calculation.snapshot();
+        memoryStates[current] = memory.snapshot();
+
+        undoable = Math.min(undoable + 1, calculationStates.length - 1);
+        redoable = 0;
+    }
+
+    /**
+     * Restores states recorded before the current ones.
+     *
+     * @return true if states were restored or false if there is nothing to undo.
+     */
+    public boolean undo() {
+        if (undoable == 0) {
+            return false;
+        }
+
+        current = previous(current);
+        undoable--;
+        redoable++;
+        restoreCurrent();
+
+        return true;
+    }
+
+    /**
+     * Restores states that were undone last time.
+     *
+     * @return true if states were restored or false if there is nothing to redo.
+     */
+    public boolean redo() {
+        if (redoable == 0) {
+            return false;
+        }
+
+        current = next(current);
+        redoable--;
+        undoable++;
+        restoreCurrent();
+
+        return true;
+    }
+
+    public int getUndoable() {
+        return undoable;
+    }
+
+    public int getRedoable() {
+        return redoable;
+    }
+
+    /**
+     * Restores calculation and memory from current snapshots.
+     */
+    private void restoreCurrent() {
+        calculation.restore(calculationStates[current]);
+        memory.restore(memoryStates[current]);
+    }
+
+    /**
+     * Returns index of the next snapshot in the ring.
+     *
+     * @param index index of snapshot.
+     * @return index of the next snapshot.
+     */
+    private int next(int index) {
+        return index == calculationStates.length - 1 ? 0 : index + 1;
+    }
+
+    /**
+     * Returns index of the previous snapshot in the ring.
+     *
+     * @param index index of snapshot.
+     * @return index of the previous snapshot.
+     */
+    private int previous(int index) {
+        return index == 0 ? calculationStates.length - 1 : index - 1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.implemica.bormashenko.calculator.model.enums;
+
+/**
+ * Enum for possible engines that change state of calculation model after operations.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public enum CalculationEngine {
+
+    /**
+     * State is changed by branching over type of operation and state's flags.
+     */
+    BRANCHING,
+
+    /**
+     * State is changed by transition found in precomputed table by type of operation and state's flags.
+     */
+    TABLE
+}
@@ -0,0 +1,25 @@
+package com.implemica.bormashenko.calculator.model.enums;
+
+/**
+ * Enum for possible arithmetic modes of calculation model.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public enum CalculationMode {
+
+    /**
+     * Numbers are kept as decimal numbers. Quotients with infinite decimal expansion are rounded.
+     */
+    DECIMAL,
+
+    /**
+     * Numbers are kept as exact fractions. Square root is calculated as in decimal mode.
+     */
+    RATIONAL,
+
+    /**
+     * Operations are calculated with {@code double} numbers, so results have about 16 significant digits. Operations
+     * with numbers or results that are out of range of {@code double} are calculated as in decimal mode.
+     */
+    APPROXIMATE
+}
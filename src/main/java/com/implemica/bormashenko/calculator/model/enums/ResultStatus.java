@@ -0,0 +1,39 @@
+package com.implemica.bormashenko.calculator.model.enums;
+
+/**
+ * Enum with possible statuses of operation's result.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public enum ResultStatus {
+
+    /**
+     * Operation was performed successfully.
+     */
+    OK,
+
+    /**
+     * Overflow validation failed.
+     */
+    OVERFLOW,
+
+    /**
+     * Trying to divide by zero.
+     */
+    DIVIDE_BY_ZERO,
+
+    /**
+     * Trying to divide zero by zero.
+     */
+    DIVIDE_ZERO_BY_ZERO,
+
+    /**
+     * Trying to calculate negative root.
+     */
+    NEGATIVE_ROOT,
+
+    /**
+     * Operation was cancelled by {@code CancellationToken}.
+     */
+    CANCELLED
+}
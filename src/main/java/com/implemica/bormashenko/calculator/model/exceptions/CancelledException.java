@@ -0,0 +1,33 @@
+package com.implemica.bormashenko.calculator.model.exceptions;
+
+/**
+ * Custom made exception which shows that operation was cancelled or its deadline has passed.
+ * <p>
+ * Exception is unchecked, because it can be thrown only if caller has set {@code CancellationToken} itself.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class CancelledException extends RuntimeException {
+
+    /**
+     * Version of serialized exception, which is required for {@code Serializable} {@code RuntimeException}.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Message for thrown exception.
+     */
+    private static final String MESSAGE = "Cancelled";
+
+    /**
+     * The only instance of exception. It has no stack trace, so throwing it does not allocate anything.
+     */
+    public static final CancelledException INSTANCE = new CancelledException();
+
+    /**
+     * Constructor for exception. Suppression and stack trace are disabled.
+     */
+    private CancelledException() {
+        super(MESSAGE, null, false, false);
+    }
+}
@@ -13,9 +13,14 @@ public class DivideByZeroException extends Exception{
     private static final String MESSAGE = "Cannot divide by zero";
 
     /**
-     * Constructor for exception.
+     * The only instance of exception. It has no stack trace, so throwing it does not allocate anything.
      */
-    public DivideByZeroException() {
-        super(MESSAGE);
+    public static final DivideByZeroException INSTANCE = new DivideByZeroException();
+
+    /**
+     * Constructor for exception. Suppression and stack trace are disabled.
+     */
+    private DivideByZeroException() {
+        super(MESSAGE, null, false, false);
     }
 }
@@ -13,9 +13,14 @@ public class DivideZeroByZeroException extends Exception {
     private static final String MESSAGE = "Result is undefined";
 
     /**
-     * Constructor for exception.
+     * The only instance of exception. It has no stack trace, so throwing it does not allocate anything.
      */
-    public DivideZeroByZeroException() {
-        super(MESSAGE);
+    public static final DivideZeroByZeroException INSTANCE = new DivideZeroByZeroException();
+
+    /**
+     * Constructor for exception. Suppression and stack trace are disabled.
+     */
+    private DivideZeroByZeroException() {
+        super(MESSAGE, null, false, false);
     }
 }
\ No newline at end of file
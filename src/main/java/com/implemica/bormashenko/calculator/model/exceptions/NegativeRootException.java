@@ -13,9 +13,14 @@ public class NegativeRootException extends Exception {
     private static final String MESSAGE = "Invalid input";
 
     /**
-     * Constructor for exception.
+     * The only instance of exception. It has no stack trace, so throwing it does not allocate anything.
      */
-    public NegativeRootException() {
-        super(MESSAGE);
+    public static final NegativeRootException INSTANCE = new NegativeRootException();
+
+    /**
+     * Constructor for exception. Suppression and stack trace are disabled.
+     */
+    private NegativeRootException() {
+        super(MESSAGE, null, false, false);
     }
 }
\ No newline at end of file
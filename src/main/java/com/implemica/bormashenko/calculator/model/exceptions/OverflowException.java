@@ -13,9 +13,14 @@ public class OverflowException extends Exception {
     private static final String MESSAGE = "Overflow";
 
     /**
-     * Constructor for exception.
+     * The only instance of exception. It has no stack trace, so throwing it does not allocate anything.
      */
-    public OverflowException() {
-        super(MESSAGE);
+    public static final OverflowException INSTANCE = new OverflowException();
+
+    /**
+     * Constructor for exception. Suppression and stack trace are disabled.
+     */
+    private OverflowException() {
+        super(MESSAGE, null, false, false);
     }
 }
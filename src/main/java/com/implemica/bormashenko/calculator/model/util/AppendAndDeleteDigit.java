@@ -1,5 +1,7 @@
 package com.implemica.bormashenko.calculator.model.util;
 
+import com.implemica.bormashenko.calculator.model.NumberInterner;
+
 import java.math.BigDecimal;
 
 /**
@@ -158,7 +160,7 @@ public class AppendAndDeleteDigit {
 
         //note that exactly equals method should be used there cause does matter scale of number
         if (number.equals(BigDecimal.ZERO) && !prependDotBeforeDigit) {
-            return digit;
+            return NumberInterner.getDefault().intern(digit);
         }
 
         BigDecimal result = number;
@@ -185,7 +187,7 @@ public class AppendAndDeleteDigit {
             result = number.add(digit);
         }
 
-        return result;
+        return NumberInterner.getDefault().intern(result);
     }
 
     /**
@@ -257,7 +259,7 @@ public class AppendAndDeleteDigit {
             newScale = result.scale() - 1;
         }
 
-        return result.setScale(newScale, BigDecimal.ROUND_DOWN);
+        return NumberInterner.getDefault().intern(result.setScale(newScale, BigDecimal.ROUND_DOWN));
     }
 
     /**
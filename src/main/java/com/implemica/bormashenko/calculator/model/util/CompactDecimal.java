@@ -0,0 +1,205 @@
+package com.implemica.bormashenko.calculator.model.util;
+
+import java.math.BigDecimal;
+
+/**
+ * Utility class for arithmetic with decimal numbers represented as unscaled {@code long} value plus {@code int}
+ * scale.
+ * <p>
+ * Every operation returns {@code INFLATED} if result does not fit in {@code long}. In that case calculation should be
+ * made with {@code BigDecimal}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class CompactDecimal {
+
+    /**
+     * Value that shows that number can not be represented as compact number.
+     */
+    public static final long INFLATED = Long.MIN_VALUE;
+
+    /**
+     * Maximal precision of number that can be represented as compact number.
+     */
+    private static final int MAX_COMPACT_PRECISION = 18;
+
+    /**
+     * Powers of ten that fit in {@code long}.
+     */
+    private static final long[] TEN_POWERS = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L,
+            100000000000L, 1000000000000L, 10000000000000L, 100000000000000L, 1000000000000000L,
+            10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+
+    /**
+     * Returns unscaled value of number if it fits in {@code long}. Integer numbers are converted without creating
+     * {@code BigInteger}.
+     *
+     * @param number number to convert.
+     * @return unscaled value of number or {@code INFLATED} if it does not fit.
+     */
+    public static long unscaledOf(BigDecimal number) {
+        if (number.precision() > MAX_COMPACT_PRECISION) {
+            return INFLATED;
+        }
+
+        if (number.scale() == 0) {
+            return number.longValue();
+        }
+
+        return number.unscaledValue().longValue();
+    }
+
+    /**
+     * Adds two compact numbers. Result has scale equal to the maximal scale of numbers.
+     *
+     * @param first       unscaled value of first number.
+     * @param firstScale  scale of first number.
+     * @param second      unscaled value of second number.
+     * @param secondScale scale of second number.
+     * @return unscaled value of sum or {@code INFLATED} if it does not fit.
+     */
+    public static long add(long first, int firstScale, long second, int secondScale) {
+        if (first == INFLATED || second == INFLATED) {
+            return INFLATED;
+        }
+
+        if (firstScale < secondScale) {
+            first = scaleUp(first, secondScale - firstScale);
+        } else if (secondScale < firstScale) {
+            second = scaleUp(second, firstScale - secondScale);
+        }
+
+        if (first == INFLATED || second == INFLATED) {
+            return INFLATED;
+        }
+
+        long sum = first + second;
+
+        //overflow if both numbers have the same sign and sum has opposite one
+        if (((first ^ sum) & (second ^ sum)) < 0) {
+            return INFLATED;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Multiplies two compact numbers. Result has scale equal to sum of numbers' scales.
+     *
+     * @param first  unscaled value of first number.
+     * @param second unscaled value of second number.
+     * @return unscaled value of product or {@code INFLATED} if it does not fit.
+     */
+    public static long multiply(long first, long second) {
+        if (first == INFLATED || second == INFLATED) {
+            return INFLATED;
+        }
+
+        long product = first * second;
+        long absFirst = Math.abs(first);
+        long absSecond = Math.abs(second);
+
+        //the same check as Math.multiplyExact() uses, but without throwing exception
+        if (((absFirst | absSecond) >>> 31 != 0) && (second != 0 && product / second != first)) {
+            return INFLATED;
+        }
+
+        return product == INFLATED ? INFLATED : product;
+    }
+
+    /**
+     * Negates compact number.
+     *
+     * @param number unscaled value of number.
+     * @return negated unscaled value or {@code INFLATED} if number is {@code INFLATED}.
+     */
+    public static long negate(long number) {
+        return number == INFLATED ? INFLATED : -number;
+    }
+
+    /**
+     * Checks that scale of result can be represented as {@code int}.
+     *
+     * @param scale scale to check.
+     * @return true if scale fits in {@code int} or false otherwise.
+     */
+    public static boolean isScaleInRange(long scale) {
+        return scale >= Integer.MIN_VALUE && scale <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * Counts digits of compact number.
+     *
+     * @param unscaled unscaled value of number.
+     * @return amount of digits of number or 1 if number is 0.
+     */
+    public static int precision(long unscaled) {
+        long absolute = Math.abs(unscaled);
+        int precision = 1;
+
+        while (precision < TEN_POWERS.length && absolute >= TEN_POWERS[precision]) {
+            precision++;
+        }
+
+        return precision;
+    }
+
+    /**
+     * Returns power of ten that fits in {@code long}.
+     *
+     * @param exponent power of ten, from 0 to 18.
+     * @return ten raised to power.
+     */
+    public static long tenPower(int exponent) {
+        return TEN_POWERS[exponent];
+    }
+
+    /**
+     * Counts trailing zeros of compact number.
+     *
+     * @param unscaled unscaled value of number.
+     * @return amount of trailing zeros or 0 if number is 0.
+     */
+    public static int trailingZeros(long unscaled) {
+        int zeros = 0;
+
+        if (unscaled != 0) {
+
+            while (unscaled % 10 == 0) {
+                unscaled /= 10;
+                zeros++;
+            }
+        }
+
+        return zeros;
+    }
+
+    /**
+     * Removes trailing zeros of compact number.
+     * <p>
+     * Scale of result should be decreased by {@link #trailingZeros(long)} of number.
+     *
+     * @param unscaled unscaled value of number.
+     * @return unscaled value without trailing zeros.
+     */
+    public static long stripTrailingZeros(long unscaled) {
+        return unscaled / TEN_POWERS[trailingZeros(unscaled)];
+    }
+
+    /**
+     * Multiplies number by power of ten.
+     *
+     * @param number   number to scale.
+     * @param exponent power of ten.
+     * @return scaled number or {@code INFLATED} if it does not fit.
+     */
+    private static long scaleUp(long number, int exponent) {
+        if (number == INFLATED || exponent >= TEN_POWERS.length) {
+            return INFLATED;
+        }
+
+        return multiply(number, TEN_POWERS[exponent]);
+    }
+}
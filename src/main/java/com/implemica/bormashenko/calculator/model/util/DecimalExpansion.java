@@ -0,0 +1,350 @@
+package com.implemica.bormashenko.calculator.model.util;
+
+import com.implemica.bormashenko.calculator.model.CancellationToken;
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.implemica.bormashenko.calculator.model.util.CompactDecimal.INFLATED;
+
+/**
+ * Utility class for calculating quotients of decimal numbers.
+ * <p>
+ * Quotient is expanded only to the digits it really has. If quotient has finite decimal expansion which fits in
+ * required scale, it is calculated exactly without any division to the required scale. Otherwise it is expanded to the
+ * required scale and rounded.
+ * <p>
+ * Finite expansion is looked for only if unscaled value of divisor without trailing zeros fits in {@code long}, so
+ * the check takes one remainder of dividend and a few operations with {@code long}. Quotients with larger divisors are
+ * always expanded to the required scale.
+ * <p>
+ * Scale is not required to be the final one: quotient can be expanded to the scale which gives only the digits that
+ * are needed now, see {@link #precisionScale(BigDecimal, BigDecimal, int)}, and expanded further later.
+ * <p>
+ * If {@link CancellationToken} is passed, long expansions are calculated by long division in chunks of digits, and
+ * token is checked between chunks.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class DecimalExpansion {
+
+    /**
+     * {@code BigInteger} value of 5.
+     */
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+
+    /**
+     * Minimal amount of digits calculated by one step of cancellable long division.
+     */
+    private static final int MIN_CHUNK_DIGITS = 2048;
+
+    /**
+     * Maximal amount of steps of cancellable long division.
+     */
+    private static final int MAX_CHUNKS = 64;
+
+    /**
+     * Divides one number on another.
+     * <p>
+     * Result is equal to {@code dividend.divide(divisor, maxScale, BigDecimal.ROUND_HALF_UP).stripTrailingZeros()}.
+     * Note that divisor should not be 0.
+     *
+     * @param dividend number to divide.
+     * @param divisor  number to divide on.
+     * @param maxScale maximal scale of result.
+     * @return quotient without trailing zeros.
+     */
+    public static BigDecimal quotient(BigDecimal dividend, BigDecimal divisor, int maxScale) {
+        return quotient(dividend, divisor, maxScale, null);
+    }
+
+    /**
+     * Divides one number on another checking cancellation token.
+     * <p>
+     * Result is the same as result of {@link #quotient(BigDecimal, BigDecimal, int)}.
+     *
+     * @param dividend number to divide.
+     * @param divisor  number to divide on.
+     * @param maxScale maximal scale of result.
+     * @param token    token to check or null if division can not be cancelled.
+     * @return quotient without trailing zeros.
+     * @throws CancelledException if token is cancelled.
+     */
+    public static BigDecimal quotient(BigDecimal dividend, BigDecimal divisor, int maxScale,
+                                      CancellationToken token) {
+        if (dividend.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal result = finiteQuotient(dividend, divisor, maxScale, token);
+
+        return result == null ? expand(dividend, divisor, maxScale, token) : result;
+    }
+
+    /**
+     * Divides one number on another if quotient has finite decimal expansion which fits in required scale.
+     * <p>
+     * Finite expansion is looked for only if unscaled value of divisor without trailing zeros fits in {@code long},
+     * otherwise null is returned even if quotient is finite.
+     *
+     * @param dividend non-zero number to divide.
+     * @param divisor  non-zero number to divide on.
+     * @param maxScale maximal scale of result.
+     * @param token    token to check or null if division can not be cancelled.
+     * @return exact quotient without trailing zeros or null if it was not found.
+     * @throws CancelledException if token is cancelled.
+     */
+    public static BigDecimal finiteQuotient(BigDecimal dividend, BigDecimal divisor, int maxScale,
+                                            CancellationToken token) {
+        BigDecimal strippedDivisor = Normalization.normalize(divisor);
+        long divisorUnscaled = CompactDecimal.unscaledOf(strippedDivisor);
+
+        if (divisorUnscaled == INFLATED || !isFinite(dividend, Math.abs(divisorUnscaled))) {
+            return null;
+        }
+
+        BigDecimal strippedDividend = Normalization.normalize(dividend);
+        BigInteger numerator = strippedDividend.unscaledValue();
+        BigInteger denominator = strippedDivisor.unscaledValue();
+        BigInteger gcd = numerator.gcd(denominator);
+
+        if (!gcd.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(gcd);
+            denominator = denominator.divide(gcd);
+        }
+
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+
+        CancellationToken.check(token);
+        BigDecimal result = finiteQuotient(numerator, denominator);
+
+        if (result == null) {
+            return null;
+        }
+
+        long scale = (long) result.scale() + strippedDividend.scale() - strippedDivisor.scale();
+
+        if (scale > maxScale || !CompactDecimal.isScaleInRange(scale)) {
+            return null;
+        }
+
+        return new BigDecimal(result.unscaledValue(), (int) scale);
+    }
+
+    /**
+     * Calculates scale which gives quotient at least the required amount of significant digits.
+     * <p>
+     * Adjusted exponent of quotient is either difference of adjusted exponents of numbers or that difference minus
+     * one, so quotient rounded to the scale has {@code precision} or {@code precision + 1} significant digits.
+     *
+     * @param dividend  non-zero number to divide.
+     * @param divisor   non-zero number to divide on.
+     * @param precision required amount of significant digits.
+     * @return scale of quotient, which may be negative.
+     */
+    public static long precisionScale(BigDecimal dividend, BigDecimal divisor, int precision) {
+        return precision - OverflowValidation.exponentOf(dividend) + OverflowValidation.exponentOf(divisor);
+    }
+
+    /**
+     * Checks whether quotient of unscaled values has finite decimal expansion, i.e. denominator divided by its greatest
+     * common divisor with numerator is {@code 2^twos * 5^fives}. Powers of ten do not change that, so the same is true
+     * for quotient of numbers.
+     *
+     * @param dividend    non-zero number to divide.
+     * @param denominator positive unscaled value of divisor.
+     * @return true if quotient has finite decimal expansion or false otherwise.
+     */
+    private static boolean isFinite(BigDecimal dividend, long denominator) {
+        long unscaled = CompactDecimal.unscaledOf(dividend);
+        long remainder;
+
+        if (unscaled == INFLATED) {
+            remainder = dividend.unscaledValue().mod(BigInteger.valueOf(denominator)).longValue();
+        } else {
+            remainder = Math.abs(unscaled % denominator);
+        }
+
+        long gcd = denominator;
+
+        while (remainder != 0) {
+            long next = gcd % remainder;
+            gcd = remainder;
+            remainder = next;
+        }
+
+        long rest = denominator / gcd;
+        rest >>= Long.numberOfTrailingZeros(rest);
+
+        while (rest % 5 == 0) {
+            rest /= 5;
+        }
+
+        return rest == 1;
+    }
+
+    /**
+     * Divides coprime integers if quotient has finite decimal expansion.
+     * <p>
+     * Quotient has finite decimal expansion only if denominator is {@code 2^twos * 5^fives}. In that case it is equal
+     * to {@code numerator * 2^(tens - twos) * 5^(tens - fives) / 10^tens}, where {@code tens} is maximum of
+     * {@code twos} and {@code fives}.
+     *
+     * @param numerator   integer to divide.
+     * @param denominator positive integer to divide on, coprime with numerator.
+     * @return exact quotient or null if quotient has infinite decimal expansion. Quotient has trailing zeros only if
+     * denominator is 1 and numerator has trailing zeros.
+     */
+    public static BigDecimal finiteQuotient(BigInteger numerator, BigInteger denominator) {
+        int twos = denominator.getLowestSetBit();
+        BigInteger rest = denominator.shiftRight(twos);
+        int fives = 0;
+
+        while (!rest.equals(BigInteger.ONE)) {
+            BigInteger[] quotientAndRemainder = rest.divideAndRemainder(FIVE);
+
+            if (quotientAndRemainder[1].signum() != 0) {
+                return null;
+            }
+
+            rest = quotientAndRemainder[0];
+            fives++;
+        }
+
+        int tens = Math.max(twos, fives);
+        BigInteger unscaled = numerator.shiftLeft(tens - twos);
+
+        if (tens != fives) {
+            unscaled = unscaled.multiply(FIVE.pow(tens - fives));
+        }
+
+        return new BigDecimal(unscaled, tens);
+    }
+
+    /**
+     * Calculates inverted number if it has finite decimal expansion.
+     *
+     * @param number non-zero number to invert.
+     * @return exact inverted number without trailing zeros or null if it has infinite decimal expansion.
+     */
+    public static BigDecimal finiteInverse(BigDecimal number) {
+        BigDecimal stripped = Normalization.normalize(number);
+        BigInteger unscaled = stripped.unscaledValue();
+
+        BigDecimal inverse = finiteQuotient(BigInteger.valueOf(unscaled.signum()), unscaled.abs());
+
+        if (inverse == null) {
+            return null;
+        }
+
+        return Normalization.normalize(inverse.scaleByPowerOfTen(stripped.scale()));
+    }
+
+    /**
+     * Divides one number on another with rounding to the required scale.
+     *
+     * @param dividend number to divide.
+     * @param divisor  number to divide on.
+     * @param scale    scale of result.
+     * @return quotient without trailing zeros.
+     */
+    private static BigDecimal expand(BigDecimal dividend, BigDecimal divisor, int scale) {
+        return Normalization.normalize(dividend.divide(divisor, scale, BigDecimal.ROUND_HALF_UP));
+    }
+
+    /**
+     * Divides one number on another with rounding to the required scale checking cancellation token. Finite
+     * expansion is not looked for, so quotient is always obtained by division.
+     * <p>
+     * If there are more than {@code MIN_CHUNK_DIGITS} digits to expand, integer part of quotient is calculated first,
+     * and then each chunk of digits is obtained from remainder of previous step. Chunks are not shorter than divisor,
+     * so each step is a short division. Rounding is decided by the last remainder, so result is the same as result of
+     * {@link #expand(BigDecimal, BigDecimal, int)}.
+     *
+     * @param dividend non-zero number to divide.
+     * @param divisor  non-zero number to divide on.
+     * @param scale    scale of result.
+     * @param token    token to check or null if division can not be cancelled.
+     * @return quotient without trailing zeros.
+     * @throws CancelledException if token is cancelled.
+     */
+    public static BigDecimal expand(BigDecimal dividend, BigDecimal divisor, int scale, CancellationToken token) {
+        //amount of digits that the exact quotient of unscaled values should be expanded to
+        long digits = (long) scale + divisor.scale() - dividend.scale();
+
+        if (token == null || digits <= MIN_CHUNK_DIGITS) {
+            return expand(dividend, divisor, scale);
+        }
+
+        BigInteger denominator = divisor.unscaledValue().abs();
+        BigInteger[] quotientAndRemainder = dividend.unscaledValue().abs().divideAndRemainder(denominator);
+        BigInteger integerPart = quotientAndRemainder[0];
+        BigInteger remainder = quotientAndRemainder[1];
+
+        int chunkDigits = (int) Math.max(Math.max(MIN_CHUNK_DIGITS, divisor.precision()),
+                (digits + MAX_CHUNKS - 1) / MAX_CHUNKS);
+        int lastChunkDigits = (int) ((digits - 1) % chunkDigits + 1);
+        BigInteger[] chunks = new BigInteger[(int) ((digits + chunkDigits - 1) / chunkDigits)];
+        BigInteger chunkPower = BigInteger.TEN.pow(chunkDigits);
+
+        for (int i = 0; i < chunks.length; i++) {
+            CancellationToken.check(token);
+
+            BigInteger power = i == chunks.length - 1 ? BigInteger.TEN.pow(lastChunkDigits) : chunkPower;
+            quotientAndRemainder = remainder.multiply(power).divideAndRemainder(denominator);
+            chunks[i] = quotientAndRemainder[0];
+            remainder = quotientAndRemainder[1];
+        }
+
+        BigInteger quotient = concatenate(chunks, 0, chunks.length, chunkDigits, lastChunkDigits, token);
+
+        if (integerPart.signum() != 0) {
+            quotient = integerPart.multiply(BigInteger.TEN.pow((int) digits)).add(quotient);
+        }
+
+        if (remainder.shiftLeft(1).compareTo(denominator) >= 0) {
+            quotient = quotient.add(BigInteger.ONE);
+        }
+
+        if (dividend.signum() != divisor.signum()) {
+            quotient = quotient.negate();
+        }
+
+        return Normalization.normalize(new BigDecimal(quotient, scale));
+    }
+
+    /**
+     * Joins decimal digits of chunks into one integer. Halves are joined recursively, so each digit is shifted
+     * {@code O(log(chunks))} times instead of once for each following chunk. Token is checked before joining halves.
+     *
+     * @param chunks          chunks of digits, each of them has {@code chunkDigits} digits with leading zeros except
+     *                        the last one, which has {@code lastChunkDigits} digits.
+     * @param from            index of the first chunk to join, inclusive.
+     * @param to              index of the last chunk to join, exclusive.
+     * @param chunkDigits     amount of digits in each chunk except the last one.
+     * @param lastChunkDigits amount of digits in the last chunk.
+     * @param token           token to check or null if joining can not be cancelled.
+     * @return integer which digits are digits of chunks.
+     * @throws CancelledException if token is cancelled.
+     */
+    private static BigInteger concatenate(BigInteger[] chunks, int from, int to, int chunkDigits,
+                                          int lastChunkDigits, CancellationToken token) {
+        if (to - from == 1) {
+            return chunks[from];
+        }
+
+        CancellationToken.check(token);
+
+        int middle = (from + to) >>> 1;
+        int rightDigits = (to - middle - 1) * chunkDigits + (to == chunks.length ? lastChunkDigits : chunkDigits);
+
+        BigInteger left = concatenate(chunks, from, middle, chunkDigits, lastChunkDigits, token);
+        BigInteger right = concatenate(chunks, middle, to, chunkDigits, lastChunkDigits, token);
+
+        return left.multiply(BigInteger.TEN.pow(rightDigits)).add(right);
+    }
+}
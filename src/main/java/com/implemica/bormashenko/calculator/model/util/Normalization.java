@@ -0,0 +1,79 @@
+package com.implemica.bormashenko.calculator.model.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.implemica.bormashenko.calculator.model.util.CompactDecimal.INFLATED;
+
+/**
+ * Utility class for bringing numbers to canonical form, which is number without trailing zeros.
+ * <p>
+ * Canonical form is equal to the result of {@code BigDecimal.stripTrailingZeros()}. Numbers are normalized only at
+ * boundaries where trailing zeros matter (displaying, comparing, recalling), and values that are known to be
+ * canonical are marked by their owners, so they are not normalized again. If number is already canonical, the same
+ * object is returned, so owner can check whether number was changed by identity.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class Normalization {
+
+    /**
+     * Number 10 as {@code BigInteger}.
+     */
+    private static final BigInteger TEN = BigInteger.TEN;
+
+    /**
+     * Returns number without trailing zeros.
+     * <p>
+     * Compact numbers are normalized using {@code long} arithmetic. For other numbers trailing zeros are removed only
+     * if the last digit is zero, so canonical numbers with thousands of digits are not divided.
+     *
+     * @param number number to normalize.
+     * @return the same number if it is canonical or number without trailing zeros otherwise.
+     */
+    public static BigDecimal normalize(BigDecimal number) {
+        if (number.signum() == 0) {
+            return number.scale() == 0 ? number : BigDecimal.ZERO;
+        }
+
+        long unscaled = CompactDecimal.unscaledOf(number);
+
+        if (unscaled != INFLATED) {
+            int zeros = CompactDecimal.trailingZeros(unscaled);
+
+            if (zeros == 0) {
+                return number;
+            }
+
+            long scale = (long) number.scale() - zeros;
+
+            if (CompactDecimal.isScaleInRange(scale)) {
+                return BigDecimal.valueOf(CompactDecimal.stripTrailingZeros(unscaled), (int) scale);
+            }
+        } else if (isLastDigitNotZero(number.unscaledValue())) {
+            return number;
+        }
+
+        return number.stripTrailingZeros();
+    }
+
+    /**
+     * Checks that number has no trailing zeros.
+     *
+     * @param number number to check.
+     * @return true if number is canonical or false otherwise.
+     */
+    public static boolean isNormalized(BigDecimal number) {
+        return normalize(number) == number;
+    }
+
+    /**
+     * Checks that the last digit of integer number is not zero.
+     *
+     * @param unscaled integer number to check.
+     * @return true if the last digit is not zero or false otherwise.
+     */
+    private static boolean isLastDigitNotZero(BigInteger unscaled) {
+        return unscaled.testBit(0) || unscaled.remainder(TEN).signum() != 0;
+    }
+}
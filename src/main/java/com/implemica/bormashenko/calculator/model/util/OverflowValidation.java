@@ -6,17 +6,35 @@ import java.math.BigDecimal;
 
 /**
  * Utility class for overflow validation.
+ * <p>
+ * Validation is made by adjusted exponent of value, i.e. by exponent of its leading digit. Values with exponent far
+ * from bounds are validated without comparing. Exact comparing is performed only if exponent of value is the same as
+ * exponent of bound.
+ * <p>
+ * Bounds are {@code 10^digitLimit} and {@code 10^(-digitLimit)}. By default, digit limit is
+ * {@code DEFAULT_DIGIT_LIMIT}, so bounds are {@code MAX_INTEGER_VALUE} and {@code MIN_DECIMAL_VALUE}. Higher limits,
+ * up to {@code MAX_DIGIT_LIMIT}, are used by high-precision calculations.
  *
  * @author Mykhailo Bormashenko
  */
 public class OverflowValidation {
 
+    /**
+     * Default limit of digits in integer and decimal parts of numbers.
+     */
+    public static final int DEFAULT_DIGIT_LIMIT = 10000;
+
+    /**
+     * Maximal supported limit of digits in integer and decimal parts of numbers.
+     */
+    public static final int MAX_DIGIT_LIMIT = 1000000;
+
     /**
      * Bound for maximal value.
      * <p>
      * If this bound reached, {@link OverflowException} should be thrown.
      */
-    private static final BigDecimal MAX_INTEGER_VALUE = new BigDecimal("1.e+10000");
+    public static final BigDecimal MAX_INTEGER_VALUE = new BigDecimal("1.e+10000");
 
     /**
      * Bound for minimal value.
@@ -25,6 +43,23 @@ public class OverflowValidation {
      */
     private static final BigDecimal MIN_DECIMAL_VALUE = new BigDecimal("1.e-10000");
 
+    /**
+     * Adjusted exponent of 100, which percentage is divided on.
+     */
+    private static final long PERCENT_EXPONENT = 2;
+
+    /**
+     * Calculates adjusted exponent of number.
+     * <p>
+     * Absolute value of non-zero number with adjusted exponent {@code e} is in range [10^e, 10^(e+1)).
+     *
+     * @param value {@code BigDecimal} value to calculate exponent of.
+     * @return adjusted exponent of value.
+     */
+    public static long exponentOf(BigDecimal value) {
+        return (long) value.precision() - value.scale() - 1;
+    }
+
     /**
      * Checks that number in range ({@code MAX_INTEGER_VALUE}, {@code MAX_INTEGER_VALUE}).
      * <p>
@@ -36,20 +71,154 @@ public class OverflowValidation {
      * @return true if validation failed or false otherwise.
      */
     public static boolean overflowValidationFailed(BigDecimal value, boolean divide, BigDecimal dividend) {
-        BigDecimal abs = value.abs();
+        return overflowValidationFailed(value, exponentOf(value), divide, dividend, DEFAULT_DIGIT_LIMIT);
+    }
+
+    /**
+     * Checks that number in range ({@code -10^digitLimit}, {@code 10^digitLimit}) and its absolute value is greater
+     * than {@code 10^(-digitLimit)} unless it is zero.
+     * <p>
+     * Special validation required if divide operation was just performed.
+     *
+     * @param value      {@code BigDecimal} value to check.
+     * @param divide     true if divide operation was just performed.
+     * @param dividend   {@code BigDecimal} value that was used as dividend for divide operation.
+     * @param digitLimit limit of digits in integer and decimal parts of number.
+     * @return true if validation failed or false otherwise.
+     */
+    public static boolean overflowValidationFailed(BigDecimal value, boolean divide, BigDecimal dividend,
+                                                   int digitLimit) {
+        return overflowValidationFailed(value, exponentOf(value), divide, dividend, digitLimit);
+    }
+
+    /**
+     * Checks that number in range ({@code MAX_INTEGER_VALUE}, {@code MAX_INTEGER_VALUE}) using already known adjusted
+     * exponent of number.
+     * <p>
+     * Special validation required if divide operation was just performed.
+     *
+     * @param value    {@code BigDecimal} value to check.
+     * @param exponent adjusted exponent of value.
+     * @param divide   true if divide operation was just performed.
+     * @param dividend {@code BigDecimal} value that was used as dividend for divide operation.
+     * @return true if validation failed or false otherwise.
+     * @see #exponentOf(BigDecimal)
+     */
+    public static boolean overflowValidationFailed(BigDecimal value, long exponent, boolean divide,
+                                                   BigDecimal dividend) {
+        return overflowValidationFailed(value, exponent, divide, dividend, DEFAULT_DIGIT_LIMIT);
+    }
+
+    /**
+     * Checks that number in range ({@code -10^digitLimit}, {@code 10^digitLimit}) and its absolute value is greater
+     * than {@code 10^(-digitLimit)} unless it is zero, using already known adjusted exponent of number.
+     * <p>
+     * Special validation required if divide operation was just performed.
+     *
+     * @param value      {@code BigDecimal} value to check.
+     * @param exponent   adjusted exponent of value.
+     * @param divide     true if divide operation was just performed.
+     * @param dividend   {@code BigDecimal} value that was used as dividend for divide operation.
+     * @param digitLimit limit of digits in integer and decimal parts of number.
+     * @return true if validation failed or false otherwise.
+     * @see #exponentOf(BigDecimal)
+     */
+    public static boolean overflowValidationFailed(BigDecimal value, long exponent, boolean divide,
+                                                   BigDecimal dividend, int digitLimit) {
+        if (value.signum() == 0) {
+            //overflow after divide
+            return divide && overflowValidationFailedForDivide(dividend);
+        }
 
         //integer overflow
-        if (abs.compareTo(MAX_INTEGER_VALUE) >= 0) {
+        if (exponent >= digitLimit) {
             return true;
         }
 
         //decimal overflow
-        if (abs.compareTo(MIN_DECIMAL_VALUE) <= 0 && abs.compareTo(BigDecimal.ZERO) != 0) {
-            return true;
+        if (exponent != -digitLimit) {
+            return exponent < -digitLimit;
+        }
+
+        return value.abs().compareTo(minDecimalValue(digitLimit)) == 0;
+    }
+
+    /**
+     * Checks that product of two numbers is certainly out of range ({@code MAX_INTEGER_VALUE},
+     * {@code MAX_INTEGER_VALUE}) without calculating it.
+     * <p>
+     * Adjusted exponent of product is either sum of adjusted exponents of factors or that sum plus one, so validation
+     * fails only if both possible exponents are out of range. If result is not certain, false is returned and product
+     * should be calculated and validated as usual.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     * @return true if product certainly fails validation or false otherwise.
+     */
+    public static boolean productOverflowValidationFailed(BigDecimal first, BigDecimal second) {
+        return productOverflowValidationFailed(first, second, DEFAULT_DIGIT_LIMIT);
+    }
+
+    /**
+     * Checks that product of two numbers is certainly out of range defined by digit limit without calculating it.
+     *
+     * @param first      first factor.
+     * @param second     second factor.
+     * @param digitLimit limit of digits in integer and decimal parts of product.
+     * @return true if product certainly fails validation or false otherwise.
+     * @see #productOverflowValidationFailed(BigDecimal, BigDecimal)
+     */
+    public static boolean productOverflowValidationFailed(BigDecimal first, BigDecimal second, int digitLimit) {
+        if (first.signum() == 0 || second.signum() == 0) {
+            return false;
+        }
+
+        long exponent = exponentOf(first) + exponentOf(second);
+
+        return exponent >= digitLimit || exponent + 1 < -digitLimit;
+    }
+
+    /**
+     * Checks that percentage of one number from another is certainly not less than {@code MAX_INTEGER_VALUE} by
+     * absolute value without calculating it.
+     * <p>
+     * Only upper bound is checked, because too small percentage is rounded and may become zero.
+     *
+     * @param first  number to calculate percentage of.
+     * @param second amount of percents.
+     * @return true if percentage certainly fails validation or false otherwise.
+     * @see #productOverflowValidationFailed(BigDecimal, BigDecimal)
+     */
+    public static boolean percentageOverflowValidationFailed(BigDecimal first, BigDecimal second) {
+        return percentageOverflowValidationFailed(first, second, DEFAULT_DIGIT_LIMIT);
+    }
+
+    /**
+     * Checks that percentage of one number from another is certainly not less than {@code 10^digitLimit} by absolute
+     * value without calculating it.
+     *
+     * @param first      number to calculate percentage of.
+     * @param second     amount of percents.
+     * @param digitLimit limit of digits in integer part of percentage.
+     * @return true if percentage certainly fails validation or false otherwise.
+     * @see #percentageOverflowValidationFailed(BigDecimal, BigDecimal)
+     */
+    public static boolean percentageOverflowValidationFailed(BigDecimal first, BigDecimal second, int digitLimit) {
+        if (first.signum() == 0 || second.signum() == 0) {
+            return false;
         }
 
-        //overflow after divide
-        return divide && overflowValidationFailedForDivide(value, dividend);
+        return exponentOf(first) + exponentOf(second) - PERCENT_EXPONENT >= digitLimit;
+    }
+
+    /**
+     * Returns bound for minimal value for digit limit.
+     *
+     * @param digitLimit limit of digits in decimal part of number.
+     * @return {@code 10^(-digitLimit)}.
+     */
+    public static BigDecimal minDecimalValue(int digitLimit) {
+        return digitLimit == DEFAULT_DIGIT_LIMIT ? MIN_DECIMAL_VALUE : BigDecimal.ONE.scaleByPowerOfTen(-digitLimit);
     }
 
     /**
@@ -58,11 +227,10 @@ public class OverflowValidation {
      * If result's scale more than divide operation scale, result will equal to zero. In that way, if result is zero and
      * dividend is not zero, validation failed.
      *
-     * @param value    {@code BigDecimal} value to check.
      * @param dividend {@code BigDecimal} value that was used as dividend.
      * @return true if validation failed or false otherwise.
      */
-    private static boolean overflowValidationFailedForDivide(BigDecimal value, BigDecimal dividend) {
-        return dividend.compareTo(BigDecimal.ZERO) != 0 && value.compareTo(BigDecimal.ZERO) == 0;
+    private static boolean overflowValidationFailedForDivide(BigDecimal dividend) {
+        return dividend.signum() != 0;
     }
 }
@@ -0,0 +1,354 @@
+package com.implemica.bormashenko.calculator.model.util;
+
+import com.implemica.bormashenko.calculator.model.CancellationToken;
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Utility class for multiplying and dividing huge numbers by tasks of {@code ForkJoinPool.commonPool()}.
+ * <p>
+ * Numbers are split in halves and multiplied by Karatsuba's method: three products of halves are calculated as
+ * separate tasks of the pool, and each of them is split again until factors are shorter than
+ * {@code PARALLEL_THRESHOLD} bits. Shorter factors are multiplied by {@code BigInteger.multiply}, which uses
+ * Toom-Cook multiplication for long numbers, so only numbers with hundreds of thousands digits are split into tasks.
+ * Products of halves are calculated at the same time only if the pool has more than one thread, so speedup depends on
+ * amount of processors.
+ * <p>
+ * Long integers are divided by multiplying dividend on reciprocal of divisor, which is calculated by Newton's
+ * iteration, and powers are calculated by repeated squaring, so their long products are split the same way. Other
+ * operations of model are performed by one thread.
+ * <p>
+ * Each task checks {@link CancellationToken} before splitting factors, so multiplying can be cancelled between
+ * products of halves.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class ParallelMultiplication {
+
+    /**
+     * Minimal bit length of both factors which are multiplied in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 18;
+
+    /**
+     * Amount of extra bits kept by approximate division, so error of reciprocal does not reach digits of quotient.
+     */
+    private static final int GUARD_BITS = 32;
+
+    /**
+     * Multiplies two decimal numbers.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     * @return product of numbers.
+     * @throws ArithmeticException if scale of product is out of range of {@code int}.
+     */
+    public static BigDecimal multiply(BigDecimal first, BigDecimal second) {
+        return multiply(first, second, null);
+    }
+
+    /**
+     * Multiplies two decimal numbers checking cancellation token.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     * @param token  token to check or null if multiplying can not be cancelled.
+     * @return product of numbers.
+     * @throws ArithmeticException if scale of product is out of range of {@code int}.
+     * @throws CancelledException  if token is cancelled.
+     */
+    public static BigDecimal multiply(BigDecimal first, BigDecimal second, CancellationToken token) {
+        long scale = (long) first.scale() + second.scale();
+        BigInteger firstUnscaled = first.unscaledValue();
+        BigInteger secondUnscaled = second.unscaledValue();
+
+        if (!isParallel(firstUnscaled, secondUnscaled) || !CompactDecimal.isScaleInRange(scale)) {
+            return first.multiply(second);
+        }
+
+        return new BigDecimal(multiply(firstUnscaled, secondUnscaled, token), (int) scale);
+    }
+
+    /**
+     * Multiplies two integer numbers.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     * @return product of numbers.
+     */
+    public static BigInteger multiply(BigInteger first, BigInteger second) {
+        return multiply(first, second, null);
+    }
+
+    /**
+     * Multiplies two integer numbers checking cancellation token.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     * @param token  token to check or null if multiplying can not be cancelled.
+     * @return product of numbers.
+     * @throws CancelledException if token is cancelled.
+     */
+    public static BigInteger multiply(BigInteger first, BigInteger second, CancellationToken token) {
+        if (!isParallel(first, second)) {
+            return first.multiply(second);
+        }
+
+        BigInteger product = ForkJoinPool.commonPool().invoke(first == second ?
+                new Product(first.abs(), token) : new Product(first.abs(), second.abs(), token));
+
+        return first.signum() == second.signum() ? product : product.negate();
+    }
+
+    /**
+     * Calculates square of integer number.
+     *
+     * @param number number to square.
+     * @return square of number.
+     */
+    public static BigInteger square(BigInteger number) {
+        return multiply(number, number, null);
+    }
+
+    /**
+     * Calculates square of integer number checking cancellation token.
+     *
+     * @param number number to square.
+     * @param token  token to check or null if squaring can not be cancelled.
+     * @return square of number.
+     * @throws CancelledException if token is cancelled.
+     */
+    public static BigInteger square(BigInteger number, CancellationToken token) {
+        return multiply(number, number, token);
+    }
+
+    /**
+     * Divides non-negative integer by positive one checking cancellation token.
+     *
+     * @param dividend non-negative number that is divided.
+     * @param divisor  positive number that dividend is divided by.
+     * @param token    token to check or null if division can not be cancelled.
+     * @return quotient rounded down.
+     * @throws CancelledException if token is cancelled.
+     */
+    public static BigInteger divide(BigInteger dividend, BigInteger divisor, CancellationToken token) {
+        return divideAndRemainder(dividend, divisor, token)[0];
+    }
+
+    /**
+     * Divides non-negative integer by positive one checking cancellation token. If both divisor and quotient are not
+     * shorter than {@code PARALLEL_THRESHOLD} bits, dividend is multiplied on reciprocal of divisor, and the quotient
+     * is corrected by its remainder, so all long products are calculated in parallel.
+     *
+     * @param dividend non-negative number that is divided.
+     * @param divisor  positive number that dividend is divided by.
+     * @param token    token to check or null if division can not be cancelled.
+     * @return array of quotient rounded down and remainder.
+     * @throws CancelledException if token is cancelled.
+     */
+    public static BigInteger[] divideAndRemainder(BigInteger dividend, BigInteger divisor, CancellationToken token) {
+        int divisorLength = divisor.bitLength();
+        int quotientLength = dividend.bitLength() - divisorLength;
+
+        if (Math.min(divisorLength, quotientLength) < PARALLEL_THRESHOLD) {
+            return dividend.divideAndRemainder(divisor);
+        }
+
+        //only leading bits of dividend affect quotient, so the lower ones are dropped before multiplying
+        int shift = divisorLength - GUARD_BITS;
+        int precision = quotientLength + GUARD_BITS;
+        BigInteger reciprocal = reciprocal(divisor, precision, token);
+
+        BigInteger quotient = multiply(dividend.shiftRight(shift), reciprocal, token)
+                .shiftRight(divisorLength + precision - shift);
+        BigInteger remainder = dividend.subtract(multiply(quotient, divisor, token));
+
+        //approximate quotient differs from the exact one by a few units
+        while (remainder.signum() < 0) {
+            quotient = quotient.subtract(BigInteger.ONE);
+            remainder = remainder.add(divisor);
+        }
+
+        while (remainder.compareTo(divisor) >= 0) {
+            quotient = quotient.add(BigInteger.ONE);
+            remainder = remainder.subtract(divisor);
+        }
+
+        return new BigInteger[]{quotient, remainder};
+    }
+
+    /**
+     * Raises integer to power by repeated squaring checking cancellation token.
+     *
+     * @param base     number to raise.
+     * @param exponent non-negative power.
+     * @param token    token to check or null if raising can not be cancelled.
+     * @return {@code base^exponent}.
+     * @throws ArithmeticException if exponent is negative.
+     * @throws CancelledException  if token is cancelled.
+     */
+    public static BigInteger pow(BigInteger base, int exponent, CancellationToken token) {
+        if (exponent < 0) {
+            throw new ArithmeticException("Expected: non-negative exponent. Got: " + exponent);
+        }
+
+        BigInteger result = BigInteger.ONE;
+
+        for (int bit = 31 - Integer.numberOfLeadingZeros(exponent); bit >= 0; bit--) {
+            result = square(result, token);
+
+            if ((exponent >>> bit & 1) != 0) {
+                result = multiply(result, base, token);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculates reciprocal of divisor by Newton's iteration with precision doubling. Reciprocal with half of
+     * precision is calculated recursively, and one step {@code x + x * (1 - divisor * x)} doubles amount of its
+     * correct bits.
+     *
+     * @param divisor   positive number.
+     * @param precision amount of bits of reciprocal.
+     * @param token     token to check or null if calculation can not be cancelled.
+     * @return {@code 2^(divisorLength + precision) / divisor} with error of a few units, where {@code divisorLength}
+     * is bit length of divisor.
+     * @throws CancelledException if token is cancelled.
+     */
+    private static BigInteger reciprocal(BigInteger divisor, int precision, CancellationToken token) {
+        CancellationToken.check(token);
+
+        //only leading bits of divisor affect reciprocal with this precision
+        int shift = Math.max(0, divisor.bitLength() - precision - GUARD_BITS);
+        BigInteger leading = divisor.shiftRight(shift);
+        int unit = leading.bitLength() + precision;
+
+        if (precision < PARALLEL_THRESHOLD) {
+            return BigInteger.ONE.shiftLeft(unit).divide(leading);
+        }
+
+        int half = precision / 2 + GUARD_BITS;
+        BigInteger approximation = reciprocal(divisor, half, token).shiftLeft(precision - half);
+        BigInteger error = BigInteger.ONE.shiftLeft(unit).subtract(multiply(leading, approximation, token));
+
+        return approximation.add(multiply(approximation, error, token).shiftRight(unit));
+    }
+
+    /**
+     * Checks that numbers are long enough to be multiplied in parallel.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     * @return true if both factors are not shorter than {@code PARALLEL_THRESHOLD} bits or false otherwise.
+     */
+    private static boolean isParallel(BigInteger first, BigInteger second) {
+        return Math.min(first.bitLength(), second.bitLength()) >= PARALLEL_THRESHOLD;
+    }
+
+    /**
+     * Task for multiplying two non-negative integers.
+     */
+    private static class Product extends RecursiveTask<BigInteger> {
+
+        /**
+         * Version of serialized task, which is required for {@code Serializable} {@code RecursiveTask}.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * First factor.
+         */
+        private final BigInteger first;
+
+        /**
+         * Second factor, which is the same object as first factor for squaring.
+         */
+        private final BigInteger second;
+
+        /**
+         * Token to check or null if task can not be cancelled.
+         */
+        private final CancellationToken token;
+
+        /**
+         * Constructor for task of squaring.
+         *
+         * @param number non-negative number to square.
+         * @param token  token to check or null if task can not be cancelled.
+         */
+        private Product(BigInteger number, CancellationToken token) {
+            this(number, number, token);
+        }
+
+        /**
+         * Constructor for task of multiplying.
+         *
+         * @param first  non-negative first factor.
+         * @param second non-negative second factor.
+         * @param token  token to check or null if task can not be cancelled.
+         */
+        private Product(BigInteger first, BigInteger second, CancellationToken token) {
+            this.first = first;
+            this.second = second;
+            this.token = token;
+        }
+
+        /**
+         * Multiplies factors. If they are long enough, calculates products of their halves in parallel and combines
+         * them as {@code high * 2^(2 * half) + (middle - high - low) * 2^half + low}.
+         *
+         * @return product of factors.
+         * @throws CancelledException if token is cancelled.
+         */
+        @Override
+        protected BigInteger compute() {
+            CancellationToken.check(token);
+
+            if (!isParallel(first, second)) {
+                return first.multiply(second);
+            }
+
+            boolean isSquare = first == second;
+
+            //multiple of 32, so halves are split by whole words
+            int half = Math.max(first.bitLength(), second.bitLength()) / 64 * 32;
+
+            BigInteger firstHigh = first.shiftRight(half);
+            BigInteger firstLow = first.subtract(firstHigh.shiftLeft(half));
+            BigInteger firstSum = firstHigh.add(firstLow);
+
+            Product high;
+            Product low;
+            Product middle;
+
+            if (isSquare) {
+                high = new Product(firstHigh, token);
+                low = new Product(firstLow, token);
+                middle = new Product(firstSum, token);
+            } else {
+                BigInteger secondHigh = second.shiftRight(half);
+                BigInteger secondLow = second.subtract(secondHigh.shiftLeft(half));
+
+                high = new Product(firstHigh, secondHigh, token);
+                low = new Product(firstLow, secondLow, token);
+                middle = new Product(firstSum, secondHigh.add(secondLow), token);
+            }
+
+            high.fork();
+            low.fork();
+            BigInteger middleProduct = middle.compute();
+            BigInteger lowProduct = low.join();
+            BigInteger highProduct = high.join();
+
+            return highProduct.shiftLeft(2 * half)
+                    .add(middleProduct.subtract(highProduct).subtract(lowProduct).shiftLeft(half))
+                    .add(lowProduct);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.implemica.bormashenko.calculator.model.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Utility class for calculating result of repeated binary operation without performing each repetition.
+ * <p>
+ * Adding the same number {@code n} times is calculated by one multiplying, multiplying on the same number {@code n}
+ * times is calculated by exponentiation by squaring. Both operations are exact, so their results are the same as
+ * repeated operations give. Index of the first repetition which result fails overflow validation is found without
+ * calculating the previous results.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class RepeatedOperation {
+
+    /**
+     * Adjusted exponent of {@code OverflowValidation.MAX_INTEGER_VALUE}.
+     */
+    private static final double MAX_EXPONENT = 10000;
+
+    /**
+     * Maximal error of decimal logarithms calculated using {@code double}. Error of logarithm for any repetition is
+     * much less than that, so if logarithm of result is further from bound than this value, result is certainly valid
+     * or certainly invalid.
+     */
+    private static final double LOGARITHM_ERROR = 1.e-3;
+
+    /**
+     * Precision of number used to calculate its logarithm.
+     */
+    private static final MathContext LOGARITHM_CONTEXT = new MathContext(17, RoundingMode.HALF_EVEN);
+
+    /**
+     * Calculates result of adding number to another one several times.
+     *
+     * @param number number to add to.
+     * @param addend number to add.
+     * @param times  amount of repetitions.
+     * @return {@code number + times * addend} without trailing zeros.
+     */
+    public static BigDecimal sum(BigDecimal number, BigDecimal addend, int times) {
+        BigDecimal result = number.add(addend.multiply(BigDecimal.valueOf(times)));
+
+        if (result.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        return Normalization.normalize(result);
+    }
+
+    /**
+     * Calculates result of multiplying number on another one several times.
+     *
+     * @param number number to multiply.
+     * @param factor number to multiply on.
+     * @param times  amount of repetitions.
+     * @return {@code number * factor^times} without trailing zeros.
+     * @throws ArithmeticException if scale of result is out of {@code int} range.
+     */
+    public static BigDecimal product(BigDecimal number, BigDecimal factor, int times) {
+        if (times == 0) {
+            return Normalization.normalize(number);
+        }
+
+        BigDecimal result = number.multiply(power(factor, times));
+
+        if (result.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+
+        return Normalization.normalize(result);
+    }
+
+    /**
+     * Finds the first repetition of adding which result fails overflow validation.
+     * <p>
+     * Sum changes linearly, so it can exceed upper bound only once. Lower bound can be reached only by sums which are
+     * not further from zero than the addend, which are checked directly.
+     *
+     * @param number valid number to add to.
+     * @param addend valid number to add.
+     * @param times  amount of repetitions.
+     * @return index of the first failed repetition starting from 1, or 0 if all the repetitions are valid.
+     */
+    public static int firstFailedSumStep(BigDecimal number, BigDecimal addend, int times) {
+        int signum = addend.signum();
+
+        if (signum == 0) {
+            return 0;
+        }
+
+        BigDecimal absAddend = addend.abs();
+        BigDecimal maxTimes = BigDecimal.valueOf(times);
+        int failed = 0;
+
+        //the first repetition which sum reaches upper bound
+        BigDecimal upperStep = OverflowValidation.MAX_INTEGER_VALUE
+                .subtract(signum > 0 ? number : number.negate())
+                .divide(absAddend, 0, RoundingMode.CEILING);
+
+        if (upperStep.compareTo(maxTimes) <= 0) {
+            failed = upperStep.intValue();
+        }
+
+        //repetitions which sums are not further from zero than the addend
+        if (number.signum() == -signum) {
+            BigDecimal zeroStep = number.abs().divide(absAddend, 0, RoundingMode.FLOOR);
+
+            for (int i = -1; i <= 1; i++) {
+                BigDecimal step = zeroStep.add(BigDecimal.valueOf(i));
+
+                if (step.signum() > 0 && step.compareTo(maxTimes) <= 0 && (failed == 0 || step.intValue() < failed) &&
+                        isFailed(sum(number, addend, step.intValue()))) {
+                    failed = step.intValue();
+                }
+            }
+        }
+
+        return failed;
+    }
+
+    /**
+     * Finds the first repetition of multiplying which result fails overflow validation.
+     * <p>
+     * Absolute value of product changes monotonically, so repetitions are checked by binary search. Results which
+     * logarithms are far from bounds are checked using logarithms only, other results are calculated exactly.
+     *
+     * @param number valid number to multiply.
+     * @param factor valid number to multiply on.
+     * @param times  amount of repetitions.
+     * @return index of the first failed repetition starting from 1, or 0 if all the repetitions are valid.
+     */
+    public static int firstFailedProductStep(BigDecimal number, BigDecimal factor, int times) {
+        if (number.signum() == 0 || factor.signum() == 0 || factor.abs().compareTo(BigDecimal.ONE) == 0) {
+            return 0;
+        }
+
+        double numberLogarithm = logarithm(number);
+        double factorLogarithm = logarithm(factor);
+
+        if (!isProductFailed(number, factor, times, numberLogarithm, factorLogarithm)) {
+            return 0;
+        }
+
+        int low = 1;
+        int high = times;
+
+        while (low < high) {
+            int middle = low + (high - low) / 2;
+
+            if (isProductFailed(number, factor, middle, numberLogarithm, factorLogarithm)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Checks that product after several repetitions fails overflow validation.
+     *
+     * @param number          number to multiply.
+     * @param factor          number to multiply on.
+     * @param times           amount of repetitions.
+     * @param numberLogarithm decimal logarithm of absolute value of number.
+     * @param factorLogarithm decimal logarithm of absolute value of factor.
+     * @return true if product fails overflow validation or false otherwise.
+     */
+    private static boolean isProductFailed(BigDecimal number, BigDecimal factor, int times, double numberLogarithm,
+                                           double factorLogarithm) {
+        double logarithm = numberLogarithm + times * factorLogarithm;
+
+        if (Math.abs(logarithm) >= MAX_EXPONENT + LOGARITHM_ERROR) {
+            return true;
+        }
+
+        if (Math.abs(logarithm) < MAX_EXPONENT - LOGARITHM_ERROR) {
+            return false;
+        }
+
+        return isFailed(product(number, factor, times));
+    }
+
+    /**
+     * Checks that number fails overflow validation.
+     *
+     * @param number number to check.
+     * @return true if validation failed or false otherwise.
+     */
+    private static boolean isFailed(BigDecimal number) {
+        return OverflowValidation.overflowValidationFailed(number, false, BigDecimal.ZERO);
+    }
+
+    /**
+     * Calculates decimal logarithm of absolute value of non-zero number.
+     *
+     * @param number non-zero number.
+     * @return decimal logarithm of absolute value of number.
+     */
+    private static double logarithm(BigDecimal number) {
+        BigDecimal rounded = number.abs().round(LOGARITHM_CONTEXT);
+        long exponent = OverflowValidation.exponentOf(rounded);
+
+        return exponent + Math.log10(rounded.movePointLeft((int) exponent).doubleValue());
+    }
+
+    /**
+     * Raises number to the power.
+     *
+     * @param number number to raise.
+     * @param power  positive power.
+     * @return {@code number^power}.
+     * @throws ArithmeticException if scale of result is out of {@code int} range.
+     */
+    private static BigDecimal power(BigDecimal number, int power) {
+        BigDecimal stripped = Normalization.normalize(number);
+        long scale = (long) stripped.scale() * power;
+
+        if (!CompactDecimal.isScaleInRange(scale)) {
+            throw new ArithmeticException("Expected: scale in int range. Got: " + scale);
+        }
+
+        BigInteger unscaled = stripped.unscaledValue().pow(power);
+
+        return new BigDecimal(unscaled, (int) scale);
+    }
+}
@@ -0,0 +1,74 @@
+package com.implemica.bormashenko.calculator.model.util;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Utility class for rounding numbers with many digits to a few significant digits.
+ * <p>
+ * {@code BigDecimal.round} divides the whole unscaled value by power of ten, so its cost grows with amount of digits.
+ * Here number is bounded from below and from above by numbers built from the leading bits of its unscaled value, and
+ * bounds are rounded instead of number. Bounds are so close that they are rounded to the same value unless number is
+ * almost exactly between two rounded values. Only in that case number is rounded by {@code BigDecimal.round}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public class SignificantDigits {
+
+    /**
+     * Digits which are calculated in bounds in addition to required digits.
+     */
+    private static final int GUARD_DIGITS = 10;
+
+    /**
+     * Amount of bits that is enough for one decimal digit.
+     */
+    private static final double BITS_PER_DIGIT = Math.log(10) / Math.log(2);
+
+    /**
+     * Number 2 as {@code BigDecimal}.
+     */
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /**
+     * Rounds number to precision of math context. Result is equal to {@code number.round(mathContext)}.
+     * <p>
+     * Rounding modes that depend on sign of number ({@code FLOOR} and {@code CEILING}) and unlimited precision are
+     * always passed to {@code BigDecimal.round}.
+     *
+     * @param number      number to round.
+     * @param mathContext precision and rounding mode.
+     * @return rounded number.
+     * @throws ArithmeticException if rounding mode is {@code UNNECESSARY} and number should be rounded.
+     */
+    public static BigDecimal round(BigDecimal number, MathContext mathContext) {
+        int digits = mathContext.getPrecision();
+        RoundingMode roundingMode = mathContext.getRoundingMode();
+        BigInteger unscaled = number.unscaledValue().abs();
+        int shift = unscaled.bitLength() - (int) Math.ceil((digits + GUARD_DIGITS) * BITS_PER_DIGIT);
+
+        if (digits == 0 || shift <= 0 || roundingMode == RoundingMode.FLOOR || roundingMode == RoundingMode.CEILING ||
+                roundingMode == RoundingMode.UNNECESSARY) {
+            return number.round(mathContext);
+        }
+
+        //unscaled value is between top * 2^shift and (top + 1) * 2^shift
+        BigInteger top = unscaled.shiftRight(shift);
+        MathContext down = new MathContext(digits + 2 * GUARD_DIGITS, RoundingMode.FLOOR);
+        MathContext up = new MathContext(digits + 2 * GUARD_DIGITS, RoundingMode.CEILING);
+
+        BigDecimal lower = new BigDecimal(top).multiply(TWO.pow(shift, down), down);
+        BigDecimal upper = new BigDecimal(top.add(BigInteger.ONE)).multiply(TWO.pow(shift, up), up);
+
+        BigDecimal roundedLower = lower.scaleByPowerOfTen(-number.scale()).round(mathContext);
+        BigDecimal roundedUpper = upper.scaleByPowerOfTen(-number.scale()).round(mathContext);
+
+        if (roundedLower.compareTo(roundedUpper) != 0) {
+            return number.round(mathContext);
+        }
+
+        return number.signum() < 0 ? roundedLower.negate() : roundedLower;
+    }
+}
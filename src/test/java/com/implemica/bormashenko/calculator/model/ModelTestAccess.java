@@ -0,0 +1,43 @@
+package com.implemica.bormashenko.calculator.model;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Access to package-private hooks of model for tests, which are kept in other packages.
+ *
+ * @author Mykhailo Bormashenko
+ */
+public final class ModelTestAccess {
+
+    /**
+     * Private constructor, so class is not instantiated.
+     */
+    private ModelTestAccess() {
+    }
+
+    /**
+     * Creates registry with its own source of time.
+     *
+     * @param prototype  {@link Calculation} which is forked for new sessions or null if sessions start with default
+     *                   settings.
+     * @param timeToLive positive time to live of unused session.
+     * @param unit       unit of time to live.
+     * @param maxWeight  maximal summary weight of sessions.
+     * @param nanoTime   source of current time in nanoseconds.
+     * @return new {@link SessionRegistry}.
+     */
+    public static SessionRegistry sessionRegistry(Calculation prototype, long timeToLive, TimeUnit unit,
+                                                  long maxWeight, LongSupplier nanoTime) {
+        return new SessionRegistry(prototype, timeToLive, unit, maxWeight, nanoTime);
+    }
+
+    /**
+     * Treats lease as unreachable, as garbage collector does.
+     *
+     * @param lease {@link CalculationPool.Lease} to treat as unreachable.
+     */
+    public static void simulateUnreachable(CalculationPool.Lease lease) {
+        CalculationPool.simulateUnreachable(lease);
+    }
+}
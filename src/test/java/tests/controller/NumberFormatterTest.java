@@ -1,12 +1,21 @@
 package tests.controller;
 
 import com.implemica.bormashenko.calculator.controller.util.NumberFormatter;
+import com.implemica.bormashenko.calculator.controller.util.NumberParser;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
-import java.text.ParseException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Test class for testing {@link NumberFormatter}.
@@ -19,7 +28,7 @@ class NumberFormatterTest {
      * Tests for screen to big decimal operation.
      */
     @Test
-    void parseToBigDecimalTests() throws ParseException {
+    void parseToBigDecimalTests() {
         //integers
         //without commas
         checkParseToBigDecimal("0", new BigDecimal("0"));
@@ -345,17 +354,99 @@ class NumberFormatterTest {
         checkFormat(new BigDecimal("-0.00000000000000001"), "-1.e-17");
     }
 
+    /**
+     * Tests for formatting into {@code char} buffer.
+     */
+    @Test
+    void charBufferTests() {
+        char[] buffer = new char[NumberFormatter.getMaxLength(new BigDecimal("100.0"))];
+
+        checkFormatToBuffer(new BigDecimal("1234567.891"), buffer, "1,234,567.891");
+        checkFormatToBuffer(new BigDecimal("-0.00000000000000000000100"), buffer, "-1.e-2100");
+        checkFormatToBuffer(new BigDecimal("9999999999999999.5"), buffer, "1.e+16");
+        checkFormatToBuffer(new BigDecimal("0.00099999999999999999999"), buffer, "1.e-3");
+        checkFormatToBuffer(new BigDecimal("100.0"), buffer, "100.000");
+        checkFormatToBuffer(new BigDecimal("0.00"), buffer, "0.00");
+        checkFormatToBuffer(new BigDecimal("5E+2"), buffer, "500");
+        checkFormatToBuffer(new BigDecimal(BigInteger.TEN.pow(9999).negate()), buffer, "-1.e+9999");
+        checkFormatToBuffer(new BigDecimal(BigInteger.ONE, 9999), buffer, "1.e-9999");
+
+        BigDecimal zeros = new BigDecimal(BigInteger.ZERO, 200);
+        assertThrows(IllegalArgumentException.class, () -> NumberFormatter.GROUPING.format(zeros, buffer));
+        assertEquals(202, NumberFormatter.formatNumber(zeros, true).length());
+    }
+
+    /**
+     * Tests for using formatters by many threads at the same time.
+     */
+    @Test
+    void concurrencyTests() throws InterruptedException, ExecutionException {
+        //parsing does not depend on previous formatting
+        NumberFormatter.formatNumber(new BigDecimal("1e-20"), false);
+        checkParseToBigDecimal("1,234.5", new BigDecimal("1234.5"));
+        checkParseToBigDecimal("1.e+16", new BigDecimal("1e+16"));
+
+        Random random = new Random(21);
+        BigDecimal[] numbers = new BigDecimal[400];
+        String[] grouped = new String[numbers.length];
+        String[] plain = new String[numbers.length];
+
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = new BigDecimal(new BigInteger(random.nextInt(40) + 1, random), random.nextInt(30));
+            grouped[i] = NumberFormatter.GROUPING.format(numbers[i]);
+            plain[i] = NumberFormatter.PLAIN.format(numbers[i]);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < numbers.length; i++) {
+                    assertEquals(grouped[i], NumberFormatter.formatNumber(numbers[i], true));
+                    assertEquals(plain[i], NumberFormatter.formatNumber(numbers[i], false));
+                    assertEquals(NumberParser.parse(plain[i]), NumberFormatter.parseToBigDecimal(grouped[i]));
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+    }
+
     /**
      * Check result of screen to big decimal operation.
      *
      * @param string     number to convert.
      * @param bigDecimal expected result after performing operation.
      */
-    private void checkParseToBigDecimal(String string, BigDecimal bigDecimal) throws ParseException {
+    private void checkParseToBigDecimal(String string, BigDecimal bigDecimal) {
         BigDecimal bigDecimalResult = NumberFormatter.parseToBigDecimal(string);
         assertEquals(bigDecimal, bigDecimalResult);
     }
 
+    /**
+     * Checks that formatting into buffer gives the same result as formatting into string.
+     *
+     * @param bigDecimal     number to format.
+     * @param buffer         buffer to format into.
+     * @param expectedResult expected result with group separator.
+     */
+    private void checkFormatToBuffer(BigDecimal bigDecimal, char[] buffer, String expectedResult) {
+        checkFormat(bigDecimal, expectedResult);
+
+        int length = NumberFormatter.GROUPING.format(bigDecimal, buffer);
+        assertEquals(expectedResult, new String(buffer, 0, length));
+
+        length = NumberFormatter.PLAIN.format(bigDecimal, buffer);
+        assertEquals(expectedResult.replaceAll(",", ""), new String(buffer, 0, length));
+    }
+
     /**
      * Check result of format number operation (with and without group separator).
      *
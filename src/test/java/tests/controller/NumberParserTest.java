@@ -0,0 +1,128 @@
+package tests.controller;
+
+import com.implemica.bormashenko.calculator.controller.util.NumberFormatter;
+import com.implemica.bormashenko.calculator.controller.util.NumberParser;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link NumberParser}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class NumberParserTest {
+
+    /**
+     * Tests for parsing numbers.
+     */
+    @Test
+    void parseTests() {
+        checkParse("0", "0");
+        checkParse("-0", "0");
+        checkParse("0.", "0");
+        checkParse("0.00", "0.00");
+        checkParse("-0.00", "0.00");
+        checkParse("123.", "123");
+        checkParse("1.50", "1.50");
+        checkParse(".5", "0.5");
+        checkParse("1,000", "1000");
+        checkParse("-1,234,567.891", "-1234567.891");
+        checkParse("12,34", "1234");
+
+        checkParse("1.e+16", "1e+16");
+        checkParse("1.e-17", "1e-17");
+        checkParse("-1.5e+20", "-1.5e+20");
+        checkParse("12.30e-5", "0.0001230");
+        checkParse("5.e-0", "5");
+        checkParse("1.e17", "1e+17");
+        checkParse("1.e+16000", "1e+16000");
+        checkParse("9.99e-9999", "9.99e-9999");
+
+        //more digits than fit in long
+        checkParse("123456789012345678901234567890.123456789012345678901234567890",
+                "123456789012345678901234567890.123456789012345678901234567890");
+        checkParse("-100000000000000000.000000000000000000000000000000000000",
+                "-100000000000000000.000000000000000000000000000000000000");
+        checkParse("999999999999999999", "999999999999999999");
+        checkParse("1000000000000000000", "1000000000000000000");
+
+        //part of text
+        assertEquals(new BigDecimal("-1234.5"), NumberParser.parse("x = -1,234.5;", 4, 12));
+    }
+
+    /**
+     * Tests for text which is not a number.
+     */
+    @Test
+    void wrongTextTests() {
+        checkWrongText("", 0);
+        checkWrongText("-", 1);
+        checkWrongText("--1", 1);
+        checkWrongText("+1", 0);
+        checkWrongText(" 1", 0);
+        checkWrongText("1 ", 1);
+        checkWrongText("abc", 0);
+        checkWrongText(".", 1);
+        checkWrongText("1..2", 2);
+        checkWrongText("1.2.3", 3);
+        checkWrongText(",1", 0);
+        checkWrongText("1,", 1);
+        checkWrongText("1,,2", 1);
+        checkWrongText("1,234.5,6", 7);
+        checkWrongText("1.e", 3);
+        checkWrongText("1.e+", 4);
+        checkWrongText("1.e+2x", 5);
+        checkWrongText("1.e+99999999999", 13);
+        checkWrongText("Cannot divide by zero", 0);
+
+        assertThrows(NumberFormatException.class, () -> NumberParser.parse("1.5e-2147483647"));
+    }
+
+    /**
+     * Tests for parsing numbers written by formatter.
+     */
+    @Test
+    void formattedNumberTests() {
+        Random random = new Random(25);
+
+        for (int i = 0; i < 5000; i++) {
+            BigDecimal number = new BigDecimal(new BigInteger(random.nextInt(80) + 1, random), random.nextInt(40));
+            number = random.nextBoolean() ? number : number.negate();
+
+            String grouped = NumberFormatter.formatNumber(number, true);
+            String plain = NumberFormatter.formatNumber(number, false);
+
+            //formatter writes the same symbols as BigDecimal, except grouping separators
+            assertEquals(new BigDecimal(plain), NumberParser.parse(plain));
+            assertEquals(new BigDecimal(plain), NumberParser.parse(grouped));
+        }
+    }
+
+    /**
+     * Checks that text is parsed to number with the same unscaled value and scale.
+     *
+     * @param text     text to parse.
+     * @param expected expected number.
+     */
+    private void checkParse(String text, String expected) {
+        assertEquals(new BigDecimal(expected), NumberParser.parse(text));
+    }
+
+    /**
+     * Checks that text can not be parsed.
+     *
+     * @param text  text to parse.
+     * @param index index of wrong symbol.
+     */
+    private void checkWrongText(String text, int index) {
+        NumberFormatException exception = assertThrows(NumberFormatException.class, () -> NumberParser.parse(text));
+        assertEquals("Expected: number. Got: \"" + text + "\" with wrong symbol at index " + index,
+                exception.getMessage());
+    }
+}
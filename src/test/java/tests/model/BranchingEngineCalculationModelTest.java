@@ -0,0 +1,22 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.Calculation;
+import com.implemica.bormashenko.calculator.model.enums.CalculationEngine;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Test class for testing {@link Calculation} with {@code CalculationEngine.BRANCHING}. All the tests of
+ * {@link CalculationModelTest} are run for this engine, so it gives the same results as the default one.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class BranchingEngineCalculationModelTest extends CalculationModelTest {
+
+    /**
+     * Setting up engine of tested object.
+     */
+    @BeforeAll
+    static void setupEngine() {
+        useEngine(CalculationEngine.BRANCHING);
+    }
+}
@@ -1,12 +1,37 @@
 package tests.model;
 
+import com.implemica.bormashenko.calculator.model.CalculationResult;
+import com.implemica.bormashenko.calculator.model.CancellationToken;
+import com.implemica.bormashenko.calculator.model.CalculatorOperation;
+import com.implemica.bormashenko.calculator.model.Fraction;
+import com.implemica.bormashenko.calculator.model.OperationRegistry;
+import com.implemica.bormashenko.calculator.model.Operands;
+import com.implemica.bormashenko.calculator.model.Quotient;
+import com.implemica.bormashenko.calculator.model.ResultCache;
+import com.implemica.bormashenko.calculator.model.StandardOperation;
+import com.implemica.bormashenko.calculator.model.enums.CalculationEngine;
+import com.implemica.bormashenko.calculator.model.enums.CalculationMode;
 import com.implemica.bormashenko.calculator.model.enums.Operation;
+import com.implemica.bormashenko.calculator.model.enums.OperationType;
+import com.implemica.bormashenko.calculator.model.enums.ResultStatus;
 import com.implemica.bormashenko.calculator.model.Calculation;
 import com.implemica.bormashenko.calculator.model.exceptions.*;
+import com.implemica.bormashenko.calculator.model.util.OverflowValidation;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static com.implemica.bormashenko.calculator.model.enums.Operation.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -68,6 +93,15 @@ class CalculationModelTest {
         calculation = new Calculation();
     }
 
+    /**
+     * Sets {@link CalculationEngine} of tested object, so the same tests can be run for each engine.
+     *
+     * @param engine engine to use.
+     */
+    static void useEngine(CalculationEngine engine) {
+        calculation.setEngine(engine);
+    }
+
     /**
      * Test for reset all operation.
      */
@@ -668,6 +702,40 @@ class CalculationModelTest {
 
         checkEquation("312.5632 ROOT", "17.67945700523633");
         checkEquation("123.87624525 ROOT", "11.1299705862145");
+
+        //correctly rounded near halfway
+        checkEquation("99.99999999999999 ROOT", "9.999999999999999");
+        checkEquation("9999999999.999999 ROOT", "99999.99999999999");
+    }
+
+    /**
+     * Tests for square root with selected precision.
+     *
+     * @throws DivideByZeroException     if this exception was thrown during calculation.
+     * @throws OverflowException         if this exception was thrown during calculation.
+     * @throws DivideZeroByZeroException if this exception was thrown during calculation.
+     * @throws NegativeRootException     if this exception was thrown during calculation.
+     */
+    @Test
+    void sqrtPrecisionTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        assertEquals(16, calculation.getSqrtPrecision());
+
+        try {
+            calculation.setSqrtPrecision(5);
+            checkEquation("2 ROOT", "1.4142");
+            checkEquation("4 ROOT", "2");
+            checkEquation("1.e+5 ROOT", "316.23");
+
+            calculation.setSqrtPrecision(40);
+            checkEquation("2 ROOT", "1.41421356237309504880168872420969807857");
+            checkEquation("1234567890987654321 ROOT", "1111111106.499999990437499960315624794161");
+            checkEquation("15241578780673678515622620750190521 ROOT", "123456789123456789");
+
+            assertThrows(IllegalArgumentException.class, () -> calculation.setSqrtPrecision(0));
+        } finally {
+            calculation.setSqrtPrecision(16);
+        }
     }
 
     /**
@@ -756,7 +824,11 @@ class CalculationModelTest {
         checkEquation("19481.312 SQR ROOT SQR ROOT", "19481.312");
         checkEquation("777.777 INVERSE INVERSE SQR ROOT NEG", "-777.777");
         checkEquation("123.123 NEG NEG NEG SQR", "15159.273129");
-        checkEquation("200.002 INVERSE INVERSE NEG", "-200.00200000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000002");
+        //image of quotient is truncated and followed by digit 1, which is not shown on screen
+        checkEquation("200.002 INVERSE INVERSE NEG", "-200.00200000000000000000000000000001");
+        //the rest of digits of quotient are calculated on demand
+        assertEquals(new BigDecimal("-200.00200000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000002"),
+                calculation.expand(calculation.getFirst()));
 
         //engineers
         checkEquation("1.e+120 NEG NEG", "1.e+120");
@@ -1358,6 +1430,517 @@ class CalculationModelTest {
         checkEquationException("-1.e-9999/100 =", OVERFLOW_MESSAGE);
     }
 
+    /**
+     * Tests for operations in {@code CalculationMode.RATIONAL}.
+     *
+     * @throws DivideByZeroException     if this exception was thrown during calculation.
+     * @throws OverflowException         if this exception was thrown during calculation.
+     * @throws DivideZeroByZeroException if this exception was thrown during calculation.
+     * @throws NegativeRootException     if this exception was thrown during calculation.
+     */
+    @Test
+    void rationalModeTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        calculation.setMode(CalculationMode.RATIONAL);
+
+        try {
+            //exact results
+            checkEquation("1/3*3=", "1");
+            checkEquation("1/7*7=", "1");
+            checkEquation("10/3/3*9=", "1.e+1");
+            checkEquation("3 INVERSE INVERSE", "3");
+            checkEquation("200.002 INVERSE INVERSE NEG", "-200.002");
+            checkEquation("3 INVERSE*6=", "2");
+
+            //the same results as in decimal mode
+            checkEquation("2+2=", "4");
+            checkEquation("7.4/-0.5=", "-14.8");
+            checkEquation("5.5*3.2=", "17.6");
+            checkEquation("1234567890987654321 SQR", "1524157877457704723228166437789971041");
+            checkEquation("2 ROOT SQR", "1.999999999999999861967979879025");
+            checkEquation("75.276-67.2%", "50.585472");
+            checkEquation("7*50%", "0.5");
+
+            //decimal image of infinite expansion
+            checkEquation("1/3=", "0.33333333333333333333333333333333331");
+            assertEquals(Fraction.valueOf(BigInteger.ONE, BigInteger.valueOf(3)), calculation.getFirstFraction());
+            checkEquation("-2/3=", "-0.66666666666666666666666666666666661");
+            checkEquation("1.e+9998/3=", "3.3333333333333333333333333333333331e+9997");
+
+            //exceptions
+            checkEquationException("5/0=", DIVIDE_BY_ZERO_MESSAGE);
+            checkEquationException("0/0=", DIVIDE_ZERO_BY_ZERO_MESSAGE);
+            checkEquationException("0 INVERSE", DIVIDE_BY_ZERO_MESSAGE);
+            checkEquationException("-4 ROOT", INVALID_INPUT_MESSAGE);
+            checkEquationException("1.e+9999*10=", OVERFLOW_MESSAGE);
+            checkEquationException("1.e-9999/30=", OVERFLOW_MESSAGE);
+            checkEquationException("1.e-9999*1.e-9999%", OVERFLOW_MESSAGE);
+        } finally {
+            calculation.setMode(CalculationMode.DECIMAL);
+        }
+    }
+
+    /**
+     * Tests for repeating {@code Operation.EQUALS} several times at once.
+     *
+     * @throws DivideByZeroException     if this exception was thrown during calculation.
+     * @throws OverflowException         if this exception was thrown during calculation.
+     * @throws DivideZeroByZeroException if this exception was thrown during calculation.
+     * @throws NegativeRootException     if this exception was thrown during calculation.
+     */
+    @Test
+    void repeatEqualsTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        //adding and subtracting
+        checkRepeatEquals("5", ADD, "3", 1000);
+        checkRepeatEquals("-7.5", ADD, "0.25", 77);
+        checkRepeatEquals("1.e+9999", SUBTRACT, "1.e+9998", 25);
+        checkRepeatEquals("0", SUBTRACT, "0", 10);
+
+        //multiplying
+        checkRepeatEquals("2", MULTIPLY, "2", 100);
+        checkRepeatEquals("3", MULTIPLY, "1.0001", 500);
+        checkRepeatEquals("-1.5", MULTIPLY, "-0.7", 300);
+        checkRepeatEquals("123", MULTIPLY, "0", 5);
+
+        //dividing with finite and infinite inverse numbers
+        checkRepeatEquals("1", DIVIDE, "2", 300);
+        checkRepeatEquals("7", DIVIDE, "0.5", 200);
+        checkRepeatEquals("-3.3", DIVIDE, "-12.5", 40);
+        checkRepeatEquals("1", DIVIDE, "3", 20);
+        checkRepeatEquals("0", DIVIDE, "7", 3);
+
+        //overflow at the same repetition
+        checkRepeatEquals("1.e+9990", ADD, "1.e+9990", 20);
+        checkRepeatEquals("-1.e+9999", SUBTRACT, "1.e+9998", 100);
+        checkRepeatEquals("1.e-9999", SUBTRACT, "1.e-10000", 15);
+        checkRepeatEquals("10", MULTIPLY, "10", 20000);
+        checkRepeatEquals("1", MULTIPLY, "1.01", 5000);
+        checkRepeatEquals("1", DIVIDE, "10", 20000);
+        checkRepeatEquals("1", DIVIDE, "4", 20000);
+
+        //errors of the first repetition
+        checkRepeatEquals("5", DIVIDE, "0", 3);
+        checkRepeatEquals("0", DIVIDE, "0", 3);
+
+        Calculation repeated = new Calculation();
+        assertThrows(IllegalArgumentException.class, () -> repeated.repeatEquals(0));
+    }
+
+    /**
+     * Tests for operations that return status of result instead of throwing exceptions.
+     */
+    @Test
+    void tryOperationTests() {
+        Calculation tried = new Calculation();
+
+        CalculationResult result = tried.tryOperation(SQRT, new BigDecimal("4"));
+        assertEquals(ResultStatus.OK, result.getStatus());
+        assertEquals(new BigDecimal("2"), result.getValue());
+
+        result = tried.tryOperation(ADD, new BigDecimal("5"), new BigDecimal("3"));
+        assertTrue(result.isOk());
+        assertEquals(new BigDecimal("8"), result.getValue());
+
+        //failed operations keep state
+        assertSame(CalculationResult.OVERFLOW, tried.tryOperation(SQR, new BigDecimal("1.e+5000")));
+        assertEquals(new BigDecimal("1.e+5000"), tried.getFirst());
+        assertSame(CalculationResult.NEGATIVE_ROOT, tried.tryOperation(SQRT, new BigDecimal("-4")));
+        assertSame(CalculationResult.DIVIDE_BY_ZERO, tried.tryOperation(INVERSE, BigDecimal.ZERO));
+
+        tried.resetAll();
+        assertSame(CalculationResult.DIVIDE_ZERO_BY_ZERO,
+                tried.tryOperation(DIVIDE, BigDecimal.ZERO, BigDecimal.ZERO));
+        assertNull(CalculationResult.OVERFLOW.getValue());
+
+        //exceptions of throwing operations are shared and have no stack trace
+        tried.resetAll();
+        OverflowException exception = assertThrows(OverflowException.class,
+                () -> tried.doOperation(SQR, new BigDecimal("1.e+5000")));
+        assertSame(OverflowException.INSTANCE, exception);
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    /**
+     * Tests for {@code CalculationMode.APPROXIMATE}.
+     */
+    @Test
+    void approximateModeTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        Calculation approximate = new Calculation();
+        approximate.setMode(CalculationMode.APPROXIMATE);
+        approximate.setDivergenceReported(true);
+
+        assertEquals(new BigDecimal("0.3333333333333333"),
+                approximate.doOperation(DIVIDE, BigDecimal.ONE, new BigDecimal("3")));
+        assertFalse(approximate.isResultDivergent());
+
+        //error of double is not shown on screen
+        approximate.resetAll();
+        BigDecimal sum = approximate.doOperation(ADD, new BigDecimal("0.1"), new BigDecimal("0.2"));
+        assertEquals(new BigDecimal("0.30000000000000004"), sum);
+        assertFalse(approximate.isResultDivergent());
+
+        //but it is after cancellation
+        approximate.resetAll();
+        assertEquals(new BigDecimal("5.551115123125783e-17"),
+                approximate.doOperation(SUBTRACT, sum, new BigDecimal("0.3")));
+        assertTrue(approximate.isResultDivergent());
+
+        approximate.resetAll();
+        assertEquals(new BigDecimal("1.414213562373095"), approximate.doOperation(SQRT, new BigDecimal("2"))
+                .round(new MathContext(16)));
+        assertFalse(approximate.isResultDivergent());
+
+        approximate.resetAll();
+        approximate.doOperation(ADD, new BigDecimal("200"));
+        assertEquals(new BigDecimal("1.e+2"), approximate.doOperation(PERCENT, new BigDecimal("50")));
+        assertEquals(new BigDecimal("-1.e+2"), approximate.doOperation(NEGATE));
+
+        approximate.resetAll();
+        assertEquals(new BigDecimal("0.015625"), approximate.doOperation(SQR, new BigDecimal("0.125")));
+        assertEquals(new BigDecimal("64"), approximate.doOperation(INVERSE));
+
+        //the same errors as in other modes
+        approximate.resetAll();
+        assertThrows(DivideByZeroException.class,
+                () -> approximate.doOperation(DIVIDE, BigDecimal.ONE, BigDecimal.ZERO));
+        approximate.resetAll();
+        assertThrows(DivideZeroByZeroException.class,
+                () -> approximate.doOperation(DIVIDE, BigDecimal.ZERO, BigDecimal.ZERO));
+        approximate.resetAll();
+        assertThrows(DivideByZeroException.class, () -> approximate.doOperation(INVERSE, BigDecimal.ZERO));
+        assertThrows(NegativeRootException.class, () -> approximate.doOperation(SQRT, new BigDecimal("-4")));
+
+        //out of range of double, calculated as decimal
+        approximate.setDivergenceReported(false);
+        assertEquals(new BigDecimal("1.e+400"), approximate.doOperation(SQR, new BigDecimal("1.e+200")));
+        assertTrue(approximate.isResultDivergent());
+        assertEquals(new BigDecimal("1.e+200"), approximate.doOperation(SQRT));
+        assertTrue(approximate.isResultDivergent());
+
+        approximate.resetAll();
+        assertEquals(new BigDecimal("1.e-400"),
+                approximate.doOperation(MULTIPLY, new BigDecimal("1.e-200"), new BigDecimal("1.e-200")));
+        assertTrue(approximate.isResultDivergent());
+
+        approximate.resetAll();
+        assertEquals(new BigDecimal("1.e+400").add(BigDecimal.ONE),
+                approximate.doOperation(ADD, new BigDecimal("1.e+400"), BigDecimal.ONE));
+        assertTrue(approximate.isResultDivergent());
+
+        approximate.resetAll();
+        BigDecimal quotient = new Calculation().doOperation(DIVIDE, new BigDecimal("1.e-400"), new BigDecimal("3"));
+        assertEquals(quotient, approximate.doOperation(DIVIDE, new BigDecimal("1.e-400"), new BigDecimal("3")));
+        assertTrue(approximate.isResultDivergent());
+
+        approximate.resetAll();
+        assertEquals(new BigDecimal("3"), approximate.doOperation(ADD, BigDecimal.ONE, new BigDecimal("2")));
+        assertFalse(approximate.isResultDivergent());
+
+        //the same overflow as in decimal mode
+        approximate.resetAll();
+        assertThrows(OverflowException.class, () -> approximate.doOperation(SQR, new BigDecimal("1.e+5000")));
+        approximate.resetAll();
+        assertThrows(OverflowException.class,
+                () -> approximate.doOperation(MULTIPLY, new BigDecimal("1.e-5000"), new BigDecimal("1.e-5000")));
+
+        //percentage with too many decimal digits fails even if it is in range of double
+        BigDecimal longNumber = BigDecimal.ONE.add(BigDecimal.ONE.movePointLeft(5000));
+        approximate.resetAll();
+        approximate.doOperation(ADD, longNumber);
+        assertThrows(OverflowException.class, () -> approximate.doOperation(PERCENT, longNumber));
+
+        Calculation decimal = new Calculation();
+        decimal.doOperation(ADD, longNumber);
+        assertThrows(OverflowException.class, () -> decimal.doOperation(PERCENT, longNumber));
+    }
+
+    /**
+     * Tests for calculations with digit limit higher than default one.
+     */
+    @Test
+    void highPrecisionTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        Calculation precise = new Calculation();
+        precise.setDigitLimit(30000);
+
+        assertEquals(new BigDecimal("1.e+19998"), precise.doOperation(SQR, new BigDecimal("1.e+9999")));
+        assertEquals(new BigDecimal("1.e-29999"), precise.doOperation(INVERSE, new BigDecimal("1.e+29999")));
+        assertThrows(OverflowException.class, () -> precise.doOperation(SQR, new BigDecimal("1.e+15000")));
+
+        precise.resetAll();
+        BigDecimal third = precise.doOperation(DIVIDE, BigDecimal.ONE, new BigDecimal("3"));
+        assertEquals(Quotient.IMAGE_PRECISION + 1, third.precision());
+        assertEquals(30000, precise.expand(third).scale());
+        assertEquals(BigDecimal.ONE.divide(new BigDecimal("3"), 30000, BigDecimal.ROUND_HALF_UP),
+                precise.expand(third));
+
+        //image is truncated, so rounding it to digits shown on screen is not rounding twice
+        precise.resetAll();
+        BigDecimal dividend = new BigDecimal("0.37037036703703694999999999999999999");
+        BigDecimal quotient = precise.doOperation(DIVIDE, dividend, new BigDecimal("3"));
+        MathContext screen = new MathContext(16, RoundingMode.HALF_UP);
+        assertEquals(new BigDecimal("0.1234567890123456"), quotient.round(screen));
+        assertEquals(new BigDecimal("0.1234567890123456"), precise.expand(quotient).round(screen));
+
+        //long operands are multiplied in parallel
+        precise.resetAll();
+        BigDecimal number = new BigDecimal(BigInteger.TEN.pow(80000).subtract(BigInteger.ONE), 80000);
+        assertEquals(number.multiply(number), precise.doOperation(MULTIPLY, number, number));
+
+        precise.resetAll();
+        precise.setSqrtPrecision(20000);
+        BigDecimal root = precise.doOperation(SQRT, new BigDecimal("2"));
+        assertEquals(20000, root.precision());
+        assertEquals(new BigDecimal("1.414213562373095048801688724209698"), root.round(new MathContext(34)));
+
+        assertThrows(IllegalArgumentException.class, () -> precise.setDigitLimit(9999));
+        assertThrows(IllegalArgumentException.class, () -> precise.setDigitLimit(1000001));
+    }
+
+    /**
+     * Tests for cancelling operations by {@link CancellationToken}.
+     */
+    @Test
+    void cancellationTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        Calculation cancelled = new Calculation();
+        CancellationToken token = new CancellationToken();
+        cancelled.setCancellationToken(token);
+        assertEquals(new BigDecimal("3"), cancelled.doOperation(SQRT, new BigDecimal("9")));
+        cancelled.doOperation(ADD);
+
+        //cancelled operation keeps state
+        token.cancel();
+        CancelledException exception = assertThrows(CancelledException.class,
+                () -> cancelled.doOperation(MULTIPLY, new BigDecimal("2"), new BigDecimal("7")));
+        assertSame(CancelledException.INSTANCE, exception);
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(new BigDecimal("3"), cancelled.getFirst());
+        assertEquals(ADD, cancelled.getBinaryOperation());
+        assertSame(CalculationResult.CANCELLED, cancelled.tryOperation(EQUALS));
+        assertThrows(CancelledException.class, () -> cancelled.repeatEquals(3));
+
+        //result is the same as if cancelled operations were not performed
+        Calculation uncancelled = new Calculation();
+        uncancelled.doOperation(SQRT, new BigDecimal("9"));
+        uncancelled.doOperation(ADD);
+
+        cancelled.setCancellationToken(null);
+        assertEquals(uncancelled.doOperation(EQUALS), cancelled.doOperation(EQUALS));
+
+        //deadline passes while root is calculated, after number is already set
+        cancelled.resetAll();
+        cancelled.setDigitLimit(OverflowValidation.MAX_DIGIT_LIMIT);
+        cancelled.setSqrtPrecision(OverflowValidation.MAX_DIGIT_LIMIT);
+        cancelled.setCancellationToken(CancellationToken.withTimeout(20, TimeUnit.MILLISECONDS));
+        assertThrows(CancelledException.class, () -> cancelled.doOperation(SQRT, new BigDecimal("2")));
+        assertEquals(BigDecimal.ZERO, cancelled.getFirst());
+
+        //quotient is expanded only by the next operation, and deadline passes while it is expanded
+        cancelled.setCancellationToken(null);
+        BigDecimal seventh = cancelled.doOperation(DIVIDE, BigDecimal.ONE, new BigDecimal("7"));
+        cancelled.setCancellationToken(CancellationToken.withTimeout(20, TimeUnit.MILLISECONDS));
+        assertThrows(CancelledException.class, () -> cancelled.doOperation(SQR));
+        assertSame(seventh, cancelled.getFirst());
+        assertEquals(DIVIDE, cancelled.getBinaryOperation());
+
+        assertTrue(CancellationToken.withTimeout(0, TimeUnit.MILLISECONDS).isCancelled());
+        assertThrows(IllegalArgumentException.class, () -> CancellationToken.withTimeout(-1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests for branches of calculation.
+     * <p>
+     * Branches start from the same state, change it independently and can be calculated concurrently.
+     */
+    @Test
+    void forkTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException, InterruptedException, ExecutionException {
+        Calculation trunk = new Calculation();
+        trunk.setSqrtPrecision(40);
+        trunk.doOperation(ADD, new BigDecimal("2"));
+
+        Calculation branch = trunk.fork();
+        assertSame(trunk.getFirst(), branch.getFirst());
+        assertEquals(ADD, branch.getBinaryOperation());
+        assertEquals(40, branch.getSqrtPrecision());
+
+        assertEquals(new BigDecimal("5"), branch.doOperation(EQUALS, new BigDecimal("3")));
+        assertEquals(new BigDecimal("2"), trunk.getFirst());
+        assertEquals(new BigDecimal("9"), trunk.doOperation(EQUALS, new BigDecimal("7")));
+        assertEquals(new BigDecimal("5"), branch.getFirst());
+
+        //branches calculated concurrently give the same results as calculated one by one
+        int branches = 200;
+        List<Callable<BigDecimal>> tasks = new ArrayList<>();
+        BigDecimal[] expected = new BigDecimal[branches];
+
+        for (int i = 0; i < branches; i++) {
+            BigDecimal number = new BigDecimal(i + 2);
+            Calculation sequential = trunk.fork();
+            sequential.doOperation(SQRT, number);
+            expected[i] = sequential.doOperation(MULTIPLY, number);
+
+            Calculation concurrent = trunk.fork();
+            tasks.add(() -> {
+                concurrent.doOperation(SQRT, number);
+                return concurrent.doOperation(MULTIPLY, number);
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<BigDecimal>> results = executor.invokeAll(tasks);
+
+            for (int i = 0; i < branches; i++) {
+                assertEquals(expected[i], results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests for {@link OperationRegistry} and {@link StandardOperation}.
+     */
+    @Test
+    void operationRegistryTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        checkRegisteredOperation(ADD, 2, "+");
+        checkRegisteredOperation(SUBTRACT, 2, "-");
+        checkRegisteredOperation(MULTIPLY, 2, "×");
+        checkRegisteredOperation(DIVIDE, 2, "÷");
+        checkRegisteredOperation(NEGATE, 1, "negate");
+        checkRegisteredOperation(SQR, 1, "sqr");
+        checkRegisteredOperation(SQRT, 1, "√");
+        checkRegisteredOperation(INVERSE, 1, "1/");
+        checkRegisteredOperation(PERCENT, 1, "");
+        checkRegisteredOperation(EQUALS, 0, "");
+
+        //standard registry can not be changed
+        assertThrows(IllegalStateException.class, () -> OperationRegistry.STANDARD.register(StandardOperation.SQR));
+        assertThrows(IllegalArgumentException.class, () -> calculation.doOperation(-1));
+        assertThrows(IllegalArgumentException.class, () -> calculation.doOperation(Operation.values().length));
+        assertEquals(-1, OperationRegistry.STANDARD.idOf("POWER"));
+
+        //replaced implementation is used by calculation with its registry only, and its results are not cached
+        OperationRegistry registry = new OperationRegistry();
+        ResultCache cache = new ResultCache(100000);
+        Calculation standard = new Calculation();
+        Calculation replaced = new Calculation();
+        standard.setResultCache(cache);
+        replaced.setResultCache(cache);
+        replaced.setOperationRegistry(registry);
+
+        assertEquals(SQR.ordinal(), registry.register(new TestOperation("SQR", OperationType.UNARY, "cube")));
+        assertEquals("cube", registry.get(SQR).getSymbol());
+        assertEquals("sqr", OperationRegistry.STANDARD.get(SQR).getSymbol());
+
+        assertEquals(new BigDecimal("4"), standard.doOperation(SQR, new BigDecimal("2")));
+        assertEquals(new BigDecimal("8"), replaced.doOperation(SQR, new BigDecimal("2")));
+        assertEquals(new BigDecimal("8"), replaced.fork().doOperation(SQR, new BigDecimal("2")));
+        assertEquals(new BigDecimal("4"), standard.doOperation(SQR, new BigDecimal("2")));
+        assertEquals(1, cache.getSize());
+
+        registry.register(StandardOperation.SQR);
+        replaced.resetAll();
+        assertEquals(new BigDecimal("4"), replaced.doOperation(SQR, new BigDecimal("2")));
+
+        //new binary operation gets its own id and is repeated by its implementation
+        int power = registry.register(new TestOperation("POWER", OperationType.BINARY, "^"));
+        assertEquals(Operation.values().length, power);
+        assertEquals(power, registry.idOf("POWER"));
+
+        Calculation custom = new Calculation();
+        custom.setOperationRegistry(registry);
+        custom.setFirst(new BigDecimal("3"));
+        assertEquals(new BigDecimal("3"), custom.doOperation(power));
+        assertNull(custom.getBinaryOperation());
+        assertEquals(power, custom.getBinaryOperationId());
+
+        custom.setSecond(new BigDecimal("4"));
+        assertEquals(new BigDecimal("81"), custom.doOperation(EQUALS));
+        assertEquals(new BigDecimal("43046721").pow(4), custom.repeatEquals(2));
+        assertEquals(power, custom.snapshot().getBinaryOperationId());
+    }
+
+    /**
+     * Implementation of {@link CalculatorOperation} for tests, which raises number to the power of 3 if it is unary, or
+     * first number to the power of second one if it is binary.
+     */
+    private static final class TestOperation implements CalculatorOperation {
+
+        /**
+         * Name of operation.
+         */
+        private final String name;
+
+        /**
+         * Type of operation.
+         */
+        private final OperationType type;
+
+        /**
+         * Symbol of operation.
+         */
+        private final String symbol;
+
+        /**
+         * Constructor for operation.
+         *
+         * @param name   name of operation.
+         * @param type   {@code OperationType.UNARY} or {@code OperationType.BINARY}.
+         * @param symbol symbol of operation.
+         */
+        private TestOperation(String name, OperationType type, String symbol) {
+            this.name = name;
+            this.type = type;
+            this.symbol = symbol;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public OperationType getType() {
+            return type;
+        }
+
+        @Override
+        public int getArity() {
+            return type == OperationType.BINARY ? 2 : 1;
+        }
+
+        @Override
+        public String getSymbol() {
+            return symbol;
+        }
+
+        @Override
+        public boolean overflowValidationFailed(Operands operands) {
+            return false;
+        }
+
+        @Override
+        public BigDecimal evaluate(Operands operands) {
+            if (type == OperationType.BINARY) {
+                return operands.getFirst().pow(operands.getSecond().intValueExact());
+            }
+
+            return operands.getNumber().pow(3);
+        }
+
+        @Override
+        public Fraction evaluateExact(Operands operands) {
+            return Fraction.valueOf(evaluate(operands));
+        }
+    }
+
     /**
      * Method for testing {@link Operation} in {@link Calculation}.
      *
@@ -1390,6 +1973,54 @@ class CalculationModelTest {
         assertEquals(new BigDecimal(expectedResult), performTestCalculation(args));
     }
 
+    /**
+     * Checks that repeating {@code Operation.EQUALS} at once gives the same result, exception and first number as
+     * repeating it one by one.
+     *
+     * @param first     first number.
+     * @param operation binary operation.
+     * @param second    second number.
+     * @param times     amount of repetitions.
+     * @throws DivideByZeroException     if this exception was thrown during calculation.
+     * @throws OverflowException         if this exception was thrown during calculation.
+     * @throws DivideZeroByZeroException if this exception was thrown during calculation.
+     * @throws NegativeRootException     if this exception was thrown during calculation.
+     */
+    private void checkRepeatEquals(String first, Operation operation, String second, int times)
+            throws DivideByZeroException, OverflowException, NegativeRootException, DivideZeroByZeroException {
+        Calculation repeated = new Calculation();
+        Calculation iterated = new Calculation();
+
+        for (Calculation calc : new Calculation[]{repeated, iterated}) {
+            calc.setFirst(new BigDecimal(first));
+            calc.doOperation(operation);
+            calc.setSecond(new BigDecimal(second));
+        }
+
+        Object expected;
+
+        try {
+            for (int i = 0; i < times; i++) {
+                iterated.doOperation(EQUALS);
+            }
+
+            expected = iterated.getFirst();
+        } catch (Exception e) {
+            expected = e.getClass();
+        }
+
+        Object result;
+
+        try {
+            result = repeated.repeatEquals(times);
+        } catch (Exception e) {
+            result = e.getClass();
+        }
+
+        assertEquals(expected, result);
+        assertEquals(iterated.getFirst(), repeated.getFirst());
+    }
+
     /**
      * Splits equation to numbers and operations.
      *
@@ -1523,4 +2154,25 @@ class CalculationModelTest {
             assertEquals(expectedMessage, e.getMessage());
         }
     }
+
+    /**
+     * Checks that registered implementation of {@link Operation} is {@link StandardOperation} with expected arity and
+     * symbol.
+     *
+     * @param operation {@link Operation} to check.
+     * @param arity     expected amount of numbers used by operation.
+     * @param symbol    expected symbol of operation.
+     */
+    private void checkRegisteredOperation(Operation operation, int arity, String symbol) {
+        CalculatorOperation registered = OperationRegistry.STANDARD.get(operation);
+
+        assertTrue(registered instanceof StandardOperation);
+        assertSame(operation, ((StandardOperation) registered).getOperation());
+        assertEquals(operation.name(), registered.getName());
+        assertEquals(operation.type, registered.getType());
+        assertEquals(OperationRegistry.idOf(operation), OperationRegistry.STANDARD.idOf(operation.name()));
+        assertSame(operation, OperationRegistry.operationOf(OperationRegistry.idOf(operation)));
+        assertEquals(arity, registered.getArity());
+        assertEquals(symbol, registered.getSymbol());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.Calculation;
+import com.implemica.bormashenko.calculator.model.CalculationPool;
+import com.implemica.bormashenko.calculator.model.CalculationPool.Lease;
+import com.implemica.bormashenko.calculator.model.Memory;
+import com.implemica.bormashenko.calculator.model.ModelTestAccess;
+import com.implemica.bormashenko.calculator.model.enums.CalculationMode;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.implemica.bormashenko.calculator.model.enums.Operation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link CalculationPool}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class CalculationPoolTest {
+
+    /**
+     * Tests for reusing returned calculations and memories.
+     */
+    @Test
+    void reuseTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        Calculation prototype = new Calculation();
+        prototype.setMode(CalculationMode.RATIONAL);
+        prototype.setDigitLimit(20000);
+        CalculationPool pool = new CalculationPool(prototype, 2);
+
+        Calculation calculation;
+        Memory memory;
+
+        try (Lease lease = pool.borrow()) {
+            calculation = lease.getCalculation();
+            memory = lease.getMemory();
+
+            assertNotSame(prototype, calculation);
+            assertEquals(20000, memory.getDigitLimit());
+
+            calculation.doOperation(ADD, new BigDecimal("5"));
+            calculation.doOperation(EQUALS, new BigDecimal("3"));
+            memory.storeToMemory(calculation.getFirst());
+
+            //changed settings do not survive return to pool
+            calculation.setMode(CalculationMode.DECIMAL);
+            calculation.setDigitLimit(10000);
+            memory.setDigitLimit(10000);
+        }
+
+        try (Lease lease = pool.borrow()) {
+            assertSame(calculation, lease.getCalculation());
+            assertSame(memory, lease.getMemory());
+
+            assertEquals(BigDecimal.ZERO, calculation.getFirst());
+            assertNull(memory.recall());
+            assertEquals(CalculationMode.RATIONAL, calculation.getMode());
+            assertEquals(20000, calculation.getDigitLimit());
+            assertEquals(20000, memory.getDigitLimit());
+
+            //recycled calculation gives the same results as new one
+            Calculation expected = prototype.fork();
+            expected.resetAll();
+            expected.doOperation(DIVIDE, new BigDecimal("1"));
+            calculation.doOperation(DIVIDE, new BigDecimal("1"));
+            assertEquals(expected.doOperation(EQUALS, new BigDecimal("3")),
+                    calculation.doOperation(EQUALS, new BigDecimal("3")));
+        }
+
+        assertEquals(1, pool.getCreated());
+        assertEquals(1, pool.getReused());
+        assertEquals(1, pool.getIdle());
+        assertEquals(0, pool.getBorrowed());
+    }
+
+    /**
+     * Tests for bounded amount of returned pairs and closed leases.
+     */
+    @Test
+    void boundTests() {
+        CalculationPool pool = new CalculationPool(2);
+        Lease[] leases = new Lease[5];
+        Calculation[] calculations = new Calculation[5];
+
+        for (int i = 0; i < leases.length; i++) {
+            leases[i] = pool.borrow();
+            calculations[i] = leases[i].getCalculation();
+        }
+
+        assertEquals(5, pool.getBorrowed());
+
+        for (Lease lease : leases) {
+            lease.close();
+        }
+
+        assertEquals(0, pool.getBorrowed());
+        assertEquals(2, pool.getIdle());
+
+        //closing again does nothing
+        leases[0].close();
+        assertEquals(2, pool.getIdle());
+
+        assertThrows(IllegalStateException.class, leases[0]::getCalculation);
+        assertThrows(IllegalStateException.class, leases[0]::getMemory);
+
+        //the last returned pair is borrowed first
+        assertSame(calculations[1], pool.borrow().getCalculation());
+        assertSame(calculations[0], pool.borrow().getCalculation());
+        assertNotSame(calculations[2], pool.borrow().getCalculation());
+        assertEquals(2, pool.getReused());
+        assertEquals(6, pool.getCreated());
+
+        assertThrows(IllegalArgumentException.class, () -> new CalculationPool(-1));
+    }
+
+    /**
+     * Tests for finding leases which were not closed. Garbage collector is not waited for: trackers of leases are
+     * cleared and enqueued the same way as collector does it.
+     */
+    @Test
+    void leakTests() {
+        CalculationPool pool = new CalculationPool(4);
+        Lease kept = pool.borrow();
+
+        for (int i = 0; i < 3; i++) {
+            Lease lost = pool.borrow();
+            lost.getCalculation().setFirst(BigDecimal.TEN);
+            ModelTestAccess.simulateUnreachable(lost);
+        }
+
+        assertEquals(3, pool.getLeaks());
+        assertEquals(1, pool.getBorrowed());
+
+        //leaked pairs are not reused
+        assertEquals(0, pool.getIdle());
+        kept.close();
+        assertEquals(1, pool.getIdle());
+        assertEquals(3, pool.getLeaks());
+
+        //closed lease is not a leak
+        Lease closed = pool.borrow();
+        closed.close();
+        ModelTestAccess.simulateUnreachable(closed);
+        assertEquals(3, pool.getLeaks());
+        assertEquals(0, pool.getBorrowed());
+        assertEquals(1, pool.getIdle());
+    }
+}
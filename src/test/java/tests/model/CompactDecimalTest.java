@@ -0,0 +1,165 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.util.CompactDecimal;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static com.implemica.bormashenko.calculator.model.util.CompactDecimal.INFLATED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for testing {@link CompactDecimal}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class CompactDecimalTest {
+
+    /**
+     * Tests for getting unscaled value of number.
+     */
+    @Test
+    void unscaledOfTests() {
+        checkUnscaledOf("0", 0);
+        checkUnscaledOf("1", 1);
+        checkUnscaledOf("-1", -1);
+        checkUnscaledOf("1.5", 15);
+        checkUnscaledOf("-0.00015", -15);
+        checkUnscaledOf("1.e+20", 1);
+        checkUnscaledOf("999999999999999999", 999999999999999999L);
+        checkUnscaledOf("-99999999.9999999999", -999999999999999999L);
+
+        //does not fit
+        checkUnscaledOf("1000000000000000000", INFLATED);
+        checkUnscaledOf("-1000000000.000000000", INFLATED);
+        checkUnscaledOf("123456789123456789123456789", INFLATED);
+    }
+
+    /**
+     * Tests for add operation.
+     */
+    @Test
+    void addTests() {
+        checkAdd("2", "2");
+        checkAdd("-3", "-3");
+        checkAdd("5.5", "3.2");
+        checkAdd("7.4", "-5.1");
+        checkAdd("0.0001", "1000");
+        checkAdd("1.e+5", "1.e+8");
+        checkAdd("1.e-20", "5.e-20");
+        checkAdd("9999999999999999", "9999999999999999");
+        checkAdd("0", "0");
+
+        //overflow of long
+        assertEquals(INFLATED, CompactDecimal.add(Long.MAX_VALUE, 0, 1, 0));
+        assertEquals(INFLATED, CompactDecimal.add(-Long.MAX_VALUE, 0, -2, 0));
+        assertEquals(INFLATED, CompactDecimal.add(1, 0, 1, 19));
+        assertEquals(INFLATED, CompactDecimal.add(999999999999999999L, 0, 1, 2));
+        assertEquals(INFLATED, CompactDecimal.add(INFLATED, 0, 1, 0));
+    }
+
+    /**
+     * Tests for multiply operation.
+     */
+    @Test
+    void multiplyTests() {
+        checkMultiply("2", "2");
+        checkMultiply("-3", "3");
+        checkMultiply("5.5", "3.2");
+        checkMultiply("0.0001", "-1000");
+        checkMultiply("1.e+5", "1.e+8");
+        checkMultiply("999999999", "999999999");
+        checkMultiply("0", "123.456");
+
+        //overflow of long
+        assertEquals(INFLATED, CompactDecimal.multiply(Long.MAX_VALUE, 2));
+        assertEquals(INFLATED, CompactDecimal.multiply(9999999999L, 9999999999L));
+        assertEquals(INFLATED, CompactDecimal.multiply(INFLATED, 1));
+    }
+
+    /**
+     * Tests for stripping trailing zeros.
+     */
+    @Test
+    void stripTrailingZerosTests() {
+        checkStripTrailingZeros(0, 0, 0);
+        checkStripTrailingZeros(1, 1, 0);
+        checkStripTrailingZeros(10, 1, 1);
+        checkStripTrailingZeros(-1200, -12, 2);
+        checkStripTrailingZeros(1000000000000000000L, 1, 18);
+        checkStripTrailingZeros(1234567890123456780L, 123456789012345678L, 1);
+    }
+
+    /**
+     * Tests for counting digits.
+     */
+    @Test
+    void precisionTests() {
+        assertEquals(1, CompactDecimal.precision(0));
+        assertEquals(1, CompactDecimal.precision(9));
+        assertEquals(2, CompactDecimal.precision(-10));
+        assertEquals(16, CompactDecimal.precision(9999999999999999L));
+        assertEquals(17, CompactDecimal.precision(10000000000000000L));
+        assertEquals(19, CompactDecimal.precision(-1000000000000000000L));
+        assertEquals(19, CompactDecimal.precision(Long.MAX_VALUE));
+
+        assertEquals(1, CompactDecimal.tenPower(0));
+        assertEquals(1000000000000000000L, CompactDecimal.tenPower(18));
+    }
+
+    /**
+     * Checks that unscaled value of number is correct.
+     *
+     * @param number           number to check.
+     * @param expectedUnscaled expected unscaled value.
+     */
+    private void checkUnscaledOf(String number, long expectedUnscaled) {
+        assertEquals(expectedUnscaled, CompactDecimal.unscaledOf(new BigDecimal(number)));
+    }
+
+    /**
+     * Checks that compact add operation gives the same result as {@code BigDecimal} one.
+     *
+     * @param first  first number.
+     * @param second second number.
+     */
+    private void checkAdd(String first, String second) {
+        BigDecimal firstNumber = new BigDecimal(first);
+        BigDecimal secondNumber = new BigDecimal(second);
+
+        long unscaled = CompactDecimal.add(CompactDecimal.unscaledOf(firstNumber), firstNumber.scale(),
+                CompactDecimal.unscaledOf(secondNumber), secondNumber.scale());
+        int scale = Math.max(firstNumber.scale(), secondNumber.scale());
+
+        assertEquals(firstNumber.add(secondNumber), BigDecimal.valueOf(unscaled, scale));
+    }
+
+    /**
+     * Checks that compact multiply operation gives the same result as {@code BigDecimal} one.
+     *
+     * @param first  first number.
+     * @param second second number.
+     */
+    private void checkMultiply(String first, String second) {
+        BigDecimal firstNumber = new BigDecimal(first);
+        BigDecimal secondNumber = new BigDecimal(second);
+
+        long unscaled = CompactDecimal.multiply(CompactDecimal.unscaledOf(firstNumber),
+                CompactDecimal.unscaledOf(secondNumber));
+        int scale = firstNumber.scale() + secondNumber.scale();
+
+        assertEquals(firstNumber.multiply(secondNumber), BigDecimal.valueOf(unscaled, scale));
+    }
+
+    /**
+     * Checks stripping trailing zeros of compact number.
+     *
+     * @param unscaled         unscaled value to strip.
+     * @param expectedUnscaled expected unscaled value without trailing zeros.
+     * @param expectedZeros    expected amount of trailing zeros.
+     */
+    private void checkStripTrailingZeros(long unscaled, long expectedUnscaled, int expectedZeros) {
+        assertEquals(expectedUnscaled, CompactDecimal.stripTrailingZeros(unscaled));
+        assertEquals(expectedZeros, CompactDecimal.trailingZeros(unscaled));
+    }
+}
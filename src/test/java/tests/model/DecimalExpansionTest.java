@@ -0,0 +1,143 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.CancellationToken;
+import com.implemica.bormashenko.calculator.model.exceptions.CancelledException;
+import com.implemica.bormashenko.calculator.model.util.DecimalExpansion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing {@link DecimalExpansion}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class DecimalExpansionTest {
+
+    /**
+     * Scale used for dividing in tests.
+     */
+    private static final int SCALE = 10000;
+
+    /**
+     * Tests for quotients with finite decimal expansion.
+     */
+    @Test
+    void finiteExpansionTests() {
+        checkQuotient("2", "2");
+        checkQuotient("1", "2");
+        checkQuotient("-3", "-3");
+        checkQuotient("7.4", "-0.5");
+        checkQuotient("-5.55", "1.11");
+        checkQuotient("1.e+5", "1.e+8");
+        checkQuotient("140", "-7");
+        checkQuotient("-651", "-6");
+        checkQuotient("1", "1024");
+        checkQuotient("3", "3125");
+        checkQuotient("1234567890987654321", "0.2");
+        checkQuotient("100000000000000000000000000", "0.00000000000000000000000000001");
+        checkQuotient("12345.678", "100");
+        checkQuotient("0", "-5");
+
+        //boundary
+        checkQuotient("1.e-9998", "10");
+        checkQuotient("9.e-9998", "20");
+        checkQuotient("1", "5.e+9999");
+        checkQuotient("1", "2.e+9999");
+        checkQuotient("1", "8.e+9999");
+
+        //divisor does not fit in long
+        checkQuotient("1", "1267650600228229401496703205376");
+        checkQuotient("-3.7", "0.000000000000000000000000000000000125000000000000000000000000000000000001");
+    }
+
+    /**
+     * Tests for quotients with infinite decimal expansion.
+     */
+    @Test
+    void infiniteExpansionTests() {
+        checkQuotient("1", "3");
+        checkQuotient("-2", "3");
+        checkQuotient("200.002", "7");
+        checkQuotient("1", "200.002");
+        checkQuotient("1.e+9999", "3");
+        checkQuotient("1.e-9999", "3");
+        checkQuotient("1", "6.e+9999");
+        checkQuotient("5", "-6");
+        checkQuotient("123456789.123456789", "0.000987654321");
+        checkQuotient("1", "30000000000000000000000000000000000000001");
+        checkQuotient("1.e+9999", "-9223372036854775807");
+    }
+
+    /**
+     * Tests for cancelling long division.
+     */
+    @Test
+    void cancelledExpansionTests() {
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        assertThrows(CancelledException.class, () -> DecimalExpansion.quotient(BigDecimal.ONE, new BigDecimal("3"),
+                SCALE, token));
+
+        //zero quotient is returned without dividing
+        assertEquals(BigDecimal.ZERO, DecimalExpansion.quotient(BigDecimal.ZERO, new BigDecimal("3"), SCALE, token));
+    }
+
+    /**
+     * Tests for scale which gives the required amount of significant digits of quotient.
+     */
+    @Test
+    void precisionScaleTests() {
+        checkPrecisionScale("1", "3", 34);
+        checkPrecisionScale("2", "3", 34);
+        checkPrecisionScale("10", "3", 34);
+        checkPrecisionScale("1", "7", 16);
+        checkPrecisionScale("-200.002", "7", 34);
+        checkPrecisionScale("1", "200.002", 34);
+        checkPrecisionScale("1.e+9999", "3", 34);
+        checkPrecisionScale("1.e-9999", "3", 34);
+        checkPrecisionScale("123456789.123456789", "0.000987654321", 50);
+    }
+
+    /**
+     * Checks that dividing to scale given by {@code precisionScale} gives at least required, but at most one more
+     * significant digits.
+     *
+     * @param dividend  number to divide.
+     * @param divisor   number to divide on.
+     * @param precision required amount of significant digits.
+     */
+    private void checkPrecisionScale(String dividend, String divisor, int precision) {
+        BigDecimal dividendNumber = new BigDecimal(dividend);
+        BigDecimal divisorNumber = new BigDecimal(divisor);
+
+        long scale = DecimalExpansion.precisionScale(dividendNumber, divisorNumber, precision);
+        int actual = dividendNumber.divide(divisorNumber, (int) scale, BigDecimal.ROUND_DOWN).precision();
+
+        assertTrue(actual == precision || actual == precision + 1, "Got precision: " + actual);
+    }
+
+    /**
+     * Checks that quotient is the same as {@code BigDecimal} division to {@code SCALE} gives, both with and without
+     * cancellation token.
+     *
+     * @param dividend number to divide.
+     * @param divisor  number to divide on.
+     */
+    private void checkQuotient(String dividend, String divisor) {
+        BigDecimal dividendNumber = new BigDecimal(dividend);
+        BigDecimal divisorNumber = new BigDecimal(divisor);
+
+        BigDecimal expected = dividendNumber.divide(divisorNumber, SCALE, BigDecimal.ROUND_HALF_UP)
+                .stripTrailingZeros();
+
+        assertEquals(expected, DecimalExpansion.quotient(dividendNumber, divisorNumber, SCALE));
+        assertEquals(expected, DecimalExpansion.quotient(dividendNumber, divisorNumber, SCALE,
+                new CancellationToken()));
+    }
+}
@@ -0,0 +1,128 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.Fraction;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for testing {@link Fraction}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class FractionTest {
+
+    /**
+     * Precision of decimal image used in tests.
+     */
+    private static final int PRECISION = 10;
+
+    /**
+     * Tests for creating fractions.
+     */
+    @Test
+    void valueOfTests() {
+        checkValueOf(2, 4, "1/2");
+        checkValueOf(-6, 9, "-2/3");
+        checkValueOf(6, -9, "-2/3");
+        checkValueOf(-6, -9, "2/3");
+        checkValueOf(0, -7, "0/1");
+        checkValueOf(15, 5, "3/1");
+
+        checkValueOf("0", "0/1");
+        checkValueOf("1.5", "3/2");
+        checkValueOf("-0.125", "-1/8");
+        checkValueOf("1.e+5", "100000/1");
+        checkValueOf("200.002", "100001/500");
+
+        assertThrows(ArithmeticException.class, () -> Fraction.valueOf(BigInteger.ONE, BigInteger.ZERO));
+    }
+
+    /**
+     * Tests for arithmetic operations.
+     */
+    @Test
+    void arithmeticTests() {
+        Fraction third = fraction(1, 3);
+        Fraction half = fraction(1, 2);
+
+        assertEquals(fraction(5, 6), third.add(half));
+        assertEquals(fraction(-1, 6), third.subtract(half));
+        assertEquals(fraction(1, 6), third.multiply(half));
+        assertEquals(fraction(2, 3), third.divide(half));
+        assertEquals(fraction(1, 300), third.percent());
+        assertEquals(fraction(-1, 3), third.negate());
+        assertEquals(fraction(3, 1), third.inverse());
+        assertEquals(Fraction.ONE, third.add(third).add(third));
+        assertEquals(Fraction.ZERO, third.subtract(third));
+
+        assertThrows(ArithmeticException.class, () -> third.divide(Fraction.ZERO));
+        assertThrows(ArithmeticException.class, Fraction.ZERO::inverse);
+    }
+
+    /**
+     * Tests for decimal image of fractions.
+     */
+    @Test
+    void toBigDecimalTests() {
+        //finite expansion
+        checkToBigDecimal(0, 1, "0");
+        checkToBigDecimal(3, 1, "3");
+        checkToBigDecimal(1, 8, "0.125");
+        checkToBigDecimal(-7, 20, "-0.35");
+        checkToBigDecimal(1, 1024, "0.0009765625");
+
+        //infinite expansion
+        checkToBigDecimal(1, 3, "0.33333333331");
+        checkToBigDecimal(-2, 3, "-0.66666666661");
+        checkToBigDecimal(1, 7, "0.14285714281");
+        checkToBigDecimal(100, 3, "33.333333331");
+    }
+
+    /**
+     * Checks fraction created from integers.
+     *
+     * @param numerator   numerator of fraction.
+     * @param denominator denominator of fraction.
+     * @param expected    expected fraction in format "n/d".
+     */
+    private void checkValueOf(long numerator, long denominator, String expected) {
+        assertEquals(expected, fraction(numerator, denominator).toString());
+    }
+
+    /**
+     * Checks fraction created from decimal number.
+     *
+     * @param number   decimal number.
+     * @param expected expected fraction in format "n/d".
+     */
+    private void checkValueOf(String number, String expected) {
+        assertEquals(expected, Fraction.valueOf(new BigDecimal(number)).toString());
+    }
+
+    /**
+     * Checks decimal image of fraction.
+     *
+     * @param numerator   numerator of fraction.
+     * @param denominator denominator of fraction.
+     * @param expected    expected decimal image.
+     */
+    private void checkToBigDecimal(long numerator, long denominator, String expected) {
+        assertEquals(new BigDecimal(expected), fraction(numerator, denominator).toBigDecimal(PRECISION));
+    }
+
+    /**
+     * Creates fraction from integers.
+     *
+     * @param numerator   numerator of fraction.
+     * @param denominator denominator of fraction.
+     * @return reduced fraction.
+     */
+    private Fraction fraction(long numerator, long denominator) {
+        return Fraction.valueOf(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    }
+}
@@ -313,6 +313,61 @@ class MemoryModelTest {
         }
     }
 
+    /**
+     * Tests for normalization of results of adding to memory and subtracting from memory.
+     * <p>
+     * Results are returned without trailing zeros, while stored objects are returned as they were saved.
+     */
+    @Test
+    void normalizationTests() throws OverflowException {
+        memory = new Memory();
+
+        memory.storeToMemory(newBD("2.50"));
+        assertEquals(newBD("2.50"), memory.recall());
+
+        memory.addToMemory(newBD("1.5"));
+        memory.addToMemory(newBD("6"));
+        assertEquals(newBD("1.e+1"), memory.recall());
+
+        memory.subtractFromMemory(newBD("0.100"));
+        memory.storeToMemory(newBD("3.0"));
+        assertEquals(newBD("3.0"), memory.getStore().pop());
+        assertEquals(newBD("9.9"), memory.getStore().firstElement());
+
+        memory.subtractFromMemory(newBD("3"));
+        assertEquals(BigDecimal.ZERO, memory.getStore().peek());
+        assertEquals(BigDecimal.ZERO, memory.recall());
+    }
+
+    /**
+     * Tests for branches of memory.
+     * <p>
+     * Branch has the same store, and changes of branch and memory do not affect each other.
+     */
+    @Test
+    void forkTests() throws OverflowException {
+        memory = new Memory();
+        memory.storeToMemory(newBD("5"));
+        memory.addToMemory(newBD("0.50"));
+
+        Memory branch = memory.fork();
+        assertEquals(newBD("5.5"), branch.recall());
+        assertEquals(memory.getDigitLimit(), branch.getDigitLimit());
+
+        branch.addToMemory(newBD("1"));
+        branch.storeToMemory(newBD("7"));
+        memory.subtractFromMemory(newBD("5.5"));
+
+        assertEquals(newBD("7"), branch.recall());
+        assertEquals(2, branch.getStore().size());
+        assertEquals(newBD("6.5"), branch.getStore().firstElement());
+        assertEquals(BigDecimal.ZERO, memory.recall());
+        assertEquals(1, memory.getStore().size());
+
+        //objects saved before fork are shared
+        assertSame(memory.fork().snapshot(), memory.snapshot());
+    }
+
     /**
      * Tests for recall from memory operation while this operation should cause {@code OverflowException}.
      */
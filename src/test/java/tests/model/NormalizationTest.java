@@ -0,0 +1,78 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.util.Normalization;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for testing {@link Normalization}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class NormalizationTest {
+
+    /**
+     * Tests for normalizing numbers.
+     */
+    @Test
+    void normalizeTests() {
+        //canonical
+        checkNormalize("0", true);
+        checkNormalize("1", true);
+        checkNormalize("-7", true);
+        checkNormalize("1.e+20", true);
+        checkNormalize("0.0001234", true);
+        checkNormalize("-999999999999999999", true);
+        checkNormalize("123456789123456789123456789", true);
+        checkNormalize("1.e-10000", true);
+
+        //trailing zeros
+        checkNormalize("0.000", false);
+        checkNormalize("0e+5", false);
+        checkNormalize("10", false);
+        checkNormalize("-1.500", false);
+        checkNormalize("100000000000000000", false);
+        checkNormalize("1234567891234567891234567890", false);
+        checkNormalize("-1000000000000000000000.000000000000", false);
+        checkNormalize("2.50e+9999", false);
+
+        //huge numbers
+        BigInteger huge = BigInteger.TEN.pow(5000).subtract(BigInteger.ONE);
+        checkNormalize(new BigDecimal(huge, 4000), true);
+        checkNormalize(new BigDecimal(huge.multiply(BigInteger.TEN.pow(10)), 4000), false);
+        checkNormalize(new BigDecimal(huge.multiply(BigInteger.valueOf(2)), 4000), true);
+        checkNormalize(new BigDecimal(huge.multiply(BigInteger.valueOf(5)), -4000), true);
+    }
+
+    /**
+     * Checks that number is normalized as by {@code BigDecimal.stripTrailingZeros()}.
+     *
+     * @param number       string value of number to normalize.
+     * @param isNormalized true if number is already canonical or false otherwise.
+     */
+    private void checkNormalize(String number, boolean isNormalized) {
+        checkNormalize(new BigDecimal(number), isNormalized);
+    }
+
+    /**
+     * Checks that number is normalized as by {@code BigDecimal.stripTrailingZeros()}. Canonical number should be
+     * returned without creating new object.
+     *
+     * @param number       number to normalize.
+     * @param isNormalized true if number is already canonical or false otherwise.
+     */
+    private void checkNormalize(BigDecimal number, boolean isNormalized) {
+        BigDecimal normalized = Normalization.normalize(number);
+
+        assertEquals(number.stripTrailingZeros(), normalized);
+        assertEquals(isNormalized, Normalization.isNormalized(number));
+
+        if (isNormalized) {
+            assertSame(number, normalized);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.Calculation;
+import com.implemica.bormashenko.calculator.model.NumberInterner;
+import com.implemica.bormashenko.calculator.model.enums.Operation;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for testing {@link NumberInterner}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class NumberInternerTest {
+
+    /**
+     * Tests for interning values.
+     */
+    @Test
+    void internTests() {
+        NumberInterner interner = new NumberInterner();
+
+        //digits and tenths are interned at once
+        checkIntern(interner, "7", true);
+        checkIntern(interner, "0.3", true);
+        checkIntern(interner, "0", true);
+
+        checkIntern(interner, "123.45", false);
+        checkIntern(interner, "123.45", true);
+        checkIntern(interner, "-123.45", false);
+
+        //scale does matter
+        checkIntern(interner, "123.450", false);
+        checkIntern(interner, "7.0", false);
+        checkIntern(interner, "1.e+5", false);
+        checkIntern(interner, "100000", false);
+
+        assertEquals(14, interner.getHits());
+        assertEquals(6, interner.getMisses());
+
+        //long values are not interned
+        BigDecimal huge = new BigDecimal(BigInteger.TEN.pow(40), 3);
+        assertSame(huge, interner.intern(huge));
+        assertSame(huge, interner.intern(huge));
+        assertNotSame(huge, interner.intern(new BigDecimal(BigInteger.TEN.pow(40), 3)));
+        assertEquals(3, interner.getSkipped());
+        assertEquals(14, interner.getHits());
+
+        assertTrue(interner.getSize() >= 20);
+        assertTrue(interner.getRetainedSize() > 0);
+    }
+
+    /**
+     * Tests for interning results of {@link Calculation}.
+     */
+    @Test
+    void calculationTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        NumberInterner interner = new NumberInterner();
+        Calculation calculation = new Calculation();
+        calculation.setInterner(interner);
+
+        BigDecimal first = calculation.doOperation(Operation.SQR, new BigDecimal("12"));
+        calculation.resetAll();
+        BigDecimal second = calculation.doOperation(Operation.MULTIPLY, new BigDecimal("8"), new BigDecimal("18"));
+
+        assertEquals(new BigDecimal("144"), first);
+        assertSame(first, second);
+        assertEquals(1, interner.getHits());
+
+        calculation.resetAll();
+        assertSame(interner.intern(BigDecimal.valueOf(5)),
+                calculation.doOperation(Operation.ADD, new BigDecimal("2.5"), new BigDecimal("2.5")));
+    }
+
+    /**
+     * Tests for interning equal values on many threads.
+     */
+    @Test
+    void concurrencyTests() throws InterruptedException, ExecutionException {
+        NumberInterner interner = new NumberInterner();
+        int values = 1000;
+        List<Callable<BigDecimal[]>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> {
+                BigDecimal[] interned = new BigDecimal[values];
+
+                for (int j = 0; j < values; j++) {
+                    interned[j] = interner.intern(BigDecimal.valueOf(j + 100, 2));
+                }
+
+                return interned;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            List<Future<BigDecimal[]>> results = executor.invokeAll(tasks);
+            BigDecimal[] expected = results.get(0).get();
+
+            for (Future<BigDecimal[]> result : results) {
+                BigDecimal[] interned = result.get();
+
+                for (int j = 0; j < values; j++) {
+                    assertSame(expected[j], interned[j]);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(values, interner.getMisses());
+        assertEquals(7 * values, interner.getHits());
+    }
+
+    /**
+     * Checks that value is interned.
+     *
+     * @param interner   {@link NumberInterner} to use.
+     * @param value      string value to intern.
+     * @param isInterned true if equal value should be already interned or false otherwise.
+     */
+    private void checkIntern(NumberInterner interner, String value, boolean isInterned) {
+        BigDecimal number = new BigDecimal(value);
+        BigDecimal interned = interner.intern(number);
+
+        assertEquals(number, interned);
+        assertEquals(isInterned, interned != number);
+        assertSame(interned, interner.intern(new BigDecimal(value)));
+    }
+}
@@ -0,0 +1,154 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.util.OverflowValidation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing {@link OverflowValidation}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class OverflowValidationTest {
+
+    /**
+     * Tests for calculating adjusted exponent.
+     */
+    @Test
+    void exponentOfTests() {
+        checkExponentOf("1", 0);
+        checkExponentOf("-9.99", 0);
+        checkExponentOf("10", 1);
+        checkExponentOf("100.00", 2);
+        checkExponentOf("0.01", -2);
+        checkExponentOf("-0.0999", -2);
+        checkExponentOf("1.e+10000", 10000);
+        checkExponentOf("9.9999e-10000", -10000);
+    }
+
+    /**
+     * Tests for values that pass validation.
+     */
+    @Test
+    void validationPassedTests() {
+        checkValidation("0", false);
+        checkValidation("1", false);
+        checkValidation("-123456789.987654321", false);
+        checkValidation("9.9999999999999999e+9999", false);
+        checkValidation("-9.9999999999999999e+9999", false);
+        checkValidation("1.0000000000000001e-10000", false);
+        checkValidation("-1.0000000000000001e-10000", false);
+        checkValidation("1.e-9999", false);
+    }
+
+    /**
+     * Tests for values that fail validation.
+     */
+    @Test
+    void validationFailedTests() {
+        checkValidation("1.e+10000", true);
+        checkValidation("-1.e+10000", true);
+        checkValidation("1.00000e+10000", true);
+        checkValidation("5.e+20000", true);
+        checkValidation("1.e-10000", true);
+        checkValidation("-1.e-10000", true);
+        checkValidation("0.1000e-9999", true);
+        checkValidation("9.e-10001", true);
+
+        //after divide
+        assertTrue(OverflowValidation.overflowValidationFailed(BigDecimal.ZERO, true, BigDecimal.ONE));
+        assertFalse(OverflowValidation.overflowValidationFailed(BigDecimal.ZERO, true, BigDecimal.ZERO));
+        assertFalse(OverflowValidation.overflowValidationFailed(BigDecimal.ZERO, false, BigDecimal.ONE));
+    }
+
+    /**
+     * Tests for estimating overflow of product before calculating it.
+     */
+    @Test
+    void productOverflowTests() {
+        //certainly out of range
+        checkProductOverflow("1.e+5000", "1.e+5000", true);
+        checkProductOverflow("-3.e+5000", "5.e+5000", true);
+        checkProductOverflow("1.e-5001", "1.e-5001", true);
+        checkProductOverflow("9.e-5001", "-9.e-5001", true);
+
+        //ambiguous, should be calculated
+        checkProductOverflow("9.e+4999", "9.e+4999", false);
+        checkProductOverflow("3.e+4999", "3.e+4999", false);
+        checkProductOverflow("1.e-5000", "1.e-5001", false);
+        checkProductOverflow("9.e-5001", "9.e-5000", false);
+
+        //in range
+        checkProductOverflow("0", "1.e+9999", false);
+        checkProductOverflow("1.e+9999", "0.5", false);
+        checkProductOverflow("12345.6789", "-98765.4321", false);
+
+        //percentage
+        assertTrue(OverflowValidation.percentageOverflowValidationFailed(newBD("1.e+5001"), newBD("1.e+5001")));
+        assertFalse(OverflowValidation.percentageOverflowValidationFailed(newBD("1.e+5001"), newBD("1.e+5000")));
+        assertFalse(OverflowValidation.percentageOverflowValidationFailed(newBD("1.e-9999"), newBD("1.e-9999")));
+        assertFalse(OverflowValidation.percentageOverflowValidationFailed(BigDecimal.ZERO, newBD("1.e+9999")));
+    }
+
+    /**
+     * Checks adjusted exponent of number.
+     *
+     * @param number           number to check.
+     * @param expectedExponent expected adjusted exponent.
+     */
+    private void checkExponentOf(String number, long expectedExponent) {
+        assertEquals(expectedExponent, OverflowValidation.exponentOf(new BigDecimal(number)));
+    }
+
+    /**
+     * Checks result of validation for number, also compares it with result of validation by exact comparing with
+     * bounds.
+     *
+     * @param number         number to check.
+     * @param expectedFailed true if validation should fail.
+     */
+    private void checkValidation(String number, boolean expectedFailed) {
+        BigDecimal value = new BigDecimal(number);
+        BigDecimal abs = value.abs();
+        boolean exactFailed = abs.compareTo(new BigDecimal("1.e+10000")) >= 0 ||
+                (abs.compareTo(new BigDecimal("1.e-10000")) <= 0 && abs.signum() != 0);
+
+        assertEquals(expectedFailed, exactFailed);
+        assertEquals(expectedFailed, OverflowValidation.overflowValidationFailed(value, false, BigDecimal.ZERO));
+    }
+
+    /**
+     * Checks estimation of product overflow. If estimation is certain, also checks that calculated product fails
+     * validation.
+     *
+     * @param first          first factor.
+     * @param second         second factor.
+     * @param expectedFailed true if product should certainly fail validation.
+     */
+    private void checkProductOverflow(String first, String second, boolean expectedFailed) {
+        BigDecimal firstNumber = newBD(first);
+        BigDecimal secondNumber = newBD(second);
+
+        assertEquals(expectedFailed, OverflowValidation.productOverflowValidationFailed(firstNumber, secondNumber));
+
+        if (expectedFailed) {
+            assertTrue(OverflowValidation.overflowValidationFailed(firstNumber.multiply(secondNumber), false,
+                    BigDecimal.ZERO));
+        }
+    }
+
+    /**
+     * Creates {@code BigDecimal} from string.
+     *
+     * @param number string to convert.
+     * @return {@code BigDecimal} value.
+     */
+    private BigDecimal newBD(String number) {
+        return new BigDecimal(number);
+    }
+}
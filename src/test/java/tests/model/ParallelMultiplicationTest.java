@@ -0,0 +1,159 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.util.ParallelMultiplication;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for testing {@link ParallelMultiplication}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class ParallelMultiplicationTest {
+
+    /**
+     * Random generator with fixed seed, so tests are reproducible.
+     */
+    private static final Random RANDOM = new Random(2018);
+
+    /**
+     * Tests for multiplying integer numbers.
+     */
+    @Test
+    void multiplyTests() {
+        //short numbers are multiplied sequentially
+        checkMultiply(BigInteger.ZERO, BigInteger.TEN);
+        checkMultiply(BigInteger.valueOf(-12345), BigInteger.valueOf(6789));
+        checkMultiply(randomInteger(100000), randomInteger(1000000));
+
+        //long numbers
+        checkMultiply(randomInteger(300000), randomInteger(300000));
+        checkMultiply(randomInteger(1000000), randomInteger(700000));
+        checkMultiply(randomInteger(2000000), randomInteger(270000));
+        checkMultiply(randomInteger(1000000).negate(), randomInteger(1000000));
+        checkMultiply(randomInteger(1000000).negate(), randomInteger(1000000).negate());
+        checkMultiply(BigInteger.ONE.shiftLeft(1000000), BigInteger.ONE.shiftLeft(500000).subtract(BigInteger.ONE));
+
+        //squares
+        checkMultiply(BigInteger.ONE.shiftLeft(999999).subtract(BigInteger.ONE));
+        checkMultiply(randomInteger(1500000));
+        checkMultiply(randomInteger(1500000).negate());
+    }
+
+    /**
+     * Tests for multiplying decimal numbers.
+     */
+    @Test
+    void multiplyDecimalTests() {
+        checkMultiply(new BigDecimal("1.5"), new BigDecimal("-2.25"));
+        checkMultiply(new BigDecimal(randomInteger(1000000), 150000), new BigDecimal(randomInteger(900000), -20));
+        checkMultiply(new BigDecimal(randomInteger(1000000), Integer.MIN_VALUE / 2),
+                new BigDecimal(randomInteger(1000000), Integer.MIN_VALUE / 2 + 5));
+    }
+
+    /**
+     * Tests for dividing integer numbers.
+     */
+    @Test
+    void divideTests() {
+        //short divisors or quotients are divided sequentially
+        checkDivide(BigInteger.ZERO, BigInteger.TEN);
+        checkDivide(BigInteger.valueOf(12345), BigInteger.valueOf(6789));
+        checkDivide(randomInteger(100000), randomInteger(1000000));
+        checkDivide(randomInteger(1000000), randomInteger(100000));
+
+        //long divisors and quotients
+        checkDivide(randomInteger(600000), randomInteger(300000));
+        checkDivide(randomInteger(2000000), randomInteger(700000));
+        checkDivide(randomInteger(1500000), randomInteger(1200000));
+        checkDivide(BigInteger.ONE.shiftLeft(1000000), BigInteger.ONE.shiftLeft(500000).subtract(BigInteger.ONE));
+        checkDivide(BigInteger.ONE.shiftLeft(1000000).subtract(BigInteger.ONE), BigInteger.ONE.shiftLeft(400000));
+
+        //exact quotients and quotients with the greatest remainder
+        BigInteger divisor = randomInteger(500000);
+        BigInteger product = ParallelMultiplication.multiply(divisor, randomInteger(600000));
+        checkDivide(product, divisor);
+        checkDivide(product.subtract(BigInteger.ONE), divisor);
+        checkDivide(product.add(divisor).subtract(BigInteger.ONE), divisor);
+    }
+
+    /**
+     * Tests for raising integer numbers to power.
+     */
+    @Test
+    void powTests() {
+        checkPow(BigInteger.TEN, 0);
+        checkPow(BigInteger.TEN, 1);
+        checkPow(BigInteger.valueOf(-3), 101);
+        checkPow(BigInteger.valueOf(5), 300000);
+        checkPow(randomInteger(1000), 1000);
+    }
+
+    /**
+     * Checks that square is equal to square calculated by {@code BigInteger}.
+     *
+     * @param number number to square.
+     */
+    private void checkMultiply(BigInteger number) {
+        assertEquals(number.multiply(number), ParallelMultiplication.square(number));
+    }
+
+    /**
+     * Checks that product is equal to product calculated by {@code BigInteger}.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     */
+    private void checkMultiply(BigInteger first, BigInteger second) {
+        assertEquals(first.multiply(second), ParallelMultiplication.multiply(first, second));
+        assertEquals(first.multiply(second), ParallelMultiplication.multiply(second, first));
+    }
+
+    /**
+     * Checks that product is equal to product calculated by {@code BigDecimal}.
+     *
+     * @param first  first factor.
+     * @param second second factor.
+     */
+    private void checkMultiply(BigDecimal first, BigDecimal second) {
+        assertEquals(first.multiply(second), ParallelMultiplication.multiply(first, second));
+    }
+
+    /**
+     * Checks that quotient and remainder are equal to ones calculated by {@code BigInteger}.
+     *
+     * @param dividend non-negative number that is divided.
+     * @param divisor  positive number that dividend is divided by.
+     */
+    private void checkDivide(BigInteger dividend, BigInteger divisor) {
+        assertArrayEquals(dividend.divideAndRemainder(divisor),
+                ParallelMultiplication.divideAndRemainder(dividend, divisor, null));
+        assertEquals(dividend.divide(divisor), ParallelMultiplication.divide(dividend, divisor, null));
+    }
+
+    /**
+     * Checks that power is equal to power calculated by {@code BigInteger}.
+     *
+     * @param base     number to raise.
+     * @param exponent non-negative power.
+     */
+    private void checkPow(BigInteger base, int exponent) {
+        assertEquals(base.pow(exponent), ParallelMultiplication.pow(base, exponent, null));
+    }
+
+    /**
+     * Creates random positive integer.
+     *
+     * @param bitLength bit length of integer.
+     * @return random integer with exactly this bit length.
+     */
+    private static BigInteger randomInteger(int bitLength) {
+        return new BigInteger(bitLength - 1, RANDOM).setBit(bitLength - 1);
+    }
+}
@@ -0,0 +1,208 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.Calculation;
+import com.implemica.bormashenko.calculator.model.ResultCache;
+import com.implemica.bormashenko.calculator.model.StandardOperation;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.implemica.bormashenko.calculator.model.enums.Operation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for testing {@link ResultCache}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class ResultCacheTest {
+
+    /**
+     * Tests for finding saved results.
+     */
+    @Test
+    void getAndPutTests() {
+        ResultCache cache = new ResultCache(10000);
+
+        assertNull(cache.get(StandardOperation.SQRT, newBD("2"), null, 16));
+        cache.put(StandardOperation.SQRT, newBD("2"), null, 16, newBD("1.414213562373095"));
+
+        assertEquals(newBD("1.414213562373095"), cache.get(StandardOperation.SQRT, newBD("2"), null, 16));
+        assertNull(cache.get(StandardOperation.SQRT, newBD("2"), null, 20));
+        assertNull(cache.get(StandardOperation.SQR, newBD("2"), null, 16));
+        assertNull(cache.get(StandardOperation.SQRT, newBD("2.0"), null, 16));
+
+        cache.put(StandardOperation.PERCENT, newBD("5"), newBD("200"), 0, newBD("10"));
+        cache.put(StandardOperation.PERCENT, newBD("5"), null, 0, newBD("0.05"));
+
+        assertEquals(newBD("10"), cache.get(StandardOperation.PERCENT, newBD("5"), newBD("200"), 0));
+        assertEquals(newBD("0.05"), cache.get(StandardOperation.PERCENT, newBD("5"), null, 0));
+
+        checkCounters(cache, 3, 4, 0);
+        assertEquals(3, cache.getSize());
+
+        cache.clear();
+
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getWeight());
+        assertNull(cache.get(StandardOperation.PERCENT, newBD("5"), null, 0));
+    }
+
+    /**
+     * Tests for evicting least recently used results.
+     */
+    @Test
+    void evictionTests() {
+        ResultCache cache = new ResultCache(1000);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put(StandardOperation.SQR, BigDecimal.valueOf(i), null, 0, BigDecimal.valueOf(i * i));
+            assertNotNull(cache.get(StandardOperation.SQR, BigDecimal.valueOf(0), null, 0));
+            assertTrue(cache.getWeight() <= cache.getMaxWeight());
+        }
+
+        assertNotNull(cache.get(StandardOperation.SQR, BigDecimal.valueOf(99), null, 0));
+        assertNull(cache.get(StandardOperation.SQR, BigDecimal.valueOf(1), null, 0));
+        assertTrue(cache.getEvictions() > 0);
+        assertEquals(100, cache.getSize() + cache.getEvictions());
+
+        //huge number takes place of several small ones
+        int size = cache.getSize();
+        BigDecimal huge = newBD("1.e+1000").subtract(BigDecimal.ONE);
+        cache.put(StandardOperation.INVERSE, huge, null, 0, BigDecimal.ONE);
+
+        assertTrue(cache.getSize() < size);
+        assertEquals(BigDecimal.ONE, cache.get(StandardOperation.INVERSE, huge, null, 0));
+
+        //result heavier than the whole cache is not saved
+        BigDecimal tooHuge = newBD("1.e+9999").subtract(BigDecimal.ONE);
+        cache.put(StandardOperation.INVERSE, tooHuge, null, 0, BigDecimal.ONE);
+
+        assertNull(cache.get(StandardOperation.INVERSE, tooHuge, null, 0));
+        assertEquals(BigDecimal.ONE, cache.get(StandardOperation.INVERSE, huge, null, 0));
+
+        assertThrows(IllegalArgumentException.class, () -> new ResultCache(0));
+    }
+
+    /**
+     * Tests for calculations that share the cache.
+     *
+     * @throws DivideByZeroException     if this exception was thrown during calculation.
+     * @throws OverflowException         if this exception was thrown during calculation.
+     * @throws DivideZeroByZeroException if this exception was thrown during calculation.
+     * @throws NegativeRootException     if this exception was thrown during calculation.
+     */
+    @Test
+    void calculationTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        ResultCache cache = new ResultCache(100000);
+        Calculation first = new Calculation();
+        Calculation second = new Calculation();
+        first.setResultCache(cache);
+        second.setResultCache(cache);
+
+        assertEquals(newBD("1.414213562373095"), first.doOperation(SQRT, newBD("2")));
+        assertEquals(newBD("1.414213562373095"), second.doOperation(SQRT, newBD("2")));
+        checkCounters(cache, 1, 1, 0);
+
+        //precision is a part of key
+        second.setSqrtPrecision(5);
+        assertEquals(newBD("1.4142"), second.doOperation(SQRT, newBD("2")));
+        checkCounters(cache, 1, 2, 0);
+
+        //negate is not cached
+        first.doOperation(NEGATE, newBD("7"));
+        checkCounters(cache, 1, 2, 0);
+
+        //errors are not cached
+        assertThrows(DivideByZeroException.class, () -> first.doOperation(INVERSE, BigDecimal.ZERO));
+        assertThrows(DivideByZeroException.class, () -> first.doOperation(INVERSE, BigDecimal.ZERO));
+        checkCounters(cache, 1, 4, 0);
+
+        //percentage of first number and percentage of 100
+        first.resetAll();
+        first.setFirst(newBD("50"));
+        first.doOperation(ADD);
+        first.setSecond(newBD("10"));
+        assertEquals(newBD("5"), first.doOperation(PERCENT));
+
+        second.resetAll();
+        second.setFirst(newBD("50"));
+        second.doOperation(MULTIPLY);
+        second.setSecond(newBD("10"));
+        assertEquals(newBD("0.1"), second.doOperation(PERCENT));
+        checkCounters(cache, 1, 6, 0);
+    }
+
+    /**
+     * Tests for using the cache from several threads.
+     *
+     * @throws InterruptedException if thread was interrupted.
+     */
+    @Test
+    void concurrencyTests() throws InterruptedException {
+        ResultCache cache = new ResultCache(5000);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                Calculation calculation = new Calculation();
+                calculation.setResultCache(cache);
+
+                try {
+                    for (int i = 0; i < 2000; i++) {
+                        BigDecimal number = BigDecimal.valueOf(i % 97);
+                        assertEquals(number.multiply(number).stripTrailingZeros(),
+                                calculation.doOperation(SQR, number));
+                    }
+                } catch (Throwable e) {
+                    synchronized (errors) {
+                        errors.add(e);
+                    }
+                }
+            });
+
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(errors.isEmpty());
+        assertEquals(8000, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getWeight() <= cache.getMaxWeight());
+    }
+
+    /**
+     * Checks counters of cache.
+     *
+     * @param cache     cache to check.
+     * @param hits      expected amount of hits.
+     * @param misses    expected amount of misses.
+     * @param evictions expected amount of evictions.
+     */
+    private void checkCounters(ResultCache cache, long hits, long misses, long evictions) {
+        assertEquals(hits, cache.getHits());
+        assertEquals(misses, cache.getMisses());
+        assertEquals(evictions, cache.getEvictions());
+    }
+
+    /**
+     * Creates {@code BigDecimal} from string.
+     *
+     * @param number string to convert.
+     * @return {@code BigDecimal} value.
+     */
+    private BigDecimal newBD(String number) {
+        return new BigDecimal(number);
+    }
+}
@@ -0,0 +1,223 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.Calculation;
+import com.implemica.bormashenko.calculator.model.ModelTestAccess;
+import com.implemica.bormashenko.calculator.model.SessionRegistry;
+import com.implemica.bormashenko.calculator.model.enums.CalculationMode;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.implemica.bormashenko.calculator.model.enums.Operation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link SessionRegistry}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class SessionRegistryTest {
+
+    /**
+     * Tests for sessions having their own calculation and memory.
+     */
+    @Test
+    void sessionTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        SessionRegistry registry = new SessionRegistry(1, TimeUnit.HOURS, Long.MAX_VALUE);
+
+        registry.execute("first", (calculation, memory) -> calculation.doOperation(ADD, new BigDecimal("2")));
+        registry.execute("second", (calculation, memory) -> {
+            memory.storeToMemory(new BigDecimal("7"));
+            return calculation.doOperation(MULTIPLY, new BigDecimal("10"));
+        });
+
+        assertEquals(new BigDecimal("5"), registry.execute("first", (calculation, memory) ->
+                calculation.doOperation(EQUALS, new BigDecimal("3"))));
+        assertEquals(new BigDecimal("7.e+1"), registry.execute("second", (calculation, memory) ->
+                calculation.doOperation(EQUALS, memory.recall())));
+        assertNull(registry.execute("first", (calculation, memory) -> memory.recall()));
+        assertEquals(2, registry.getSize());
+
+        assertThrows(DivideByZeroException.class, () -> registry.execute("first",
+                (calculation, memory) -> calculation.doOperation(INVERSE, BigDecimal.ZERO)));
+
+        assertTrue(registry.remove("first"));
+        assertFalse(registry.remove("first"));
+        assertFalse(registry.contains("first"));
+        assertTrue(registry.contains("second"));
+        assertEquals(1, registry.getSize());
+
+        //sessions start as branches of prototype
+        Calculation prototype = new Calculation();
+        prototype.setMode(CalculationMode.RATIONAL);
+        SessionRegistry rational = new SessionRegistry(prototype, 1, TimeUnit.HOURS, Long.MAX_VALUE);
+        assertEquals(CalculationMode.RATIONAL, rational.execute("id", (calculation, memory) -> calculation.getMode()));
+
+        assertThrows(IllegalArgumentException.class, () -> new SessionRegistry(0, TimeUnit.SECONDS, 1));
+        assertThrows(IllegalArgumentException.class, () -> new SessionRegistry(1, TimeUnit.SECONDS, 0));
+    }
+
+    /**
+     * Tests for evicting sessions which were not used for longer than time to live. Time of registry is advanced by
+     * hand, so sessions expire without waiting.
+     */
+    @Test
+    void timeToLiveTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        AtomicLong time = new AtomicLong();
+        SessionRegistry registry = ModelTestAccess.sessionRegistry(null, 50, TimeUnit.MILLISECONDS, Long.MAX_VALUE,
+                time::get);
+
+        for (int i = 0; i < 10; i++) {
+            registry.execute("session" + i, (calculation, memory) -> calculation.doOperation(SQR, BigDecimal.TEN));
+        }
+
+        assertEquals(10, registry.getSize());
+
+        //sessions are kept until time to live passes
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(49));
+        assertEquals(0, registry.evictIdle());
+        assertTrue(registry.contains("session9"));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+
+        //used session is evicted and created again, other sessions of its stripe may be evicted too
+        registry.execute("session0", (calculation, memory) -> calculation.getFirst());
+        registry.evictIdle();
+        assertEquals(1, registry.getSize());
+        assertEquals(10, registry.getEvictions());
+
+        //evicted session starts from scratch
+        assertEquals(BigDecimal.ZERO, registry.execute("session0", (calculation, memory) -> calculation.getFirst()));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        assertFalse(registry.contains("session0"));
+        assertEquals(0, registry.getSize());
+        assertEquals(0, registry.getWeight());
+    }
+
+    /**
+     * Tests for bound of summary weight of sessions.
+     */
+    @Test
+    void weightBoundTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        SessionRegistry registry = new SessionRegistry(1, TimeUnit.HOURS, 100000);
+        BigDecimal huge = new BigDecimal(BigInteger.TEN.pow(9000).subtract(BigInteger.ONE));
+
+        registry.execute("light", (calculation, memory) -> calculation.doOperation(SQR, BigDecimal.TEN));
+        long lightWeight = registry.getWeight();
+
+        for (int i = 0; i < 50; i++) {
+            registry.execute("heavy" + i, (calculation, memory) -> {
+                memory.storeToMemory(huge);
+                return calculation.doOperation(NEGATE, huge);
+            });
+
+            assertTrue(registry.getWeight() <= registry.getMaxWeight());
+        }
+
+        //each heavy session takes more than 8000 bytes
+        assertTrue(registry.getSize() <= 12);
+        assertEquals(51 - registry.getSize(), registry.getEvictions());
+        assertTrue(registry.getWeight() > lightWeight);
+        assertTrue(registry.contains("heavy49"));
+    }
+
+    /**
+     * Tests for sessions which are used by tasks and can not be evicted.
+     */
+    @Test
+    void pinnedSessionTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        SessionRegistry expiring = new SessionRegistry(1, TimeUnit.NANOSECONDS, Long.MAX_VALUE);
+
+        assertEquals(new BigDecimal("5"), expiring.execute("pinned", (calculation, memory) -> {
+            calculation.doOperation(ADD, new BigDecimal("2"));
+
+            //time to live has passed, but session is used
+            expiring.evictIdle();
+            expiring.execute("other", (otherCalculation, otherMemory) -> otherCalculation.getFirst());
+            assertTrue(expiring.contains("pinned"));
+
+            return calculation.doOperation(EQUALS, new BigDecimal("3"));
+        }));
+
+        SessionRegistry light = new SessionRegistry(1, TimeUnit.HOURS, 1);
+        BigDecimal huge = new BigDecimal(BigInteger.TEN.pow(9000).subtract(BigInteger.ONE));
+
+        light.execute("pinned", (calculation, memory) -> {
+            calculation.setFirst(huge);
+
+            //weight bound is exceeded by every session, but only sessions which are not used are evicted
+            for (int i = 0; i < 10; i++) {
+                light.execute("other" + i, (otherCalculation, otherMemory) ->
+                        otherCalculation.doOperation(NEGATE, huge));
+                assertTrue(light.contains("pinned"));
+            }
+
+            assertEquals(1, light.getSize());
+            assertSame(huge, calculation.getFirst());
+
+            return null;
+        });
+
+        assertEquals(0, light.getSize());
+        assertEquals(0, light.getWeight());
+        assertEquals(11, light.getEvictions());
+    }
+
+    /**
+     * Tests for performing tasks of many sessions concurrently.
+     */
+    @Test
+    void concurrencyTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException, InterruptedException, ExecutionException {
+        SessionRegistry registry = new SessionRegistry(1, TimeUnit.HOURS, Long.MAX_VALUE);
+        int sessions = 1000;
+        int additions = 20;
+        List<Callable<BigDecimal>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < additions; i++) {
+            for (int j = 0; j < sessions; j++) {
+                String id = "session" + j;
+                BigDecimal number = new BigDecimal(j);
+
+                tasks.add(() -> registry.execute(id, (calculation, memory) -> {
+                    memory.addToMemory(number);
+                    return memory.recall();
+                }));
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            for (Future<BigDecimal> result : executor.invokeAll(tasks)) {
+                assertNotNull(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(sessions, registry.getSize());
+
+        for (int j = 0; j < sessions; j++) {
+            assertEquals(new BigDecimal(j * additions).stripTrailingZeros(),
+                    registry.execute("session" + j, (calculation, memory) -> memory.recall()));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.util.SignificantDigits;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link SignificantDigits}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class SignificantDigitsTest {
+
+    /**
+     * Rounding modes that are checked.
+     */
+    private static final RoundingMode[] ROUNDING_MODES = {RoundingMode.HALF_UP, RoundingMode.HALF_EVEN,
+            RoundingMode.HALF_DOWN, RoundingMode.UP, RoundingMode.DOWN, RoundingMode.FLOOR, RoundingMode.CEILING};
+
+    /**
+     * Tests for numbers which are exactly or almost exactly between two rounded values.
+     */
+    @Test
+    void boundaryTests() {
+        String digits = "1234567890123456";
+
+        for (int zeros : new int[]{50, 500, 5000}) {
+            String tail = repeat('0', zeros);
+
+            checkRound(digits + "5" + tail);
+            checkRound(digits + "4" + repeat('9', zeros));
+            checkRound(digits + "5" + tail.substring(1) + "1");
+            checkRound("1234567890123455" + "5" + tail);
+            checkRound(repeat('9', zeros));
+            checkRound("1" + tail);
+            checkRound("1" + tail.substring(1) + "1");
+        }
+
+        checkRound("9999999999999999");
+        checkRound("5");
+    }
+
+    /**
+     * Tests for random numbers with many digits.
+     */
+    @Test
+    void randomTests() {
+        Random random = new Random(24);
+
+        for (int i = 0; i < 2000; i++) {
+            BigInteger unscaled = new BigInteger(random.nextInt(3000) + 1, random);
+            BigDecimal number = new BigDecimal(unscaled, random.nextInt(20000) - 10000);
+
+            checkRound(random.nextBoolean() ? number : number.negate(), random.nextInt(30) + 1);
+        }
+
+        BigDecimal number = new BigDecimal(new BigInteger(100000, random), 20000);
+        assertThrows(ArithmeticException.class, () ->
+                SignificantDigits.round(number, new MathContext(16, RoundingMode.UNNECESSARY)));
+    }
+
+    /**
+     * Checks rounding of number and its negation to 16 digits with different scales.
+     *
+     * @param number digits of number to round.
+     */
+    private void checkRound(String number) {
+        for (int scale : new int[]{-9999, 0, 9999}) {
+            BigDecimal decimal = new BigDecimal(new BigInteger(number), scale);
+            checkRound(decimal, 16);
+            checkRound(decimal.negate(), 16);
+        }
+    }
+
+    /**
+     * Checks that rounding gives the same result as {@code BigDecimal.round} with all rounding modes.
+     *
+     * @param number number to round.
+     * @param digits precision of rounding.
+     */
+    private void checkRound(BigDecimal number, int digits) {
+        for (RoundingMode roundingMode : ROUNDING_MODES) {
+            MathContext mathContext = new MathContext(digits, roundingMode);
+            assertEquals(number.round(mathContext), SignificantDigits.round(number, mathContext));
+        }
+    }
+
+    /**
+     * Returns string of the same symbols.
+     *
+     * @param symbol symbol to repeat.
+     * @param count  amount of symbols.
+     * @return string of symbols.
+     */
+    private String repeat(char symbol, int count) {
+        StringBuilder builder = new StringBuilder(count);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(symbol);
+        }
+
+        return builder.toString();
+    }
+}
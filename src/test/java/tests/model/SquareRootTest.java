@@ -0,0 +1,126 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.SquareRoot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for testing {@link SquareRoot}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class SquareRootTest {
+
+    /**
+     * Object of {@code SquareRoot}.
+     */
+    private SquareRoot squareRoot = new SquareRoot();
+
+    /**
+     * Tests for perfect squares.
+     */
+    @Test
+    void perfectSquareTests() {
+        checkSqrt("0", 16, "0");
+        checkSqrt("1", 16, "1");
+        checkSqrt("4", 16, "2");
+        checkSqrt("1.21", 16, "1.1");
+        checkSqrt("1.e+5", 16, "316.2277660168379");
+        checkSqrt("1.e+6", 16, "1.e+3");
+        checkSqrt("0.0009", 16, "0.03");
+        checkSqrt("12960000000000000000", 16, "3.6e+9");
+        checkSqrt("15241578780673678515622620750190521", 18, "123456789123456789");
+
+        //root has more digits than precision
+        checkSqrt("15241578780673678515622620750190521", 16, "1.234567891234568e+17");
+        checkSqrt("15241578750190521", 5, "1.2346e+8");
+    }
+
+    /**
+     * Tests for rounding of square roots.
+     */
+    @Test
+    void roundingTests() {
+        checkSqrt("2", 16, "1.414213562373095");
+        checkSqrt("2", 1, "1");
+        checkSqrt("99.99999999999999", 16, "9.999999999999999");
+        checkSqrt("0.00009999999999999999", 16, "0.009999999999999999");
+        checkSqrt("1.0000000000000001", 16, "1");
+        checkSqrt("1.00000000000000100000000000000025", 16, "1");
+        checkSqrt("1.00000000000000300000000000000225", 16, "1.000000000000002");
+        checkSqrt("1.e-9999", 16, "3.162277660168379e-5000");
+        checkSqrt("9.999999999999999e+9999", 16, "9.999999999999999e+4999");
+    }
+
+    /**
+     * Tests for calculating root of the same number with different precisions one after another.
+     */
+    @Test
+    void precisionTests() {
+        for (int precision = 1; precision <= 1024; precision *= 2) {
+            checkCorrectlyRounded("2", precision);
+            checkCorrectlyRounded("2", precision);
+            checkCorrectlyRounded("123.456", precision + 1);
+        }
+
+        for (int precision = 1000; precision > 0; precision /= 3) {
+            checkCorrectlyRounded("3.e-501", precision);
+        }
+
+        assertThrows(ArithmeticException.class, () -> squareRoot.sqrt(BigDecimal.ONE, 0));
+        assertThrows(ArithmeticException.class, () -> squareRoot.sqrt(BigDecimal.ONE.negate(), 16));
+    }
+
+    /**
+     * Tests for calculating roots which are long enough to be calculated in parallel.
+     */
+    @Test
+    void longRootTests() {
+        checkCorrectlyRounded("2", 200000);
+        checkCorrectlyRounded("2", 300000);
+
+        //number has more digits than used for root, so they are divided by power of ten
+        StringBuilder digits = new StringBuilder("1.");
+        for (int i = 0; i < 1000000; i++) {
+            digits.append((char) ('0' + i * 7 % 10));
+        }
+        checkCorrectlyRounded(digits.toString(), 150000);
+    }
+
+    /**
+     * Checks square root of number.
+     *
+     * @param number    number to calculate root of.
+     * @param precision precision of root.
+     * @param expected  expected root.
+     */
+    private void checkSqrt(String number, int precision, String expected) {
+        assertEquals(new BigDecimal(expected), squareRoot.sqrt(new BigDecimal(number), precision));
+    }
+
+    /**
+     * Checks that square root of number is correctly rounded, i.e. squares of root plus and minus half of its last
+     * digit surround the number, and root has no more digits than precision.
+     *
+     * @param number    number to calculate root of.
+     * @param precision precision of root.
+     */
+    private void checkCorrectlyRounded(String number, int precision) {
+        BigDecimal value = new BigDecimal(number);
+        BigDecimal root = squareRoot.sqrt(value, precision);
+        int exponent = root.precision() - root.scale() - 1;
+        BigDecimal halfUlp = BigDecimal.valueOf(5, precision - exponent);
+
+        BigDecimal lower = root.subtract(halfUlp);
+        BigDecimal upper = root.add(halfUlp);
+
+        assertTrue(lower.multiply(lower).compareTo(value) <= 0);
+        assertTrue(upper.multiply(upper).compareTo(value) >= 0);
+        assertTrue(root.precision() <= precision);
+    }
+}
@@ -0,0 +1,158 @@
+package tests.model;
+
+import com.implemica.bormashenko.calculator.model.Calculation;
+import com.implemica.bormashenko.calculator.model.CalculationState;
+import com.implemica.bormashenko.calculator.model.Memory;
+import com.implemica.bormashenko.calculator.model.MemoryState;
+import com.implemica.bormashenko.calculator.model.UndoHistory;
+import com.implemica.bormashenko.calculator.model.enums.Operation;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.implemica.bormashenko.calculator.model.enums.Operation.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for {@link UndoHistory}, {@link CalculationState} and {@link MemoryState}.
+ *
+ * @author Mykhailo Bormashenko
+ */
+class UndoHistoryTest {
+
+    /**
+     * Tests for undoing and redoing operations of calculation and memory.
+     */
+    @Test
+    void undoRedoTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        Calculation calculation = new Calculation();
+        Memory memory = new Memory();
+        UndoHistory history = new UndoHistory(calculation, memory);
+
+        assertFalse(history.undo());
+        assertFalse(history.redo());
+
+        calculation.doOperation(ADD, new BigDecimal("5"));
+        history.record();
+        calculation.doOperation(EQUALS, new BigDecimal("3"));
+        history.record();
+        memory.storeToMemory(calculation.getFirst());
+        history.record();
+        memory.addToMemory(new BigDecimal("2.50"));
+        history.record();
+
+        checkState(calculation, memory, "8", ADD, "10.5");
+        assertEquals(4, history.getUndoable());
+
+        assertTrue(history.undo());
+        checkState(calculation, memory, "8", ADD, "8");
+        assertTrue(history.undo());
+        checkState(calculation, memory, "8", ADD, null);
+        assertTrue(history.undo());
+        checkState(calculation, memory, "5", ADD, null);
+
+        assertTrue(history.redo());
+        assertTrue(history.redo());
+        checkState(calculation, memory, "8", ADD, "8");
+        assertEquals(1, history.getRedoable());
+
+        //new operation discards redo
+        calculation.doOperation(NEGATE);
+        history.record();
+        assertFalse(history.redo());
+        checkState(calculation, memory, "-8", ADD, "8");
+        assertTrue(history.undo());
+        checkState(calculation, memory, "8", ADD, "8");
+
+        //undone calculation continues as if undone operation was not performed
+        Calculation expected = new Calculation();
+        expected.doOperation(ADD, new BigDecimal("5"));
+        expected.doOperation(EQUALS, new BigDecimal("3"));
+        assertEquals(expected.doOperation(EQUALS), calculation.doOperation(EQUALS));
+    }
+
+    /**
+     * Tests for bounded ring of snapshots.
+     */
+    @Test
+    void capacityTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        Calculation calculation = new Calculation();
+        Memory memory = new Memory();
+        UndoHistory history = new UndoHistory(calculation, memory, 3);
+
+        for (int i = 1; i <= 5; i++) {
+            calculation.doOperation(SQR, new BigDecimal(i));
+            history.record();
+        }
+
+        assertEquals(2, history.getUndoable());
+        assertTrue(history.undo());
+        assertTrue(history.undo());
+        assertFalse(history.undo());
+        assertEquals(new BigDecimal("9"), calculation.getFirst());
+
+        assertTrue(history.redo());
+        assertTrue(history.redo());
+        assertFalse(history.redo());
+        assertEquals(new BigDecimal("25"), calculation.getFirst());
+
+        assertThrows(IllegalArgumentException.class, () -> new UndoHistory(calculation, memory, 1));
+    }
+
+    /**
+     * Tests for sharing numbers between snapshots.
+     */
+    @Test
+    void structuralSharingTests() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        Calculation calculation = new Calculation();
+        Memory memory = new Memory();
+
+        BigDecimal huge = new BigDecimal(BigInteger.TEN.pow(9999).subtract(BigInteger.ONE));
+        calculation.doOperation(NEGATE, huge);
+        memory.storeToMemory(huge);
+
+        CalculationState calculationState = calculation.snapshot();
+        MemoryState memoryState = memory.snapshot();
+        assertSame(calculation.getFirst(), calculationState.getFirst());
+        assertSame(huge, memoryState.getLast());
+
+        memory.storeToMemory(BigDecimal.ONE);
+        assertSame(memoryState, memory.snapshot().getPrevious());
+        assertEquals(2, memory.snapshot().getSize());
+
+        calculation.resetAll();
+        memory.clearMemory();
+        assertTrue(memory.snapshot().isEmpty());
+
+        calculation.restore(calculationState);
+        memory.restore(memoryState);
+        assertEquals(huge.negate(), calculation.getFirst());
+        assertEquals(huge, memory.recall());
+        assertEquals(1, memory.getStore().size());
+    }
+
+    /**
+     * Checks state of calculation and memory.
+     *
+     * @param calculation     {@link Calculation} to check.
+     * @param memory          {@link Memory} to check.
+     * @param first           expected first number.
+     * @param binaryOperation expected binary operation.
+     * @param recalled        expected recalled number or null if memory should be empty.
+     * @throws OverflowException if recalled number is out of range.
+     */
+    private void checkState(Calculation calculation, Memory memory, String first, Operation binaryOperation,
+                            String recalled) throws OverflowException {
+        assertEquals(new BigDecimal(first), calculation.getFirst());
+        assertEquals(binaryOperation, calculation.getBinaryOperation());
+        assertEquals(recalled == null ? null : new BigDecimal(recalled), memory.recall());
+    }
+}
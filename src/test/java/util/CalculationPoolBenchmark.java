@@ -0,0 +1,134 @@
+package util;
+
+import com.implemica.bormashenko.calculator.model.Calculation;
+import com.implemica.bormashenko.calculator.model.CalculationPool;
+import com.implemica.bormashenko.calculator.model.CalculationPool.Lease;
+import com.implemica.bormashenko.calculator.model.Memory;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.DivideZeroByZeroException;
+import com.implemica.bormashenko.calculator.model.exceptions.NegativeRootException;
+import com.implemica.bormashenko.calculator.model.exceptions.OverflowException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+
+import static com.implemica.bormashenko.calculator.model.enums.Operation.ADD;
+import static com.implemica.bormashenko.calculator.model.enums.Operation.EQUALS;
+
+/**
+ * Compares memory allocated by short jobs with pooled and new calculations. It is not a part of tests, as allocation
+ * depends on JIT compiler and is measured only by JVMs that support {@code com.sun.management.ThreadMXBean}.
+ *
+ * @author Mykhailo Bormashenko
+ * @see CalculationPool
+ */
+public class CalculationPoolBenchmark {
+
+    /**
+     * Amount of jobs in each measurement.
+     */
+    private static final int JOBS = 20000;
+
+    /**
+     * Measures allocation per job and prints it.
+     *
+     * @param args command line args.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    public static void main(String... args) throws DivideByZeroException, OverflowException,
+            DivideZeroByZeroException, NegativeRootException {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+        if (!(bean instanceof com.sun.management.ThreadMXBean) ||
+                !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            System.out.println("Allocation is not measured by this JVM");
+            return;
+        }
+
+        CalculationPool pool = new CalculationPool(1);
+
+        //warm up both ways, so allocation of class loading and compilation is not measured
+        for (int i = 0; i < JOBS; i++) {
+            freshJob();
+            pooledJob(pool);
+        }
+
+        long fresh = allocatedBytes();
+        for (int i = 0; i < JOBS; i++) {
+            freshJob();
+        }
+        fresh = allocatedBytes() - fresh;
+
+        long pooled = allocatedBytes();
+        for (int i = 0; i < JOBS; i++) {
+            pooledJob(pool);
+        }
+        pooled = allocatedBytes() - pooled;
+
+        System.out.println("Allocated per job: fresh " + fresh / JOBS + " B, pooled " + pooled / JOBS + " B");
+    }
+
+    /**
+     * Performs short job with new calculation and memory.
+     *
+     * @return result of job.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    private static BigDecimal freshJob() throws DivideByZeroException, OverflowException, DivideZeroByZeroException,
+            NegativeRootException {
+        return job(new Calculation(), new Memory());
+    }
+
+    /**
+     * Performs short job with calculation and memory borrowed from pool.
+     *
+     * @param pool {@link CalculationPool} to borrow from.
+     * @return result of job.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    private static BigDecimal pooledJob(CalculationPool pool) throws DivideByZeroException, OverflowException,
+            DivideZeroByZeroException, NegativeRootException {
+        try (Lease lease = pool.borrow()) {
+            return job(lease.getCalculation(), lease.getMemory());
+        }
+    }
+
+    /**
+     * Performs short job.
+     *
+     * @param calculation {@link Calculation} to use.
+     * @param memory      {@link Memory} to use.
+     * @return result of job.
+     * @throws OverflowException         if overflow validation failed.
+     * @throws DivideZeroByZeroException if trying to divide zero by zero.
+     * @throws DivideByZeroException     if trying to divide by zero.
+     * @throws NegativeRootException     if trying to calculate negative root.
+     */
+    private static BigDecimal job(Calculation calculation, Memory memory) throws DivideByZeroException,
+            OverflowException, DivideZeroByZeroException, NegativeRootException {
+        calculation.doOperation(ADD, BigDecimal.ONE);
+        memory.storeToMemory(calculation.doOperation(EQUALS, BigDecimal.ONE));
+
+        return memory.recall();
+    }
+
+    /**
+     * Returns amount of bytes allocated by current thread.
+     *
+     * @return amount of allocated bytes.
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,53 @@
+package util;
+
+import com.implemica.bormashenko.calculator.model.SquareRoot;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures time of calculating square root with a million digits, which is targeted at 8 processors. It is not a part
+ * of tests, as time depends on amount of processors and JIT compiler. Parallelism can be changed by system property
+ * {@code java.util.concurrent.ForkJoinPool.common.parallelism}, so speedup is the ratio of times with parallelism 1
+ * and 8.
+ *
+ * @author Mykhailo Bormashenko
+ * @see SquareRoot
+ */
+public class SquareRootBenchmark {
+
+    /**
+     * Amount of significant digits of root.
+     */
+    private static final int PRECISION = 1000000;
+
+    /**
+     * Amount of measured calculations.
+     */
+    private static final int RUNS = 3;
+
+    /**
+     * Measures time of calculations and prints it.
+     *
+     * @param args command line args.
+     */
+    public static void main(String... args) {
+        BigDecimal number = BigDecimal.valueOf(2);
+
+        //warm up with shorter root, so compilation is not measured
+        new SquareRoot().sqrt(number, PRECISION / 10);
+
+        System.out.println("Parallelism: " + ForkJoinPool.getCommonPoolParallelism());
+
+        for (int i = 0; i < RUNS; i++) {
+            //new engine for each run, so the last root is not reused
+            SquareRoot squareRoot = new SquareRoot();
+
+            long start = System.nanoTime();
+            squareRoot.sqrt(number, PRECISION);
+            long time = System.nanoTime() - start;
+
+            System.out.println("Root with " + PRECISION + " digits: " + time / 1000000 + " ms");
+        }
+    }
+}